@@ -0,0 +1,75 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение поштучного {@link Burger#getPrice()} с пакетным расчётом {@link BatchPricer}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchPricingBenchmark {
+
+    @Param({"100000", "500000"})
+    public int orders;
+
+    private List<Burger> burgers;
+    private BatchPricer pricer;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Database().catalog();
+        Random random = new Random(1);
+
+        burgers = new ArrayList<>(orders);
+        pricer = new BatchPricer(catalog);
+        for (int i = 0; i < orders; i++) {
+            Burger burger = new Burger();
+            burger.setBuns(catalog.bun(random.nextInt(catalog.buns().size())));
+            for (int layer = random.nextInt(10); layer >= 0; layer--) {
+                burger.addIngredient(catalog.ingredient(random.nextInt(catalog.ingredients().size())));
+            }
+            burgers.add(burger);
+            pricer.addBurger(burger);
+        }
+    }
+
+    @Benchmark
+    public float[] perBurger() {
+        float[] prices = new float[burgers.size()];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = burgers.get(i).getPrice();
+        }
+        return prices;
+    }
+
+    @Benchmark
+    public long[] columnar() {
+        return pricer.totalsCents();
+    }
+
+    @Benchmark
+    public long[] columnarParallel() {
+        return pricer.totalsCents(ForkJoinPool.commonPool());
+    }
+
+}
@@ -0,0 +1,178 @@
+package praktikum;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проверка результатов JMH на регрессию относительно сохранённого базового прогона.
+ * Оба файла – результаты JMH в формате CSV ({@code -rf csv}).
+ * Для режимов времени ({@code avgt}, {@code sample}, {@code ss}) регрессией считается рост оценки,
+ * для пропускной способности ({@code thrpt}) – падение. Программа завершается с кодом 1,
+ * если хотя бы один замер ухудшился больше допуска, а также если базового файла нет или в нём нет замера
+ * из текущего прогона: иначе проверка молча пропускала бы всё, с чем не с чем сравнить.
+ * <p>
+ * Первый базовый прогон сохраняется явно, с флагом {@code -Djmh.bootstrap=true}: отсутствующий базовый файл
+ * создаётся копией текущего результата, а новые замеры без базы только печатаются.
+ * <p>
+ * Запуск: {@code mvn -Pjmh exec:exec@jmh-gate -Djmh.baseline=baseline.csv -Djmh.tolerance=0.1}
+ */
+public final class BenchmarkGate {
+
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    private BenchmarkGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Использование: BenchmarkGate <результат.csv> <базовый.csv> [допуск] [bootstrap]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        boolean bootstrap = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        Path currentPath = Paths.get(args[0]);
+        Path baselinePath = Paths.get(args[1]);
+        Map<String, Result> current = read(currentPath);
+        if (!Files.exists(baselinePath)) {
+            if (!bootstrap) {
+                System.out.printf("Нет базового прогона %s; сохраните его с -Djmh.bootstrap=true%n", baselinePath);
+                System.exit(1);
+            }
+            Files.copy(currentPath, baselinePath);
+            System.out.printf("Базовый прогон сохранён в %s: %d замеров%n", baselinePath, current.size());
+            return;
+        }
+        Map<String, Result> baseline = read(baselinePath);
+
+        int regressions = 0;
+        int missing = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result after = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%s %s: нет в базовом прогоне%n", bootstrap ? "NEW  " : "FAIL ", entry.getKey());
+                if (!bootstrap) {
+                    missing++;
+                }
+                continue;
+            }
+
+            double change = before.higherIsBetter()
+                    ? (before.score - after.score) / before.score
+                    : (after.score - before.score) / before.score;
+            boolean regressed = change > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "FAIL " : "OK   ",
+                    entry.getKey(), before.score, after.score, after.unit, change * 100);
+        }
+        // Замеры базы, не попавшие в текущий прогон, не ошибка: бенчмарки часто запускаются выборочно
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("SKIP  %s: нет в текущем прогоне%n", key);
+            }
+        }
+
+        if (missing > 0) {
+            System.out.printf("Замеров без базы: %d; добавьте их в %s или запустите с -Djmh.bootstrap=true%n",
+                    missing, baselinePath);
+        }
+        if (regressions > 0) {
+            System.out.printf("Регрессий: %d (допуск %.0f%%)%n", regressions, tolerance * 100);
+        }
+        if (regressions > 0 || missing > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Читает результаты JMH. Ключ замера – имя бенчмарка, режим, число потоков и значения параметров.
+     */
+    static Map<String, Result> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+
+        List<String> header = parseLine(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int threads = header.indexOf("Threads");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> columns = parseLine(line);
+            StringBuilder key = new StringBuilder(columns.get(benchmark))
+                    .append(' ').append(columns.get(mode))
+                    .append(" t=").append(columns.get(threads));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ")) {
+                    key.append(' ').append(header.get(i).substring("Param: ".length()))
+                            .append('=').append(columns.get(i));
+                }
+            }
+            results.put(key.toString(), new Result(columns.get(mode),
+                    Double.parseDouble(columns.get(score)), columns.get(unit)));
+        }
+        return results;
+    }
+
+    /**
+     * Разбирает строку CSV с полями в двойных кавычках.
+     */
+    private static List<String> parseLine(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private static final class Result {
+
+        private final String mode;
+        private final double score;
+        private final String unit;
+
+        private Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        private boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+}
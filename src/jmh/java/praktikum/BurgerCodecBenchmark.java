@@ -0,0 +1,146 @@
+package praktikum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение {@link BurgerCodec} с сериализацией Java и JSON того же заказа.
+ * Размеры записей печатаются при подготовке замера.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurgerCodecBenchmark {
+
+    @Param({"5"})
+    private int layers;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Catalog catalog;
+    private Burger burger;
+    private Order order;
+
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+    private byte[] serialized;
+    private byte[] json;
+
+    /**
+     * Заказ в виде полных объектов – то, что пришлось бы хранить без каталога.
+     */
+    public static class Order implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        public String bun;
+        public float bunPrice;
+        public List<Layer> layers = new ArrayList<>();
+    }
+
+    public static class Layer implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        public String type;
+        public String name;
+        public float price;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        catalog = new Database().catalog();
+        burger = new Burger();
+        burger.setBuns(catalog.bun(0));
+        order = new Order();
+        order.bun = burger.bun.getName();
+        order.bunPrice = burger.bun.getPrice();
+        for (int i = 0; i < layers; i++) {
+            Ingredient ingredient = catalog.ingredient(i % catalog.ingredients().size());
+            burger.addIngredient(ingredient);
+            Layer layer = new Layer();
+            layer.type = ingredient.getType().name();
+            layer.name = ingredient.getName();
+            layer.price = ingredient.getPrice();
+            order.layers.add(layer);
+        }
+
+        buffer = ByteBuffer.allocate(BurgerCodec.maxEncodedLength(layers));
+        encoded = ByteBuffer.allocate(BurgerCodec.maxEncodedLength(layers));
+        BurgerCodec.encode(catalog, burger, encoded);
+        encoded.flip();
+        serialized = javaSerialize();
+        json = jsonEncode();
+
+        System.out.printf("%nРазмер заказа, байт: двоичный %d, сериализация Java %d, JSON %d%n",
+                encoded.remaining(), serialized.length, json.length);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryEncode() {
+        buffer.clear();
+        BurgerCodec.encode(catalog, burger, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Burger binaryDecode() {
+        return BurgerCodec.decode(catalog, encoded.duplicate());
+    }
+
+    @Benchmark
+    public BurgerRecord binaryDecodeRecord() {
+        return BurgerCodec.decodeRecord(catalog, encoded.duplicate());
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(order);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object javaDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return mapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order jsonDecode() throws IOException {
+        return mapper.readValue(json, Order.class);
+    }
+
+}
@@ -0,0 +1,86 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Перемещение слоя с отменой в высоком бургере: история на персистентном списке слоёв
+ * против истории из полных копий списка. Память на правку видна в профиле gc:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="BurgerHistoryBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurgerHistoryBenchmark {
+
+    private static final int HISTORY_DEPTH = 100;
+
+    @Param({"100", "10000"})
+    public int layers;
+
+    private Burger burger;
+    private List<Ingredient> copied;
+    private Deque<List<Ingredient>> copies;
+    private int from;
+    private int to;
+
+    @Setup
+    public void setUp() {
+        Database database = new Database();
+        List<Ingredient> ingredients = database.availableIngredients();
+
+        burger = new Burger();
+        burger.setBuns(database.availableBuns().get(0));
+        copied = new ArrayList<>();
+        for (int i = 0; i < layers; i++) {
+            burger.addIngredient(ingredients.get(i % ingredients.size()));
+            copied.add(ingredients.get(i % ingredients.size()));
+        }
+        burger.setHistoryDepth(HISTORY_DEPTH);
+        copies = new ArrayDeque<>();
+        from = layers / 4;
+        to = layers * 3 / 4;
+    }
+
+    /**
+     * Правка и её отмена через встроенную историю.
+     */
+    @Benchmark
+    public boolean persistentMoveAndUndo() {
+        burger.moveIngredient(from, to);
+        return burger.undo();
+    }
+
+    /**
+     * Правка в истории, которая снимает полную копию списка перед каждым изменением.
+     */
+    @Benchmark
+    public List<Ingredient> copyingMoveAndUndo() {
+        copies.addLast(new ArrayList<>(copied));
+        if (copies.size() > HISTORY_DEPTH) {
+            copies.pollFirst();
+        }
+        copied.add(to, copied.remove(from));
+        copied = copies.pollLast();
+        return copied;
+    }
+
+}
@@ -0,0 +1,84 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Базовые замеры операций {@link Burger} на бургерах разного размера.
+ * Каждый замер оставляет бургер того же размера, что и до вызова, чтобы итерации были сравнимы.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurgerOperationsBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int layers;
+
+    private Burger burger;
+    private Ingredient ingredient;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        Database database = new Database();
+        List<Ingredient> ingredients = database.availableIngredients();
+
+        burger = new Burger();
+        burger.setBuns(database.availableBuns().get(0));
+        for (int i = 0; i < layers; i++) {
+            burger.addIngredient(ingredients.get(i % ingredients.size()));
+        }
+        ingredient = ingredients.get(0);
+        buffer = new StringBuilder(ReceiptRenderer.estimateLength(layers));
+    }
+
+    @Benchmark
+    public void addIngredient() {
+        burger.addIngredient(ingredient);
+        burger.removeIngredient(layers);
+    }
+
+    @Benchmark
+    public void removeIngredient() {
+        burger.removeIngredient(0);
+        burger.addIngredient(ingredient);
+    }
+
+    @Benchmark
+    public void moveIngredient() {
+        burger.moveIngredient(0, layers - 1);
+    }
+
+    @Benchmark
+    public float getPrice() {
+        return burger.getPrice();
+    }
+
+    @Benchmark
+    public String getReceipt() {
+        return burger.getReceipt();
+    }
+
+    @Benchmark
+    public StringBuilder appendReceipt() {
+        buffer.setLength(0);
+        return burger.appendReceipt(buffer);
+    }
+
+}
@@ -0,0 +1,69 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение нарастающего итога в {@link Burger#getPrice()} с полным пересчётом списка ингредиентов.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurgerPriceBenchmark {
+
+    @Param({"1", "10", "40", "100"})
+    public int layers;
+
+    private Burger burger;
+
+    @Setup
+    public void setUp() {
+        Database database = new Database();
+        List<Ingredient> ingredients = database.availableIngredients();
+
+        burger = new Burger();
+        burger.setBuns(database.availableBuns().get(0));
+        for (int i = 0; i < layers; i++) {
+            burger.addIngredient(ingredients.get(i % ingredients.size()));
+        }
+    }
+
+    @Benchmark
+    public float runningTotal() {
+        return burger.getPrice();
+    }
+
+    @Benchmark
+    public float fullScan() {
+        float price = burger.bun.getPrice() * 2;
+
+        for (Ingredient ingredient : burger.ingredients) {
+            price += ingredient.getPrice();
+        }
+
+        return price;
+    }
+
+    @Benchmark
+    public float editThenPrice() {
+        burger.addIngredient(burger.ingredients.get(0));
+        burger.removeIngredient(burger.ingredients.size() - 1);
+        return burger.getPrice();
+    }
+
+}
@@ -0,0 +1,155 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение {@link BurgerRecommender} с полным перебором наборов слоёв на синтетическом каталоге.
+ * Полный перебор растёт как C(n + layers, layers), поэтому он замеряется только на малом каталоге,
+ * а подбор – и на малом, и на большом.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BurgerRecommenderBenchmark {
+
+    private static final int LAYERS = 5;
+    private static final int LIMIT = 10;
+    private static final float BUDGET = 2000;
+
+    @State(Scope.Benchmark)
+    public static class Large {
+
+        @Param({"20", "2000"})
+        private int ingredients;
+
+        private Menu menu;
+
+        @Setup
+        public void setUp() {
+            menu = new Menu(ingredients);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Small {
+
+        @Param({"20"})
+        private int ingredients;
+
+        private Menu menu;
+
+        @Setup
+        public void setUp() {
+            menu = new Menu(ingredients);
+        }
+    }
+
+    @Benchmark
+    public List<BurgerRecommender.Recommendation> branchAndBound(Large state) {
+        return state.menu.recommender.recommend(BUDGET, state.menu.constraints, LIMIT);
+    }
+
+    @Benchmark
+    public PriorityQueue<double[]> naive(Small state) {
+        return state.menu.enumerateAll();
+    }
+
+    /**
+     * Синтетический каталог: 5 булочек, каждый третий ингредиент – соус, случайные цены и оценки.
+     * Ограничения: хотя бы одна начинка и не больше двух соусов.
+     */
+    private static final class Menu {
+
+        private final Catalog catalog;
+        private final double[] scores;
+        private final BurgerRecommender recommender;
+        private final BurgerRecommender.Constraints constraints;
+
+        private Menu(int ingredients) {
+            Random random = new Random(42);
+            List<Bun> buns = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                buns.add(new Bun("bun " + i, 50 + random.nextInt(200)));
+            }
+            List<Ingredient> items = new ArrayList<>();
+            for (int i = 0; i < ingredients; i++) {
+                IngredientType type = i % 3 == 0 ? IngredientType.SAUCE : IngredientType.FILLING;
+                items.add(new Ingredient(type, "ingredient " + i, 20 + random.nextInt(400)));
+            }
+            catalog = new Catalog(buns, items);
+
+            scores = new double[ingredients];
+            for (int i = 0; i < ingredients; i++) {
+                scores[i] = random.nextInt(1000);
+            }
+            recommender = new BurgerRecommender(catalog, bun -> 0,
+                    ingredient -> scores[catalog.ingredientId(ingredient)]);
+            constraints = BurgerRecommender.Constraints.none().maxLayers(LAYERS)
+                    .atLeast(IngredientType.FILLING, 1)
+                    .atMost(IngredientType.SAUCE, 2);
+        }
+
+        /**
+         * Полный перебор всех наборов до {@link #LAYERS} слоёв, как это делалось в коде приложения.
+         */
+        private PriorityQueue<double[]> enumerateAll() {
+            PriorityQueue<double[]> best = new PriorityQueue<>(LIMIT + 1, (a, b) -> Double.compare(a[0], b[0]));
+            long budget = Money.fromFloat(BUDGET);
+            for (int bun = 0; bun < catalog.buns().size(); bun++) {
+                enumerate(new int[LAYERS], 0, 0, 2 * catalog.bun(bun).getPriceMinor(), budget, best);
+            }
+            return best;
+        }
+
+        private void enumerate(int[] ids, int depth, int start, long price, long budget,
+                               PriorityQueue<double[]> best) {
+            if (price > budget) {
+                return;
+            }
+            int sauces = 0;
+            int fillings = 0;
+            double score = 0;
+            for (int i = 0; i < depth; i++) {
+                if (catalog.ingredient(ids[i]).getType() == IngredientType.SAUCE) {
+                    sauces++;
+                } else {
+                    fillings++;
+                }
+                score += scores[ids[i]];
+            }
+            if (fillings >= 1 && sauces <= 2) {
+                best.add(new double[]{score, price});
+                if (best.size() > LIMIT) {
+                    best.poll();
+                }
+            }
+            if (depth == LAYERS) {
+                return;
+            }
+            for (int id = start; id < scores.length; id++) {
+                ids[depth] = id;
+                enumerate(ids, depth + 1, id, price + catalog.ingredient(id).getPriceMinor(), budget,
+                        best);
+            }
+        }
+    }
+
+}
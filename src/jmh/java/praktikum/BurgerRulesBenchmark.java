@@ -0,0 +1,112 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пакета заказов правилами сборки: прямой обход списков бургеров с поиском запрещённых пар
+ * против скомпилированного {@link BurgerRules.Checker} над записями {@link BurgerRecord}, по очереди и параллельно.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BurgerRulesBenchmark {
+
+    private static final int MAX_LAYERS = 8;
+    private static final int MAX_SAUCES = 3;
+
+    @Param({"1000000"})
+    public int orders;
+
+    private List<Burger> burgers;
+    private List<BurgerRecord> records;
+    private List<Ingredient[]> bannedPairs;
+    private BurgerRules.Checker checker;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Database().catalog();
+        Random random = new Random(1);
+
+        bannedPairs = List.of(
+                new Ingredient[]{catalog.ingredient(0), catalog.ingredient(1)},
+                new Ingredient[]{catalog.ingredient(2), catalog.ingredient(4)});
+        BurgerRules rules = BurgerRules.none().requireBun().maxLayers(MAX_LAYERS)
+                .atMost(IngredientType.SAUCE, MAX_SAUCES);
+        for (Ingredient[] pair : bannedPairs) {
+            rules = rules.ban(pair[0], pair[1]);
+        }
+        checker = rules.compile(catalog);
+
+        burgers = new ArrayList<>(orders);
+        records = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            int[] ids = new int[1 + random.nextInt(MAX_LAYERS)];
+            for (int layer = 0; layer < ids.length; layer++) {
+                ids[layer] = random.nextInt(catalog.ingredients().size());
+            }
+            BurgerRecord record = BurgerRecord.of(catalog, random.nextInt(catalog.buns().size()), ids);
+            records.add(record);
+            burgers.add(record.toBurger());
+        }
+    }
+
+    @Benchmark
+    public boolean[] naive() {
+        boolean[] valid = new boolean[burgers.size()];
+        for (int i = 0; i < valid.length; i++) {
+            valid[i] = isValid(burgers.get(i));
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public BurgerRules.Violation[] compiled() {
+        return checker.checkAll(records);
+    }
+
+    @Benchmark
+    public BurgerRules.Violation[] compiledParallel() {
+        return checker.checkAll(records, ForkJoinPool.commonPool());
+    }
+
+    private boolean isValid(Burger burger) {
+        if (burger.bun == null || burger.ingredients.size() > MAX_LAYERS) {
+            return false;
+        }
+        int sauces = 0;
+        for (Ingredient ingredient : burger.ingredients) {
+            if (ingredient.getType() == IngredientType.SAUCE) {
+                sauces++;
+            }
+        }
+        if (sauces > MAX_SAUCES) {
+            return false;
+        }
+        for (Ingredient[] pair : bannedPairs) {
+            if (burger.ingredients.contains(pair[0]) && burger.ingredients.contains(pair[1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
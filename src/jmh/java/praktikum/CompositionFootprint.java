@@ -0,0 +1,97 @@
+package praktikum;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Память истории заказов: бургеры целиком, компактные записи и ссылки на общие составы {@link CompositionStore}.
+ * Размеры графов объектов считает JOL. Большинство заказов повторяет немногие популярные составы.
+ * <p>
+ * Запуск: {@code mvn -Pjmh test-compile exec:exec@footprint -Dfootprint.args="10000000 5000"}, где аргументы –
+ * число заказов и число разных составов. Бургеры и записи по отдельности обходятся на {@value #SAMPLE} заказах
+ * и пересчитываются на полное число, хранилище обходится целиком.
+ */
+public final class CompositionFootprint {
+
+    private static final int SAMPLE = 1_000_000;
+    private static final int MAX_LAYERS = 5;
+
+    private CompositionFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int distinct = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+
+        Catalog catalog = new Database().catalog();
+        BurgerRecord[] menu = menu(catalog, distinct);
+        int sample = Math.min(SAMPLE, orders);
+        double scale = (double) orders / sample;
+        System.out.printf("%d заказов, %d разных составов%n", orders, distinct);
+
+        List<Burger> burgers = new ArrayList<>(sample);
+        Random random = new Random(11);
+        for (int i = 0; i < sample; i++) {
+            burgers.add(pick(menu, random).toBurger());
+        }
+        report("бургеры", GraphLayout.parseInstance(burgers), scale, orders, catalog);
+        burgers = null;
+
+        List<BurgerRecord> records = new ArrayList<>(sample);
+        random = new Random(11);
+        for (int i = 0; i < sample; i++) {
+            BurgerRecord record = pick(menu, random);
+            records.add(BurgerRecord.of(catalog, record.bunId(), ids(record)));
+        }
+        report("записи BurgerRecord", GraphLayout.parseInstance(records), scale, orders, catalog);
+        records = null;
+
+        CompositionStore store = new CompositionStore(catalog);
+        CompositionStore.Composition[] history = new CompositionStore.Composition[orders];
+        random = new Random(11);
+        for (int i = 0; i < orders; i++) {
+            history[i] = store.add(pick(menu, random));
+        }
+        report("общие составы", GraphLayout.parseInstance(store, history), 1, orders, catalog);
+        System.out.printf("  из них составов %d, заказов учтено %d%n", store.size(), store.orders());
+    }
+
+    private static void report(String mode, GraphLayout layout, double scale, int orders, Catalog catalog) {
+        // Каталог общий для всех вариантов и в сравнение не входит
+        double total = layout.subtract(GraphLayout.parseInstance(catalog)).totalSize() * scale;
+        System.out.printf("%s: %.1f МБ, %.1f байт на заказ%n", mode, total / (1 << 20), total / orders);
+    }
+
+    /**
+     * Разные составы меню, популярность убывает от первого к последнему.
+     */
+    private static BurgerRecord[] menu(Catalog catalog, int distinct) {
+        Random random = new Random(3);
+        BurgerRecord[] menu = new BurgerRecord[distinct];
+        for (int i = 0; i < distinct; i++) {
+            int[] ids = new int[1 + random.nextInt(MAX_LAYERS)];
+            for (int layer = 0; layer < ids.length; layer++) {
+                ids[layer] = random.nextInt(catalog.ingredients().size());
+            }
+            menu[i] = BurgerRecord.of(catalog, random.nextInt(catalog.buns().size()), ids);
+        }
+        return menu;
+    }
+
+    private static BurgerRecord pick(BurgerRecord[] menu, Random random) {
+        double u = random.nextDouble();
+        return menu[(int) (u * u * u * menu.length)];
+    }
+
+    private static int[] ids(BurgerRecord record) {
+        int[] ids = new int[record.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = record.ingredientId(i);
+        }
+        return ids;
+    }
+
+}
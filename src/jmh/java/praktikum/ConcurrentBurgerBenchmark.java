@@ -0,0 +1,79 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конкуренция потоков за один {@link ConcurrentBurger}.
+ * Количество потоков задаётся параметром JMH, например от 1 до 64:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ConcurrentBurgerBenchmark.edit -t 64"}.
+ * Группа {@code mixed} запускает пишущие и читающие потоки одновременно.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentBurgerBenchmark {
+
+    private ConcurrentBurger burger;
+    private Ingredient ingredient;
+
+    @Setup
+    public void setUp() {
+        Database database = new Database();
+        List<Ingredient> ingredients = database.availableIngredients();
+
+        burger = new ConcurrentBurger();
+        burger.setBuns(database.availableBuns().get(0));
+        for (int i = 0; i < 10; i++) {
+            burger.addIngredient(ingredients.get(i % ingredients.size()));
+        }
+        ingredient = ingredients.get(0);
+    }
+
+    /**
+     * Каждый поток добавляет слой и удаляет первый, поэтому размер бургера остаётся постоянным.
+     */
+    @Benchmark
+    public void edit() {
+        burger.addIngredient(ingredient);
+        burger.removeIngredient(0);
+    }
+
+    @Benchmark
+    public float read() {
+        return burger.getPrice();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedEdit() {
+        burger.addIngredient(ingredient);
+        burger.moveIngredient(0, 5);
+        burger.removeIngredient(0);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public String mixedReceipt() {
+        return burger.getReceipt();
+    }
+
+}
@@ -0,0 +1,74 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Базовые замеры создания {@link Database} и поиска по {@link Catalog}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DatabaseBenchmark {
+
+    private Database database;
+    private Catalog catalog;
+    private Ingredient sausage;
+
+    @Setup
+    public void setUp() {
+        database = new Database();
+        catalog = database.catalog();
+        sausage = catalog.ingredientByName("sausage");
+    }
+
+    @Benchmark
+    public Database construct() {
+        return new Database();
+    }
+
+    @Benchmark
+    public Bun availableBunsFirst() {
+        return database.availableBuns().get(0);
+    }
+
+    @Benchmark
+    public Ingredient ingredientByName() {
+        return catalog.ingredientByName("sausage");
+    }
+
+    @Benchmark
+    public Ingredient ingredientById() {
+        return catalog.ingredient(5);
+    }
+
+    @Benchmark
+    public int ingredientId() {
+        return catalog.ingredientId(sausage);
+    }
+
+    @Benchmark
+    public List<Ingredient> ingredientsOfType() {
+        return catalog.ingredientsOfType(IngredientType.SAUCE);
+    }
+
+    @Benchmark
+    public List<Ingredient> ingredientsInPriceRange() {
+        return catalog.ingredientsInPriceRange(150, 250);
+    }
+
+}
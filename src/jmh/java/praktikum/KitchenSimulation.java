@@ -0,0 +1,133 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Симуляция кухни: заказы приходят с заданной частотой, грили готовят слои с задержкой «разогрев + порции».
+ * Сравнивает обработку заказов по одному в порядке поступления с {@link KitchenScheduler}
+ * и печатает пропускную способность и перцентили задержки от поступления заказа до готовности.
+ * <p>
+ * Запуск: {@code mvn -Pjmh test-compile exec:exec@kitchen -Dkitchen.args="4 32 3000 800"}, где аргументы –
+ * число грилей, окно планировщика, число заказов и заказов в секунду.
+ */
+public final class KitchenSimulation {
+
+    /**
+     * Разогрев гриля и выкладка партии.
+     */
+    private static final long SETUP_NANOS = TimeUnit.MICROSECONDS.toNanos(2000);
+
+    /**
+     * Готовка одной порции в партии.
+     */
+    private static final long PORTION_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static final int MAX_LAYERS = 5;
+
+    private KitchenSimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int stations = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int window = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int orders = args.length > 2 ? Integer.parseInt(args[2]) : 3000;
+        int perSecond = args.length > 3 ? Integer.parseInt(args[3]) : 800;
+
+        List<Burger> burgers = orders(new Database().catalog(), orders);
+        long interval = TimeUnit.SECONDS.toNanos(1) / perSecond;
+        System.out.printf("%d грилей, %d заказов по %d в секунду%n", stations, orders, perSecond);
+
+        ExecutorService fifo = Executors.newFixedThreadPool(stations);
+        report("по одному", run(burgers, interval, burger -> CompletableFuture.supplyAsync(() -> {
+            for (Ingredient ingredient : burger.ingredients) {
+                cook(ingredient, 1);
+            }
+            return burger;
+        }, fifo)));
+        fifo.shutdown();
+
+        KitchenScheduler kitchen = new KitchenScheduler(stations, window, KitchenSimulation::cook);
+        report("партиями, окно " + window, run(burgers, interval, kitchen::submit));
+        System.out.printf("в среднем %.1f порций в партии%n",
+                (double) kitchen.getPortionCount() / kitchen.getBatchCount());
+        kitchen.close();
+    }
+
+    private interface Kitchen {
+
+        CompletableFuture<Burger> submit(Burger burger);
+    }
+
+    /**
+     * Подаёт заказы по расписанию и ждёт готовности всех.
+     *
+     * @return задержки заказов в наносекундах и в последнем элементе – время от первого заказа до последнего готового
+     */
+    private static long[] run(List<Burger> burgers, long interval, Kitchen kitchen) {
+        long[] latencies = new long[burgers.size() + 1];
+        List<CompletableFuture<?>> futures = new ArrayList<>(burgers.size());
+        long begin = System.nanoTime();
+        long[] finished = new long[1];
+        for (int i = 0; i < burgers.size(); i++) {
+            long arrival = begin + i * interval;
+            LockSupport.parkNanos(arrival - System.nanoTime());
+            int order = i;
+            futures.add(kitchen.submit(burgers.get(i)).thenRun(() -> {
+                long now = System.nanoTime();
+                latencies[order] = now - arrival;
+                synchronized (finished) {
+                    finished[0] = Math.max(finished[0], now);
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        synchronized (finished) {
+            latencies[burgers.size()] = finished[0] - begin;
+        }
+        return latencies;
+    }
+
+    private static void report(String mode, long[] result) {
+        long[] sorted = Arrays.copyOf(result, result.length - 1);
+        Arrays.sort(sorted);
+        double seconds = result[result.length - 1] / 1e9;
+        System.out.printf("%s: %.0f заказов/с, задержка, мс: p50 %.1f, p99 %.1f, max %.1f%n", mode,
+                sorted.length / seconds, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                percentile(sorted, 1.0) / 1e6);
+    }
+
+    private static void cook(Ingredient ingredient, int portions) {
+        long until = System.nanoTime() + SETUP_NANOS + portions * PORTION_NANOS;
+        for (long left; (left = until - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static List<Burger> orders(Catalog catalog, int count) {
+        Random random = new Random(7);
+        List<Burger> burgers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Burger burger = new Burger();
+            burger.setBuns(catalog.bun(random.nextInt(catalog.buns().size())));
+            for (int layer = 1 + random.nextInt(MAX_LAYERS); layer > 0; layer--) {
+                burger.addIngredient(catalog.ingredient(random.nextInt(catalog.ingredients().size())));
+            }
+            burgers.add(burger);
+        }
+        return burgers;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+}
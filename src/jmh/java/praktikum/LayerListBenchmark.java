@@ -0,0 +1,63 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Перемещение слоя в высоком бургере: {@link LayerList} против {@link ArrayList}.
+ * Слой переносится из верхней четверти в нижнюю, как при перетаскивании в конструкторе.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LayerListBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int layers;
+
+    private List<Ingredient> arrayList;
+    private List<Ingredient> layerList;
+    private int from;
+    private int to;
+
+    @Setup
+    public void setUp() {
+        List<Ingredient> ingredients = new Database().availableIngredients();
+
+        arrayList = new ArrayList<>();
+        layerList = new LayerList();
+        for (int i = 0; i < layers; i++) {
+            arrayList.add(ingredients.get(i % ingredients.size()));
+            layerList.add(ingredients.get(i % ingredients.size()));
+        }
+        from = layers / 4;
+        to = layers * 3 / 4;
+    }
+
+    @Benchmark
+    public void arrayListMove() {
+        arrayList.add(to, arrayList.remove(from));
+    }
+
+    @Benchmark
+    public void layerListMove() {
+        layerList.add(to, layerList.remove(from));
+    }
+
+}
@@ -0,0 +1,129 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Замеры {@link OrderJournal}: дозапись с групповым сбросом и чтение журнала при открытии.
+ */
+public class OrderJournalBenchmark {
+
+    /**
+     * Дозапись в один поток со сбросом на диск раз в {@code commitEvery} заказов.
+     */
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    @State(Scope.Thread)
+    public static class Append {
+
+        @Param({"1000"})
+        private int commitEvery;
+
+        private Path directory;
+        private OrderJournal journal;
+        private Burger[] burgers;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            Catalog catalog = new Database().catalog();
+            burgers = new Burger[16];
+            for (int i = 0; i < burgers.length; i++) {
+                Burger burger = new Burger();
+                burger.setBuns(catalog.bun(i % catalog.buns().size()));
+                for (int j = 0; j <= i % 5; j++) {
+                    burger.addIngredient(catalog.ingredient((i + j) % catalog.ingredients().size()));
+                }
+                burgers[i] = burger;
+            }
+            directory = Files.createTempDirectory("journal");
+            journal = OrderJournal.open(directory, catalog);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+
+        @Benchmark
+        public long append() throws IOException {
+            long sequence = journal.append(burgers[next++ & (burgers.length - 1)]);
+            if (sequence % commitEvery == 0) {
+                journal.commit(sequence);
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Открытие журнала из {@code orders} заказов с восстановлением агрегатов.
+     */
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    @State(Scope.Benchmark)
+    public static class Replay {
+
+        @Param({"1000000"})
+        private int orders;
+
+        private Catalog catalog;
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            catalog = new Database().catalog();
+            directory = Files.createTempDirectory("journal");
+            try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+                for (int i = 0; i < orders; i++) {
+                    journal.append(BurgerRecord.of(catalog, i % 3, i % 6, (i + 1) % 6, (i + 2) % 6));
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+
+        @Benchmark
+        public OrderJournal.Aggregates replay() throws IOException {
+            try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+                return journal.aggregates();
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package praktikum;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузочный генератор для {@link OrderServer}: поднимает сервер в этом же процессе и держит заданное
+ * число одновременных запросов, затем печатает число запросов в секунду и перцентили задержки.
+ * <p>
+ * Запуск: {@code mvn -Pjmh test-compile exec:exec@order-load -Dload.args="virtual 2000 10"}, где аргументы –
+ * исполнитель сервера ({@code virtual} или {@code fixed}; по умолчанию виртуальные потоки, если они доступны),
+ * число одновременных запросов и длительность в секундах.
+ */
+public final class OrderLoadGenerator {
+
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static final String[] ORDERS = {
+            "black bun,hot sauce,cutlet",
+            "white bun,sour cream,dinosaur,sausage",
+            "red bun,chili sauce",
+            "black bun,cutlet,cutlet,sausage,hot sauce",
+    };
+
+    private final Object lock = new Object();
+    private long[] latencies = new long[1 << 16];
+    private int recorded;
+    private final LongAdder errors = new LongAdder();
+
+    private OrderLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : OrderServer.defaultExecutorMode();
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        ExecutorService executor = "virtual".equals(mode)
+                ? OrderServer.virtualThreadExecutor()
+                : OrderServer.fixedThreadExecutor();
+        OrderServer server = new OrderServer(new Database(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+        server.start();
+        try {
+            new OrderLoadGenerator().run(URI.create("http://127.0.0.1:" + server.getPort() + OrderServer.PATH),
+                    mode, concurrency, TimeUnit.SECONDS.toNanos(seconds));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private void run(URI uri, String mode, int concurrency, long durationNanos) throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        Semaphore permits = new Semaphore(concurrency);
+
+        long begin = System.nanoTime();
+        long measureFrom = begin + WARMUP_NANOS;
+        long end = measureFrom + durationNanos;
+        for (int i = 0; System.nanoTime() < end; i++) {
+            permits.acquire();
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString(ORDERS[i % ORDERS.length]))
+                    .build();
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long finish = System.nanoTime();
+                if (start >= measureFrom && finish <= end) {
+                    if (error != null || response.statusCode() != 200) {
+                        errors.increment();
+                    } else {
+                        record(finish - start);
+                    }
+                }
+                permits.release();
+            });
+        }
+        permits.acquire(concurrency);
+        clientExecutor.shutdownNow();
+
+        long[] sorted;
+        synchronized (lock) {
+            sorted = Arrays.copyOf(latencies, recorded);
+        }
+        Arrays.sort(sorted);
+        double seconds = durationNanos / 1e9;
+        System.out.printf("%s, %d одновременных запросов: %.0f запросов/с, ошибок %d%n",
+                mode, concurrency, sorted.length / seconds, errors.sum());
+        System.out.printf("задержка, мс: p50 %.3f, p99 %.3f, max %.3f%n",
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, percentile(sorted, 1.0) / 1e6);
+    }
+
+    private void record(long nanos) {
+        synchronized (lock) {
+            if (recorded == latencies.length) {
+                latencies = Arrays.copyOf(latencies, recorded * 2);
+            }
+            latencies[recorded++] = nanos;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+}
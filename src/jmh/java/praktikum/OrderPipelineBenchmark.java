@@ -0,0 +1,79 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры обработки файла заказов {@link OrderPipeline} в один и в несколько потоков.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderPipelineBenchmark {
+
+    @Param({"100000"})
+    private int orders;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private Database database;
+    private Path input;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new Database();
+        List<Bun> buns = database.availableBuns();
+        List<Ingredient> ingredients = database.availableIngredients();
+        Random random = new Random(42);
+
+        input = Files.createTempFile("orders", ".txt");
+        output = Files.createTempFile("receipts", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < orders; i++) {
+                writer.write(buns.get(random.nextInt(buns.size())).getName());
+                for (int j = random.nextInt(6); j > 0; j--) {
+                    writer.write(',');
+                    writer.write(ingredients.get(random.nextInt(ingredients.size())).getName());
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public OrderPipeline.Summary run() throws IOException, InterruptedException {
+        return new OrderPipeline(database, threads).run(input, output);
+    }
+
+}
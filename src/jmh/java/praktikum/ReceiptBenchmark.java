@@ -0,0 +1,142 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение печати чека через {@link String#format} с печатью в переиспользуемый буфер.
+ * Выделение памяти на операцию видно в профиле gc:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ReceiptBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReceiptBenchmark {
+
+    @Param({"2", "10", "40"})
+    public int layers;
+
+    private Burger burger;
+    private Catalog catalog;
+    private StringBuilder buffer;
+    private ByteBuffer bytes;
+
+    /**
+     * Канал, который принимает и отбрасывает байты, как быстрый сокет.
+     */
+    private final GatheringByteChannel channel = new GatheringByteChannel() {
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            source.position(source.limit());
+            return length;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long written = 0;
+            for (int i = offset; i < offset + length; i++) {
+                written += write(sources[i]);
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        Database database = new Database();
+        catalog = database.catalog();
+        List<Ingredient> ingredients = catalog.ingredients();
+
+        burger = new Burger();
+        burger.setBuns(catalog.bun(0));
+        for (int i = 0; i < layers; i++) {
+            burger.addIngredient(ingredients.get(i % ingredients.size()));
+        }
+        buffer = new StringBuilder(1024);
+        bytes = ByteBuffer.allocate(8192);
+    }
+
+    @Benchmark
+    public String formatter() {
+        StringBuilder receipt = new StringBuilder(String.format("(==== %s ====)%n", burger.bun.getName()));
+
+        for (Ingredient ingredient : burger.ingredients) {
+            receipt.append(String.format("= %s %s =%n", ingredient.getType().toString().toLowerCase(),
+                    ingredient.getName()));
+        }
+
+        receipt.append(String.format("(==== %s ====)%n", burger.bun.getName()));
+        receipt.append(String.format("%nPrice: %f%n", burger.getPrice()));
+
+        return receipt.toString();
+    }
+
+    @Benchmark
+    public String getReceipt() {
+        return burger.getReceipt();
+    }
+
+    @Benchmark
+    public StringBuilder reusedBuffer() {
+        buffer.setLength(0);
+        return burger.appendReceipt(buffer);
+    }
+
+    /**
+     * Отправка в канал через строку: печать чека, кодирование строки в байты и запись.
+     */
+    @Benchmark
+    public int stringToChannel() throws IOException {
+        buffer.setLength(0);
+        byte[] encoded = burger.appendReceipt(buffer).toString().getBytes(StandardCharsets.UTF_8);
+        return channel.write(ByteBuffer.wrap(encoded));
+    }
+
+    @Benchmark
+    public long writeToChannel() throws IOException {
+        return burger.receipt().writeTo(channel, bytes);
+    }
+
+    /**
+     * Сбор чека из заранее закодированных строк каталога, печатается только цена.
+     */
+    @Benchmark
+    public long gatheringWrite() throws IOException {
+        return burger.receipt().writeTo(channel, catalog);
+    }
+
+}
@@ -0,0 +1,77 @@
+package praktikum;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры {@link SalesAnalytics}: учёт заказов из нескольких потоков и запросы к накопленной аналитике.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalesAnalyticsBenchmark {
+
+    private SalesAnalytics analytics;
+    private BurgerRecord[] records;
+
+    @Setup
+    public void setUp() {
+        Catalog catalog = new Database().catalog();
+        analytics = new SalesAnalytics(catalog);
+        records = new BurgerRecord[1024];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < records.length; i++) {
+            int[] ids = new int[random.nextInt(6)];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = random.nextInt(catalog.ingredients().size());
+            }
+            records[i] = BurgerRecord.of(catalog, random.nextInt(catalog.buns().size()), ids);
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            analytics.record(records[i & (records.length - 1)]);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record() {
+        analytics.record(records[ThreadLocalRandom.current().nextInt(records.length)]);
+    }
+
+    @Benchmark
+    public List<Ingredient> topIngredients() {
+        return analytics.topIngredients(3);
+    }
+
+    @Benchmark
+    public long revenueBySauce() {
+        return analytics.revenueCents(IngredientType.SAUCE);
+    }
+
+    @Benchmark
+    public Bun mostPopularBun() {
+        return analytics.mostPopularBun();
+    }
+
+    @Benchmark
+    public List<SalesAnalytics.Popular> topCompositions() {
+        return analytics.topCompositions(10);
+    }
+
+}
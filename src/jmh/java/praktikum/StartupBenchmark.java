@@ -0,0 +1,119 @@
+package praktikum;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время холодного запуска: от старта новой JVM до первого чека {@link Burger#getReceipt()}, который печатает
+ * {@link Praktikum}. Сравнивает меню из кода, CSV файл и снимок каталога, каждый с архивом CDS классов и без него.
+ * Меню дополняется сгенерированными позициями, чтобы разбор большого CSV был заметен.
+ * <p>
+ * Архив CDS работает только с классами из jar, поэтому сначала нужен {@code mvn package}:
+ * {@code mvn -Pjmh -DskipTests package exec:exec@startup -Dstartup.args="20 20000"}, где аргументы –
+ * число запусков на вариант и число дополнительных позиций меню.
+ */
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int extra = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Path jar = Path.of(args.length > 2 ? args[2] : "target/praktikum-1.0-SNAPSHOT.jar");
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Нет " + jar + ", сначала выполните mvn package");
+        }
+
+        Path directory = Files.createDirectories(jar.toAbsolutePath().getParent().resolve("startup"));
+        Path csv = directory.resolve("menu.csv");
+        Path snapshot = directory.resolve("catalog.snapshot");
+        writeMenu(csv, extra);
+        new Database(csv).writeSnapshot(snapshot);
+        Path archive = directory.resolve("praktikum.jsa");
+        Files.deleteIfExists(archive);
+        // Архив собирается на том же пути запуска, что и замеряется
+        launch(List.of("-XX:ArchiveClassesAtExit=" + archive), jar, snapshot.toString());
+
+        System.out.printf("%d запусков, в меню %d позиций, %d байт CSV, %d байт снимка%n", runs, extra + 9,
+                Files.size(csv), Files.size(snapshot));
+        List<String> cds = List.of("-XX:SharedArchiveFile=" + archive);
+        report("меню из кода", runs, List.of(), jar);
+        report("CSV", runs, List.of(), jar, csv.toString());
+        report("снимок", runs, List.of(), jar, snapshot.toString());
+        report("CSV + CDS", runs, cds, jar, csv.toString());
+        report("снимок + CDS", runs, cds, jar, snapshot.toString());
+    }
+
+    private static void report(String mode, int runs, List<String> options, Path jar, String... args)
+            throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = launch(options, jar, args);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%s: до первого чека, мс: p50 %d, min %d, max %d%n", mode, millis[runs / 2], millis[0],
+                millis[runs - 1]);
+    }
+
+    /**
+     * Запускает {@link Praktikum} в новой JVM и ждёт первую строку чека.
+     *
+     * @return время от запуска процесса до первой строки чека, мс
+     */
+    private static long launch(List<String> options, Path jar, String... args)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        command.add("-cp");
+        command.add(jar.toString());
+        command.add(Praktikum.class.getName());
+        command.addAll(Arrays.asList(args));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long elapsed = -1;
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = output.readLine()) != null; ) {
+                if (elapsed < 0 && line.startsWith("(====")) {
+                    elapsed = System.nanoTime() - start;
+                }
+            }
+        }
+        if (process.waitFor() != 0 || elapsed < 0) {
+            throw new IllegalStateException("Запуск не напечатал чек: " + command);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    /**
+     * Меню из кода и сгенерированные начинки после него, чтобы {@link Praktikum} собрал тот же бургер.
+     */
+    private static void writeMenu(Path csv, int extra) throws IOException {
+        Catalog catalog = new Database().catalog();
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (Bun bun : catalog.buns()) {
+                out.write("bun," + bun.getName() + "," + Money.toString(bun.getPriceMinor()) + "\n");
+            }
+            for (Ingredient ingredient : catalog.ingredients()) {
+                out.write(ingredient.getType().getLabel() + "," + ingredient.getName() + ","
+                        + Money.toString(ingredient.getPriceMinor()) + "\n");
+            }
+            for (int i = 0; i < extra; i++) {
+                out.write("filling,начинка " + i + "," + Money.toString(1000 + i % 9000) + "\n");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+package praktikum;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Пакетный расчёт стоимости большого числа заказов.
+ * Заказы хранятся в колоночном виде: идентификаторы булочек, смещения слоёв и идентификаторы ингредиентов
+ * лежат в параллельных массивах {@code int[]}, а цены каталога – в массивах {@code long[]} в копейках.
+ * Расчёт проходит по массивам один раз без обращения к объектам {@link Bun} и {@link Ingredient}
+ * и даёт те же значения, что и {@link Burger#getPriceMinor()}: цены берутся из {@code getPriceMinor()}
+ * и складываются через {@link Money}, так что и переполнение, как у бургера, – {@link ArithmeticException}.
+ */
+public class BatchPricer {
+
+    /**
+     * Минимальное число заказов в одной задаче параллельного расчёта.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Catalog catalog;
+    private final long[] bunPricesCents;
+    private final long[] ingredientPricesCents;
+
+    private int size;
+    private int[] bunIds = new int[INITIAL_CAPACITY];
+    private int[] layerOffsets = new int[INITIAL_CAPACITY + 1];
+    private int[] layerIds = new int[INITIAL_CAPACITY];
+
+    public BatchPricer(Catalog catalog) {
+        this.catalog = catalog;
+
+        bunPricesCents = new long[catalog.buns().size()];
+        for (int id = 0; id < bunPricesCents.length; id++) {
+            bunPricesCents[id] = catalog.bun(id).getPriceMinor();
+        }
+
+        ingredientPricesCents = new long[catalog.ingredients().size()];
+        for (int id = 0; id < ingredientPricesCents.length; id++) {
+            ingredientPricesCents[id] = catalog.ingredient(id).getPriceMinor();
+        }
+    }
+
+    /**
+     * Считает стоимость всех бургеров за один проход.
+     *
+     * @param catalog  каталог, из которого собраны бургеры
+     * @param burgers  бургеры
+     * @param parallel считать ли параллельно в общем {@link ForkJoinPool}
+     * @return стоимость каждого бургера в порядке обхода коллекции
+     */
+    public static float[] priceAll(Catalog catalog, Collection<Burger> burgers, boolean parallel) {
+        BatchPricer pricer = new BatchPricer(catalog);
+        for (Burger burger : burgers) {
+            pricer.addBurger(burger);
+        }
+        return parallel ? pricer.prices(ForkJoinPool.commonPool()) : pricer.prices();
+    }
+
+    /**
+     * Добавляет заказ по идентификаторам каталога.
+     *
+     * @param bunId         идентификатор булочки
+     * @param ingredientIds идентификаторы ингредиентов в порядке слоёв
+     */
+    public void addOrder(int bunId, int... ingredientIds) {
+        catalog.checkBunId(bunId);
+        for (int ingredientId : ingredientIds) {
+            catalog.checkIngredientId(ingredientId);
+        }
+
+        int start = layerOffsets[size];
+        ensureCapacity(size + 1, start + ingredientIds.length);
+        bunIds[size] = bunId;
+        System.arraycopy(ingredientIds, 0, layerIds, start, ingredientIds.length);
+        layerOffsets[++size] = start + ingredientIds.length;
+    }
+
+    /**
+     * Добавляет бургер, собранный из позиций каталога.
+     *
+     * @param burger бургер
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     */
+    public void addBurger(Burger burger) {
+        if (burger.bun == null) {
+            throw new NullPointerException("Булочка не выбрана");
+        }
+
+        int[] ingredientIds = new int[burger.ingredients.size()];
+        int i = 0;
+        for (Ingredient ingredient : burger.ingredients) {
+            ingredientIds[i++] = catalog.requireIngredientId(ingredient);
+        }
+        addOrder(catalog.requireBunId(burger.bun), ingredientIds);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Считает стоимость заказов в копейках в текущем потоке.
+     *
+     * @return стоимость каждого заказа в порядке добавления
+     */
+    public long[] totalsCents() {
+        long[] totals = new long[size];
+        computeTotals(totals, 0, size);
+        return totals;
+    }
+
+    /**
+     * Считает стоимость заказов в копейках, разбивая заказы на части для пула fork-join.
+     *
+     * @param pool пул потоков
+     * @return стоимость каждого заказа в порядке добавления
+     */
+    public long[] totalsCents(ForkJoinPool pool) {
+        long[] totals = new long[size];
+        pool.invoke(new TotalsTask(totals, 0, size));
+        return totals;
+    }
+
+    /**
+     * Считает стоимость заказов так же, как {@link Burger#getPrice()}.
+     *
+     * @return стоимость каждого заказа в порядке добавления
+     */
+    public float[] prices() {
+        return toPrices(totalsCents());
+    }
+
+    public float[] prices(ForkJoinPool pool) {
+        return toPrices(totalsCents(pool));
+    }
+
+    private void computeTotals(long[] totals, int from, int to) {
+        for (int order = from; order < to; order++) {
+            long total = Money.multiply(bunPricesCents[bunIds[order]], 2);
+            for (int layer = layerOffsets[order], end = layerOffsets[order + 1]; layer < end; layer++) {
+                total = Money.add(total, ingredientPricesCents[layerIds[layer]]);
+            }
+            totals[order] = total;
+        }
+    }
+
+    private void ensureCapacity(int orders, int layers) {
+        if (orders > bunIds.length) {
+            int capacity = Math.max(orders, bunIds.length * 2);
+            bunIds = Arrays.copyOf(bunIds, capacity);
+            layerOffsets = Arrays.copyOf(layerOffsets, capacity + 1);
+        }
+        if (layers > layerIds.length) {
+            layerIds = Arrays.copyOf(layerIds, Math.max(layers, layerIds.length * 2));
+        }
+    }
+
+    private static float[] toPrices(long[] totalsCents) {
+        float[] prices = new float[totalsCents.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = Money.toFloat(totalsCents[i]);
+        }
+        return prices;
+    }
+
+    /**
+     * Задача fork-join, которая делит диапазон заказов пополам, пока он не станет достаточно мал.
+     */
+    private final class TotalsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] totals;
+        private final int from;
+        private final int to;
+
+        private TotalsTask(long[] totals, int from, int to) {
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                computeTotals(totals, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TotalsTask(totals, from, middle), new TotalsTask(totals, middle, to));
+        }
+    }
+
+}
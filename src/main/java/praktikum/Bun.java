@@ -3,15 +3,34 @@ package praktikum;
 /**
  * Модель булочки для бургера.
  * Булочке можно дать название и назначить цену.
+ * Булочка неизменяема, поэтому каталог выдаёт один и тот же объект всем бургерам.
+ * Цена хранится и в рублях для совместимости, и точно в копейках, см. {@link Money}.
  */
 public class Bun {
 
-    public String name;
-    public float price;
+    private final String name;
+    private final float price;
+    private final long priceMinor;
 
     public Bun(String name, float price) {
+        this(name, price, Money.fromFloat(price));
+    }
+
+    private Bun(String name, float price, long priceMinor) {
         this.name = name;
         this.price = price;
+        this.priceMinor = priceMinor;
+    }
+
+    /**
+     * Создаёт булочку с точной ценой в копейках.
+     *
+     * @param name       название
+     * @param priceMinor цена в копейках
+     * @return булочка
+     */
+    public static Bun ofMinor(String name, long priceMinor) {
+        return new Bun(name, Money.toFloat(priceMinor), priceMinor);
     }
 
     public String getName() {
@@ -22,4 +41,11 @@ public class Bun {
         return price;
     }
 
+    /**
+     * @return цена в копейках
+     */
+    public long getPriceMinor() {
+        return priceMinor;
+    }
+
 }
\ No newline at end of file
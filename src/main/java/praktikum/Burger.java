@@ -1,6 +1,9 @@
 package praktikum;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -8,50 +11,427 @@ import java.util.List;
  * Бургер состоит из булочек и ингредиентов (начинка или соус).
  * Ингредиенты можно перемещать и удалять.
  * Можно распечать чек с информацией о бургере.
+ * <p>
+ * Стоимость бургера хранится нарастающим итогом в копейках ({@link Money}) и обновляется
+ * методами {@link #setBuns}, {@link #addIngredient} и {@link #removeIngredient},
+ * поэтому {@link #getPrice()} не пересчитывает весь список ингредиентов.
+ * Точная стоимость – {@link #getPriceMinor()}; цены позиций читаются через {@code getPriceMinor()}
+ * и складываются через {@link Money} без {@code float}, поэтому итог совпадает с {@link BatchPricer},
+ * {@link ConcurrentBurger} и {@link ReceiptCache}.
+ * Ингредиенты хранятся в {@link LayerList}, поэтому добавление, удаление и перемещение слоя
+ * выполняются за O(log n) даже для очень высоких бургеров.
+ * Чек запоминается до следующего изменения через методы бургера.
+ * <p>
+ * Изменения через методы бургера можно отменять и повторять, если включена история
+ * {@link #setHistoryDepth}. Список слоёв персистентный, поэтому версия бургера в истории – это
+ * булочка, корень дерева слоёв и стоимость: запись и откат стоят O(log n), а память растёт
+ * с числом правок, а не с высотой бургера. Версия помнит и свою правку – добавленный или удалённый слой,
+ * поэтому счётчики правил при откате и повторе обновляются за O(1), а не пересчитываются по всем слоям.
+ * <p>
+ * К бургеру можно подключить правила сборки {@link #setRules}: тогда булочка и слой, нарушающие правила,
+ * отклоняются до изменения бургера, а проверка идёт по счётчикам {@link BurgerRules.Session} за O(1).
  */
 public class Burger {
 
     public Bun bun;
-    public List<Ingredient> ingredients = new ArrayList<>();
+    public List<Ingredient> ingredients = new LayerList();
+
+    private long bunsPriceCents;
+    private long ingredientsPriceCents;
+    private String receipt;
+
+    private int historyDepth;
+    /**
+     * Отмены и повторы; создаются только при включённой истории, чтобы бургер без истории оставался лёгким.
+     */
+    private Deque<Version> undo;
+    private Deque<Version> redo;
+
+    private BurgerRules.Checker rules;
+    private BurgerRules.Session rulesState;
 
     public void setBuns(Bun bun) {
+        long start = Metrics.start();
+        if (rulesState != null) {
+            require(rulesState.checkBun(bun));
+        }
+        long bunsPrice = bun == null ? 0 : Money.multiply(bun.getPriceMinor(), 2);
+        Version previous = historyVersion();
         this.bun = bun;
+        receipt = null;
+        bunsPriceCents = bunsPrice;
+        if (rulesState != null) {
+            rulesState.setBun(bun);
+        }
+        remember(previous, null, null);
+        Metrics.record(Metrics.Operation.SET_BUNS, start);
     }
 
     public void addIngredient(Ingredient ingredient) {
+        long start = Metrics.start();
+        if (rulesState != null) {
+            require(rulesState.checkAdd(ingredient));
+        }
+        long ingredientsPrice = Money.add(ingredientsPriceCents, ingredient.getPriceMinor());
+        Version previous = historyVersion();
         ingredients.add(ingredient);
+        receipt = null;
+        ingredientsPriceCents = ingredientsPrice;
+        if (rulesState != null) {
+            rulesState.add(ingredient);
+        }
+        remember(previous, ingredient, null);
+        Metrics.record(Metrics.Operation.ADD_INGREDIENT, start);
     }
 
     public void removeIngredient(int index) {
-        ingredients.remove(index);
+        long start = Metrics.start();
+        Version previous = historyVersion();
+        Ingredient removed = ingredients.remove(index);
+        ingredientsPriceCents = Money.subtract(ingredientsPriceCents, removed.getPriceMinor());
+        receipt = null;
+        if (rulesState != null) {
+            rulesState.remove(removed);
+        }
+        remember(previous, null, removed);
+        Metrics.record(Metrics.Operation.REMOVE_INGREDIENT, start);
     }
 
     public void moveIngredient(int index, int newIndex) {
+        long start = Metrics.start();
+        // Индексы проверяются до изменения: иначе слой успел бы исчезнуть, а цена, чек и правила – разойтись со слоями
+        checkIndex(index, ingredients.size());
+        // Как и в ConcurrentBurger, новый индекс считается в списке без перемещаемого слоя
+        checkIndex(newIndex, ingredients.size());
+        Version previous = historyVersion();
+        // Перестановка слоёв не меняет стоимость бургера
         ingredients.add(newIndex, ingredients.remove(index));
+        receipt = null;
+        remember(previous, null, null);
+        Metrics.record(Metrics.Operation.MOVE_INGREDIENT, start);
     }
 
-    public float getPrice() {
-        float price = bun.getPrice() * 2;
+    /**
+     * Задаёт, сколько последних изменений можно отменить. По умолчанию история выключена.
+     * Если история длиннее новой глубины, самые старые изменения забываются.
+     *
+     * @param depth число отменяемых изменений, 0 – без истории
+     * @throws IllegalArgumentException если глубина отрицательная
+     */
+    public void setHistoryDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Глубина истории не может быть отрицательной: " + depth);
+        }
+        historyDepth = depth;
+        if (depth == 0) {
+            undo = null;
+            redo = null;
+            return;
+        }
+        if (undo == null) {
+            undo = new ArrayDeque<>();
+            redo = new ArrayDeque<>();
+        }
+        while (undo.size() > depth) {
+            undo.pollFirst();
+        }
+    }
 
+    /**
+     * Подключает правила сборки. Дальше {@link #setBuns} и {@link #addIngredient} бросают
+     * {@link IllegalArgumentException}, если изменение нарушает правила, и не меняют бургер.
+     * Обязательная булочка проверяется только при {@code setBuns(null)} и в {@link #checkRules()},
+     * чтобы бургер можно было начинать собирать с ингредиентов.
+     * История изменений очищается: версии до подключения правил могли их нарушать.
+     *
+     * @param rules скомпилированные правила или {@code null}, чтобы отключить проверку
+     * @throws IllegalArgumentException если текущий бургер уже нарушает правила
+     */
+    public void setRules(BurgerRules.Checker rules) {
+        if (rules == null) {
+            this.rules = null;
+            rulesState = null;
+            return;
+        }
+        BurgerRules.Session state = rules.session();
+        if (bun != null) {
+            require(state.checkBun(bun));
+            state.setBun(bun);
+        }
         for (Ingredient ingredient : ingredients) {
-            price += ingredient.getPrice();
+            require(state.checkAdd(ingredient));
+            state.add(ingredient);
+        }
+        this.rules = rules;
+        rulesState = state;
+        if (undo != null) {
+            undo.clear();
+            redo.clear();
+        }
+    }
+
+    public BurgerRules.Checker getRules() {
+        return rules;
+    }
+
+    /**
+     * Проверяет готовность бургера по подключённым правилам, включая обязательную булочку.
+     *
+     * @return нарушенное правило или {@code null}, если правил нет или бургер им соответствует
+     */
+    public BurgerRules.Violation checkRules() {
+        return rulesState == null ? null : rulesState.check();
+    }
+
+    public int getHistoryDepth() {
+        return historyDepth;
+    }
+
+    public boolean canUndo() {
+        return undo != null && !undo.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return redo != null && !redo.isEmpty();
+    }
+
+    /**
+     * Отменяет последнее изменение бургера.
+     * Цены булочки и ингредиентов при этом не запрашиваются заново.
+     *
+     * @return {@code false}, если отменять нечего
+     */
+    public boolean undo() {
+        Version version = undo == null ? null : undo.pollLast();
+        if (version == null) {
+            return false;
+        }
+        redo.addLast(new Version(this).edited(version));
+        version.restore(this);
+        if (rulesState != null) {
+            rulesState.setBun(bun);
+            version.revert(rulesState);
         }
+        return true;
+    }
 
+    /**
+     * Повторяет последнее отменённое изменение. Новое изменение бургера очищает список повторов.
+     *
+     * @return {@code false}, если повторять нечего
+     */
+    public boolean redo() {
+        Version version = redo == null ? null : redo.pollLast();
+        if (version == null) {
+            return false;
+        }
+        undo.addLast(new Version(this).edited(version));
+        version.restore(this);
+        if (rulesState != null) {
+            rulesState.setBun(bun);
+            version.replay(rulesState);
+        }
+        return true;
+    }
+
+    public float getPrice() {
+        return Money.toFloat(getPriceMinor());
+    }
+
+    /**
+     * Точная стоимость бургера, без округления {@code float}.
+     *
+     * @return стоимость в копейках
+     */
+    public long getPriceMinor() {
+        long start = Metrics.start();
+        long price = totalMinor();
+        Metrics.record(Metrics.Operation.GET_PRICE, start);
         return price;
     }
 
+    /**
+     * Стоимость в копейках без замера {@code GET_PRICE}: чеки берут её сами и учитываются как {@code GET_RECEIPT}.
+     */
+    long totalMinor() {
+        if (bun == null) {
+            throw new NullPointerException("Булочка не выбрана");
+        }
+        return Money.add(bunsPriceCents, ingredientsPriceCents);
+    }
+
+    /**
+     * Чек запоминается до следующего изменения бургера; в метриках {@code GET_RECEIPT} учитывается каждый вызов,
+     * в том числе выдача запомненного чека.
+     */
     public String getReceipt() {
-        StringBuilder receipt = new StringBuilder(String.format("(==== %s ====)%n", bun.getName()));
+        long start = Metrics.start();
+        if (receipt == null) {
+            StringBuilder text = new StringBuilder(ReceiptRenderer.estimateLength(ingredients.size()));
+            try {
+                ReceiptRenderer.render(text, bun, ingredients, totalMinor());
+            } catch (IOException e) {
+                // StringBuilder не бросает IOException
+                throw new UncheckedIOException(e);
+            }
+            receipt = text.toString();
+        }
+        Metrics.record(Metrics.Operation.GET_RECEIPT, start);
+        return receipt;
+    }
 
-        for (Ingredient ingredient : ingredients) {
-            receipt.append(String.format("= %s %s =%n", ingredient.getType().toString().toLowerCase(),
-                    ingredient.getName()));
+    /**
+     * Возвращает ленивое представление чека, которое печатает строки по запросу
+     * и всегда отражает текущее состояние бургера.
+     *
+     * @return представление чека
+     */
+    public Receipt receipt() {
+        return new Receipt(this);
+    }
+
+    /**
+     * Печатает чек в переданный буфер, не создавая промежуточных строк.
+     * Буфер можно переиспользовать между заказами.
+     *
+     * @param receipt буфер для чека
+     * @return тот же буфер
+     */
+    public StringBuilder appendReceipt(StringBuilder receipt) {
+        try {
+            appendReceipt((Appendable) receipt);
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
         }
+        return receipt;
+    }
 
-        receipt.append(String.format("(==== %s ====)%n", bun.getName()));
-        receipt.append(String.format("%nPrice: %f%n", getPrice()));
+    /**
+     * Печатает чек в произвольный {@link Appendable}, например {@link java.nio.CharBuffer} или поток вывода.
+     * Текст чека совпадает с результатом {@link #getReceipt()}.
+     *
+     * @param receipt куда печатать чек
+     * @throws IOException если {@code receipt} не смог принять символы
+     */
+    public void appendReceipt(Appendable receipt) throws IOException {
+        long start = Metrics.start();
+        ReceiptRenderer.render(receipt, bun, ingredients, totalMinor());
+        Metrics.record(Metrics.Operation.GET_RECEIPT, start);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void require(BurgerRules.Violation violation) {
+        if (violation != null) {
+            throw new IllegalArgumentException("Нарушено правило сборки: " + violation.getDescription());
+        }
+    }
+
+    private Version historyVersion() {
+        return historyDepth == 0 ? null : new Version(this);
+    }
 
-        return receipt.toString();
+    /**
+     * Запоминает версию до успешного изменения: изменение, бросившее исключение, в историю не попадает.
+     *
+     * @param added   добавленный изменением слой или {@code null}
+     * @param removed удалённый изменением слой или {@code null}
+     */
+    private void remember(Version previous, Ingredient added, Ingredient removed) {
+        if (previous == null) {
+            return;
+        }
+        previous.added = added;
+        previous.removed = removed;
+        undo.addLast(previous);
+        if (undo.size() > historyDepth) {
+            undo.pollFirst();
+        }
+        redo.clear();
+    }
+
+    /**
+     * Версия бургера в истории изменений. Слои хранятся корнем персистентного дерева и делят узлы
+     * с соседними версиями.
+     * <p>
+     * Версия помнит правку между собой и соседним состоянием: в списке отмен – правку, сделанную после неё,
+     * в списке повторов – правку, которая к ней привела. Все версии истории записаны при текущих правилах:
+     * {@link #setRules} очищает историю.
+     */
+    private static final class Version {
+
+        private final Bun bun;
+        private final LayerList.Node layers;
+        private final long bunsPriceCents;
+        private final long ingredientsPriceCents;
+
+        private Ingredient added;
+        private Ingredient removed;
+
+        private Version(Burger burger) {
+            bun = burger.bun;
+            layers = layers(burger.ingredients).snapshot();
+            bunsPriceCents = burger.bunsPriceCents;
+            ingredientsPriceCents = burger.ingredientsPriceCents;
+        }
+
+        private void restore(Burger burger) {
+            burger.bun = bun;
+            if (!(burger.ingredients instanceof LayerList)) {
+                burger.ingredients = new LayerList();
+            }
+            ((LayerList) burger.ingredients).restore(layers);
+            burger.bunsPriceCents = bunsPriceCents;
+            burger.ingredientsPriceCents = ingredientsPriceCents;
+            burger.receipt = null;
+        }
+
+        private Version edited(Version edit) {
+            added = edit.added;
+            removed = edit.removed;
+            return this;
+        }
+
+        /**
+         * Откатывает правку в счётчиках правил.
+         */
+        private void revert(BurgerRules.Session session) {
+            if (added != null) {
+                session.remove(added);
+            }
+            if (removed != null) {
+                session.add(removed);
+            }
+        }
+
+        /**
+         * Повторяет правку в счётчиках правил.
+         */
+        private void replay(BurgerRules.Session session) {
+            if (removed != null) {
+                session.remove(removed);
+            }
+            if (added != null) {
+                session.add(added);
+            }
+        }
+
+        /**
+         * Список слоёв бургера; если поле заменили другим списком, версия снимается с его копии.
+         */
+        private static LayerList layers(List<Ingredient> ingredients) {
+            if (ingredients instanceof LayerList) {
+                return (LayerList) ingredients;
+            }
+            LayerList copy = new LayerList();
+            copy.addAll(ingredients);
+            return copy;
+        }
     }
 
-}
\ No newline at end of file
+}
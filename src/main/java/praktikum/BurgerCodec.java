@@ -0,0 +1,206 @@
+package praktikum;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Компактный двоичный формат заказа.
+ * <p>
+ * Запись начинается с отпечатка каталога ({@link Catalog#fingerprint()}, четыре байта, младшие первыми),
+ * дальше идут числа переменной длины (varint, 7 бит на байт, младшие байты первыми): идентификатор булочки,
+ * число ингредиентов и идентификаторы ингредиентов в порядке слоёв. Бургер из пяти ингредиентов небольшого
+ * каталога занимает 11 байт. Отпечаток, в отличие от версии каталога, не зависит от процесса, поэтому запись,
+ * сохранённая до перезапуска, читается только тем же меню.
+ * <p>
+ * Кодек пишет и читает прямо из {@link ByteBuffer} с его текущей позиции, без промежуточных массивов и строк.
+ * При чтении позиции берутся из каталога, поэтому декодированный бургер делит с ним объекты
+ * {@link Bun} и {@link Ingredient}.
+ */
+public final class BurgerCodec {
+
+    private static final int MAX_VARINT_BYTES = 10;
+    private static final int HEADER_BYTES = Integer.BYTES;
+
+    private BurgerCodec() {
+    }
+
+    /**
+     * Верхняя оценка размера записи бургера с заданным числом слоёв.
+     *
+     * @param layers число ингредиентов
+     * @return размер в байтах, которого заведомо хватит для записи
+     */
+    public static int maxEncodedLength(int layers) {
+        return HEADER_BYTES + 5 + 5 + 5 * layers;
+    }
+
+    /**
+     * Записывает бургер, собранный из позиций каталога.
+     *
+     * @param catalog каталог, из которого собран бургер
+     * @param burger  бургер
+     * @param target  буфер, запись начинается с его позиции
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     * @throws BufferOverflowException  если запись не поместилась; позиция буфера при этом не меняется
+     */
+    public static void encode(Catalog catalog, Burger burger, ByteBuffer target) {
+        Bun bun = Objects.requireNonNull(burger.bun, "Булочка не выбрана");
+        int start = target.position();
+        try {
+            writeFingerprint(target, catalog.fingerprint());
+            writeVarint(target, catalog.requireBunId(bun));
+            writeVarint(target, burger.ingredients.size());
+            for (Ingredient ingredient : burger.ingredients) {
+                writeVarint(target, catalog.requireIngredientId(ingredient));
+            }
+        } catch (BufferOverflowException | IllegalArgumentException e) {
+            target.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Записывает компактную запись бургера.
+     *
+     * @param record запись
+     * @param target буфер, запись начинается с его позиции
+     * @throws BufferOverflowException если запись не поместилась; позиция буфера при этом не меняется
+     */
+    public static void encode(BurgerRecord record, ByteBuffer target) {
+        int start = target.position();
+        try {
+            writeFingerprint(target, record.catalog().fingerprint());
+            writeVarint(target, record.bunId());
+            writeVarint(target, record.size());
+            for (int i = 0; i < record.size(); i++) {
+                writeVarint(target, record.ingredientId(i));
+            }
+        } catch (BufferOverflowException e) {
+            target.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Читает бургер, записанный {@link #encode(Catalog, Burger, ByteBuffer)}.
+     *
+     * @param catalog каталог с тем же содержимым, что и при записи
+     * @param source  буфер, чтение начинается с его позиции и заканчивается сразу за записью
+     * @return новый бургер из позиций каталога
+     * @throws IllegalArgumentException если каталог другой или запись повреждена
+     * @throws BufferUnderflowException если запись обрезана
+     */
+    public static Burger decode(Catalog catalog, ByteBuffer source) {
+        int count = readHeader(catalog, source);
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(readId(source, catalog.buns().size())));
+        for (int i = readCount(source); i > 0; i--) {
+            burger.addIngredient(catalog.ingredient(readId(source, count)));
+        }
+        return burger;
+    }
+
+    /**
+     * Читает запись бургера без создания объекта {@link Burger}.
+     *
+     * @param catalog каталог с тем же содержимым, что и при записи
+     * @param source  буфер, чтение начинается с его позиции и заканчивается сразу за записью
+     * @return компактная запись
+     * @throws IllegalArgumentException если каталог другой или запись повреждена
+     * @throws BufferUnderflowException если запись обрезана
+     */
+    public static BurgerRecord decodeRecord(Catalog catalog, ByteBuffer source) {
+        int count = readHeader(catalog, source);
+        int bunId = readId(source, catalog.buns().size());
+        int[] ids = new int[readCount(source)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = readId(source, count);
+        }
+        return BurgerRecord.of(catalog, bunId, ids);
+    }
+
+    /**
+     * Проверяет отпечаток каталога в заголовке.
+     *
+     * @return число ингредиентов в каталоге
+     */
+    private static int readHeader(Catalog catalog, ByteBuffer source) {
+        int fingerprint = readFingerprint(source);
+        if (fingerprint != catalog.fingerprint()) {
+            throw new IllegalArgumentException("Заказ записан для другого каталога: отпечаток "
+                    + Integer.toHexString(fingerprint) + ", у текущего " + Integer.toHexString(catalog.fingerprint()));
+        }
+        return catalog.ingredients().size();
+    }
+
+    private static int readCount(ByteBuffer source) {
+        long count = readVarint(source);
+        if (count < 0) {
+            throw new IllegalArgumentException("Неверное число слоёв: " + Long.toUnsignedString(count));
+        }
+        // Каждый идентификатор занимает хотя бы байт, поэтому повреждённый счётчик не раздует массив
+        if (count > source.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return (int) count;
+    }
+
+    /**
+     * Читает идентификатор позиции. Повреждённая запись – ошибка данных, а не индекса,
+     * поэтому здесь {@link IllegalArgumentException}, а не исключения {@link Catalog}.
+     */
+    private static int readId(ByteBuffer source, int size) {
+        long value = readVarint(source);
+        // Десятибайтовый varint даёт отрицательный long, который иначе прошёл бы сравнение с размером
+        if (value < 0 || value >= size) {
+            throw new IllegalArgumentException("Нет позиции с идентификатором " + Long.toUnsignedString(value));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Пишет отпечаток побайтно, чтобы формат не зависел от порядка байтов буфера.
+     */
+    static void writeFingerprint(ByteBuffer target, int fingerprint) {
+        if (target.remaining() < HEADER_BYTES) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < HEADER_BYTES; i++) {
+            target.put((byte) (fingerprint >>> (8 * i)));
+        }
+    }
+
+    static int readFingerprint(ByteBuffer source) {
+        if (source.remaining() < HEADER_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        int fingerprint = 0;
+        for (int i = 0; i < HEADER_BYTES; i++) {
+            fingerprint |= (source.get() & 0xFF) << (8 * i);
+        }
+        return fingerprint;
+    }
+
+    static void writeVarint(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    static long readVarint(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Число длиннее " + MAX_VARINT_BYTES + " байт");
+    }
+
+}
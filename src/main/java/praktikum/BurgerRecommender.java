@@ -0,0 +1,491 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Подбор лучших бургеров в пределах бюджета.
+ * <p>
+ * Оценка бургера – сумма оценок булочки и ингредиентов, поэтому задача сводится к рюкзаку с повторениями
+ * и решается методом ветвей и границ. Ингредиенты упорядочены по убыванию оценки на копейку, каждый
+ * набор слоёв перебирается один раз в порядке неубывания номеров, а ветвь отсекается, если даже
+ * дробное заполнение оставшегося бюджета и слоёв лучшими из оставшихся ингредиентов не превзойдёт
+ * K-й найденный результат. Ветви для разных булочек и первых слоёв считаются в {@link ForkJoinPool},
+ * а порог отсечения общий для всех задач.
+ * <p>
+ * Ингредиенты в бургере идут в порядке перебора. Составы, отличающиеся только порядком слоёв,
+ * считаются одним результатом.
+ */
+public class BurgerRecommender {
+
+    private final Catalog catalog;
+    private final ToDoubleFunction<Bun> bunScore;
+
+    /**
+     * Ингредиенты каталога в порядке перебора и их параметры.
+     */
+    private final int[] ingredientIds;
+    private final long[] prices;
+    private final double[] scores;
+    private final int[] types;
+
+    /**
+     * Наибольшая оценка и оценка на копейку среди ингредиентов с номера {@code i} и дальше
+     * (только положительные, иначе 0).
+     */
+    private final double[] suffixMaxScore;
+    private final double[] suffixMaxRatio;
+
+    /**
+     * Наименьшая цена ингредиента каждого типа с номера {@code i} и дальше.
+     */
+    private final long[][] suffixMinPrice;
+
+    /**
+     * @param catalog         каталог позиций
+     * @param bunScore        оценка булочки
+     * @param ingredientScore оценка одного слоя ингредиента
+     */
+    public BurgerRecommender(Catalog catalog, ToDoubleFunction<Bun> bunScore,
+                             ToDoubleFunction<Ingredient> ingredientScore) {
+        this.catalog = catalog;
+        this.bunScore = bunScore;
+
+        int n = catalog.ingredients().size();
+        Integer[] order = new Integer[n];
+        double[] catalogScores = new double[n];
+        for (int id = 0; id < n; id++) {
+            order[id] = id;
+            catalogScores[id] = ingredientScore.applyAsDouble(catalog.ingredient(id));
+        }
+        Arrays.sort(order, Comparator.comparingDouble(
+                (Integer id) -> ratio(catalogScores[id], catalog.ingredient(id).getPriceMinor()))
+                .reversed());
+
+        ingredientIds = new int[n];
+        prices = new long[n];
+        scores = new double[n];
+        types = new int[n];
+        for (int i = 0; i < n; i++) {
+            Ingredient ingredient = catalog.ingredient(order[i]);
+            ingredientIds[i] = order[i];
+            prices[i] = ingredient.getPriceMinor();
+            scores[i] = catalogScores[order[i]];
+            types[i] = ingredient.getType().ordinal();
+        }
+
+        int typeCount = IngredientType.values().length;
+        suffixMaxScore = new double[n + 1];
+        suffixMaxRatio = new double[n + 1];
+        suffixMinPrice = new long[typeCount][n + 1];
+        for (long[] minPrice : suffixMinPrice) {
+            minPrice[n] = Long.MAX_VALUE;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            suffixMaxScore[i] = Math.max(suffixMaxScore[i + 1], Math.max(0, scores[i]));
+            suffixMaxRatio[i] = Math.max(suffixMaxRatio[i + 1], Math.max(0, ratio(scores[i], prices[i])));
+            for (int type = 0; type < typeCount; type++) {
+                suffixMinPrice[type][i] = suffixMinPrice[type][i + 1];
+            }
+            suffixMinPrice[types[i]][i] = Math.min(suffixMinPrice[types[i]][i], prices[i]);
+        }
+    }
+
+    /**
+     * Подбирает лучшие бургеры в общем пуле {@link ForkJoinPool}.
+     *
+     * @see #recommend(float, Constraints, int, ForkJoinPool)
+     */
+    public List<Recommendation> recommend(float budget, Constraints constraints, int limit) {
+        return recommend(budget, constraints, limit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Подбирает до {@code limit} лучших бургеров, укладывающихся в бюджет и ограничения.
+     *
+     * @param budget      наибольшая цена бургера
+     * @param constraints ограничения на число слоёв
+     * @param limit       сколько бургеров вернуть
+     * @param pool        пул для параллельного перебора
+     * @return бургеры по убыванию оценки, при равной оценке – по возрастанию цены
+     */
+    public List<Recommendation> recommend(float budget, Constraints constraints, int limit, ForkJoinPool pool) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Нужно вернуть хотя бы один бургер: " + limit);
+        }
+
+        Search search = new Search(Money.fromFloat(budget), constraints, limit);
+        pool.invoke(new SearchTask(search, 0, catalog.buns().size() * (ingredientIds.length + 1)));
+
+        List<Candidate> best = new ArrayList<>(search.results);
+        best.sort(Candidate.BEST_FIRST);
+        List<Recommendation> recommendations = new ArrayList<>(best.size());
+        for (Candidate candidate : best) {
+            recommendations.add(new Recommendation(toBurger(candidate), candidate.score, candidate.priceMinor));
+        }
+        return recommendations;
+    }
+
+    private Burger toBurger(Candidate candidate) {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(candidate.bunId));
+        for (int item : candidate.items) {
+            burger.addIngredient(catalog.ingredient(ingredientIds[item]));
+        }
+        return burger;
+    }
+
+    private static double ratio(double score, long price) {
+        if (price == 0) {
+            return score > 0 ? Double.POSITIVE_INFINITY : score;
+        }
+        return score / price;
+    }
+
+    /**
+     * Общее состояние одного подбора: лучшие результаты и порог отсечения.
+     */
+    private final class Search {
+
+        private final long budgetMinor;
+        private final Constraints constraints;
+        private final int limit;
+        private final PriorityQueue<Candidate> results;
+
+        /**
+         * Нижняя граница оценки K-го лучшего результата, известная всем задачам.
+         */
+        private final DoubleAccumulator threshold = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+        private Search(long budgetMinor, Constraints constraints, int limit) {
+            this.budgetMinor = budgetMinor;
+            this.constraints = constraints;
+            this.limit = limit;
+            this.results = new PriorityQueue<>(limit + 1, Candidate.BEST_FIRST.reversed());
+        }
+
+        private void merge(PriorityQueue<Candidate> local) {
+            synchronized (results) {
+                for (Candidate candidate : local) {
+                    offer(results, candidate, limit);
+                }
+                if (results.size() == limit) {
+                    threshold.accumulate(results.peek().score);
+                }
+            }
+        }
+    }
+
+    /**
+     * Перебор ветвей с номерами из {@code [from, to)}. Номер ветви кодирует булочку и первый слой,
+     * последний номер для каждой булочки – бургер без слоёв.
+     */
+    private final class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int from;
+        private final int to;
+
+        private SearchTask(Search search, int from, int to) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SearchTask(search, from, middle), new SearchTask(search, middle, to));
+                return;
+            }
+            new Branch(search, from / (ingredientIds.length + 1)).run(from % (ingredientIds.length + 1));
+        }
+    }
+
+    /**
+     * Последовательный перебор одной ветви с собственной кучей результатов.
+     */
+    private final class Branch {
+
+        private final Search search;
+        private final Constraints constraints;
+        private final int bunId;
+        private final PriorityQueue<Candidate> local;
+        private final int[] typeCounts = new int[IngredientType.values().length];
+        private final int[] items;
+        private int depth;
+
+        private Branch(Search search, int bunId) {
+            this.search = search;
+            this.constraints = search.constraints;
+            this.bunId = bunId;
+            this.local = new PriorityQueue<>(search.limit + 1, Candidate.BEST_FIRST.reversed());
+            this.items = new int[constraints.maxLayers];
+        }
+
+        /**
+         * @param first номер первого слоя или число ингредиентов для бургера без слоёв
+         */
+        private void run(int first) {
+            Bun bun = catalog.bun(bunId);
+            long price = Money.multiply(bun.getPriceMinor(), 2);
+            double score = bunScore.applyAsDouble(bun);
+            if (price > search.budgetMinor) {
+                return;
+            }
+
+            if (first == ingredientIds.length) {
+                record(score, price);
+            } else if (bound(first, score, search.budgetMinor - price, constraints.maxLayers) >= threshold()
+                    && canAdd(first, price)) {
+                push(first);
+                explore(first, score + scores[first], price + prices[first]);
+            }
+            search.merge(local);
+        }
+
+        private void explore(int start, double score, long price) {
+            record(score, price);
+
+            long budgetLeft = search.budgetMinor - price;
+            int layersLeft = constraints.maxLayers - depth;
+            if (layersLeft == 0 || !canSatisfyMinimums(start, budgetLeft, layersLeft)) {
+                return;
+            }
+
+            for (int next = start; next < ingredientIds.length; next++) {
+                if (bound(next, score, budgetLeft, layersLeft) < threshold()) {
+                    // Ингредиенты отсортированы по оценке на копейку, дальше граница только меньше
+                    break;
+                }
+                if (canAdd(next, price)) {
+                    push(next);
+                    explore(next, score + scores[next], price + prices[next]);
+                    pop(next);
+                }
+            }
+        }
+
+        /**
+         * Верхняя граница оценки, если добавлять слои с номера {@code next}: оставшиеся слои и бюджет
+         * дробно заполняются лучшими из оставшихся ингредиентов без учёта ограничений по типам.
+         */
+        private double bound(int next, double score, long budgetLeft, int layersLeft) {
+            double byLayers = layersLeft * suffixMaxScore[next];
+            double byBudget = suffixMaxRatio[next] == Double.POSITIVE_INFINITY
+                    ? Double.POSITIVE_INFINITY
+                    : budgetLeft * suffixMaxRatio[next];
+            return score + Math.min(byLayers, byBudget);
+        }
+
+        private boolean canAdd(int item, long price) {
+            return depth < constraints.maxLayers
+                    // price не больше бюджета, поэтому вычитание не переполняется, в отличие от сложения
+                    && prices[item] <= search.budgetMinor - price
+                    && typeCounts[types[item]] < constraints.maximum[types[item]];
+        }
+
+        /**
+         * Проверяет, что оставшихся бюджета и слоёв хватит на обязательные минимумы по типам.
+         */
+        private boolean canSatisfyMinimums(int start, long budgetLeft, int layersLeft) {
+            long cost = 0;
+            int layers = 0;
+            for (int type = 0; type < typeCounts.length; type++) {
+                int missing = constraints.minimum[type] - typeCounts[type];
+                if (missing > 0) {
+                    if (suffixMinPrice[type][start] == Long.MAX_VALUE) {
+                        return false;
+                    }
+                    cost += missing * suffixMinPrice[type][start];
+                    layers += missing;
+                }
+            }
+            return cost <= budgetLeft && layers <= layersLeft;
+        }
+
+        private void record(double score, long price) {
+            for (int type = 0; type < typeCounts.length; type++) {
+                if (typeCounts[type] < constraints.minimum[type]) {
+                    return;
+                }
+            }
+            Candidate worst = local.peek();
+            if (local.size() == search.limit && Candidate.BEST_FIRST.compare(worst, score, price) <= 0) {
+                return;
+            }
+            offer(local, new Candidate(bunId, Arrays.copyOf(items, depth), score, price), search.limit);
+            if (local.size() == search.limit) {
+                search.threshold.accumulate(local.peek().score);
+            }
+        }
+
+        private double threshold() {
+            return search.threshold.get();
+        }
+
+        private void push(int item) {
+            items[depth++] = item;
+            typeCounts[types[item]]++;
+        }
+
+        private void pop(int item) {
+            depth--;
+            typeCounts[types[item]]--;
+        }
+    }
+
+    private static void offer(PriorityQueue<Candidate> heap, Candidate candidate, int limit) {
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (Candidate.BEST_FIRST.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    private static final class Candidate {
+
+        /**
+         * Порядок от лучшего к худшему: выше оценка, затем ниже цена.
+         */
+        private static final CandidateOrder BEST_FIRST = new CandidateOrder();
+
+        private final int bunId;
+        private final int[] items;
+        private final double score;
+        private final long priceMinor;
+
+        private Candidate(int bunId, int[] items, double score, long priceMinor) {
+            this.bunId = bunId;
+            this.items = items;
+            this.score = score;
+            this.priceMinor = priceMinor;
+        }
+    }
+
+    private static final class CandidateOrder implements Comparator<Candidate> {
+
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            int byScore = Double.compare(b.score, a.score);
+            return byScore != 0 ? byScore : Long.compare(a.priceMinor, b.priceMinor);
+        }
+
+        /**
+         * Сравнивает кандидата с ещё не созданным результатом, чтобы не копировать слои зря.
+         */
+        private int compare(Candidate a, double score, long priceMinor) {
+            int byScore = Double.compare(score, a.score);
+            return byScore != 0 ? byScore : Long.compare(a.priceMinor, priceMinor);
+        }
+    }
+
+    /**
+     * Ограничения на состав: наименьшее и наибольшее число слоёв каждого типа и общее число слоёв.
+     * Объект неизменяем, методы возвращают новые ограничения.
+     */
+    public static final class Constraints {
+
+        private static final int DEFAULT_MAX_LAYERS = 10;
+
+        private final int maxLayers;
+        private final int[] minimum;
+        private final int[] maximum;
+
+        private Constraints(int maxLayers, int[] minimum, int[] maximum) {
+            this.maxLayers = maxLayers;
+            this.minimum = minimum;
+            this.maximum = maximum;
+        }
+
+        /**
+         * Без ограничений по типам, не больше 10 слоёв.
+         */
+        public static Constraints none() {
+            int[] maximum = new int[IngredientType.values().length];
+            Arrays.fill(maximum, Integer.MAX_VALUE);
+            return new Constraints(DEFAULT_MAX_LAYERS, new int[maximum.length], maximum);
+        }
+
+        public Constraints maxLayers(int layers) {
+            if (layers < 0) {
+                throw new IllegalArgumentException("Число слоёв не может быть отрицательным: " + layers);
+            }
+            return new Constraints(layers, minimum, maximum);
+        }
+
+        public Constraints atLeast(IngredientType type, int layers) {
+            int[] changed = minimum.clone();
+            changed[type.ordinal()] = layers;
+            return new Constraints(maxLayers, changed, maximum);
+        }
+
+        public Constraints atMost(IngredientType type, int layers) {
+            int[] changed = maximum.clone();
+            changed[type.ordinal()] = layers;
+            return new Constraints(maxLayers, minimum, changed);
+        }
+
+        /**
+         * Проверяет бургер на соответствие ограничениям.
+         */
+        public boolean test(Burger burger) {
+            if (burger.ingredients.size() > maxLayers) {
+                return false;
+            }
+            Map<IngredientType, Integer> counts = new EnumMap<>(IngredientType.class);
+            for (Ingredient ingredient : burger.ingredients) {
+                counts.merge(ingredient.getType(), 1, Integer::sum);
+            }
+            for (IngredientType type : IngredientType.values()) {
+                int count = counts.getOrDefault(type, 0);
+                if (count < minimum[type.ordinal()] || count > maximum[type.ordinal()]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Подобранный бургер с его оценкой и ценой.
+     */
+    public static final class Recommendation {
+
+        private final Burger burger;
+        private final double score;
+        private final long priceMinor;
+
+        private Recommendation(Burger burger, double score, long priceMinor) {
+            this.burger = burger;
+            this.score = score;
+            this.priceMinor = priceMinor;
+        }
+
+        public Burger getBurger() {
+            return burger;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getPriceMinor() {
+            return priceMinor;
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package praktikum;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Компактная неизменяемая запись собранного бургера для долгого хранения.
+ * Вместо списка объектов {@link Ingredient} хранится массив {@code short[]} идентификаторов каталога,
+ * а сами булочки и ингредиенты каталог выдаёт как общие неизменяемые объекты.
+ * Идентификаторы читаются как беззнаковые, поэтому в каталоге может быть до 65536 позиций каждого вида.
+ */
+public final class BurgerRecord {
+
+    private static final int MAX_ENTRIES = 1 << Short.SIZE;
+
+    private final Catalog catalog;
+    private final short bunId;
+    private final short[] ingredientIds;
+
+    private BurgerRecord(Catalog catalog, short bunId, short[] ingredientIds) {
+        this.catalog = catalog;
+        this.bunId = bunId;
+        this.ingredientIds = ingredientIds;
+    }
+
+    /**
+     * Создаёт запись по идентификаторам каталога.
+     *
+     * @param catalog       каталог, к которому относятся идентификаторы
+     * @param bunId         идентификатор булочки
+     * @param ingredientIds идентификаторы ингредиентов в порядке слоёв
+     * @return новая запись
+     */
+    public static BurgerRecord of(Catalog catalog, int bunId, int... ingredientIds) {
+        checkFits(catalog.checkBunId(bunId));
+        short[] ids = new short[ingredientIds.length];
+        for (int i = 0; i < ids.length; i++) {
+            checkFits(catalog.checkIngredientId(ingredientIds[i]));
+            ids[i] = (short) ingredientIds[i];
+        }
+        return new BurgerRecord(catalog, (short) bunId, ids);
+    }
+
+    /**
+     * Создаёт запись бургера, собранного из позиций каталога.
+     *
+     * @param catalog каталог, из которого собран бургер
+     * @param burger  бургер
+     * @return новая запись
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     */
+    public static BurgerRecord of(Catalog catalog, Burger burger) {
+        Bun bun = Objects.requireNonNull(burger.bun, "Булочка не выбрана");
+        int[] ids = new int[burger.ingredients.size()];
+        int i = 0;
+        for (Ingredient ingredient : burger.ingredients) {
+            ids[i++] = catalog.requireIngredientId(ingredient);
+        }
+        return of(catalog, catalog.requireBunId(bun), ids);
+    }
+
+    public Catalog catalog() {
+        return catalog;
+    }
+
+    public int bunId() {
+        return Short.toUnsignedInt(bunId);
+    }
+
+    public Bun bun() {
+        return catalog.bun(bunId());
+    }
+
+    public int size() {
+        return ingredientIds.length;
+    }
+
+    public int ingredientId(int index) {
+        return Short.toUnsignedInt(ingredientIds[index]);
+    }
+
+    public Ingredient ingredient(int index) {
+        return catalog.ingredient(ingredientId(index));
+    }
+
+    /**
+     * Возвращает ингредиенты записи как неизменяемый список без копирования.
+     *
+     * @return представление ингредиентов
+     */
+    public List<Ingredient> ingredients() {
+        return new AbstractList<Ingredient>() {
+            @Override
+            public Ingredient get(int index) {
+                return ingredient(index);
+            }
+
+            @Override
+            public int size() {
+                return ingredientIds.length;
+            }
+        };
+    }
+
+    /**
+     * Восстанавливает обычный бургер с теми же позициями каталога.
+     *
+     * @return новый бургер
+     */
+    public Burger toBurger() {
+        Burger burger = new Burger();
+        burger.setBuns(bun());
+        for (int i = 0; i < ingredientIds.length; i++) {
+            burger.addIngredient(ingredient(i));
+        }
+        return burger;
+    }
+
+    private static void checkFits(int id) {
+        if (id >= MAX_ENTRIES) {
+            throw new IllegalArgumentException("Идентификатор не помещается в запись: " + id);
+        }
+    }
+
+}
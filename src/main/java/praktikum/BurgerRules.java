@@ -0,0 +1,435 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Правила сборки бургера: обязательная булочка, наибольшее число слоёв, наибольшее число слоёв
+ * каждого {@link IngredientType} и запрещённые сочетания ингредиентов.
+ * <p>
+ * Правила неизменяемы и задаются цепочкой вызовов, как {@link BurgerRecommender.Constraints}:
+ * {@code BurgerRules.none().requireBun().maxLayers(10).atMost(IngredientType.SAUCE, 2)}.
+ * {@link #compile} переводит их в {@link Checker} над идентификаторами каталога: тип и запрещённые
+ * соседи каждого ингредиента лежат в массивах, поэтому проверка слоя – несколько чтений массива,
+ * а {@link Session} проверяет отдельные изменения бургера за O(1).
+ */
+public final class BurgerRules {
+
+    /**
+     * Минимальное число заказов в одной задаче параллельной проверки.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * Нарушенное правило.
+     */
+    public enum Violation {
+        NO_BUN("не выбрана булочка"),
+        TOO_MANY_LAYERS("слишком много слоёв"),
+        TOO_MANY_OF_TYPE("слишком много слоёв одного типа"),
+        BANNED_PAIR("запрещённое сочетание ингредиентов"),
+        NOT_IN_CATALOG("позиция не из каталога");
+
+        private final String description;
+
+        Violation(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final boolean bunRequired;
+    private final int maxLayers;
+    private final int[] maxPerType;
+    private final List<Ingredient[]> bannedPairs;
+
+    private BurgerRules(boolean bunRequired, int maxLayers, int[] maxPerType, List<Ingredient[]> bannedPairs) {
+        this.bunRequired = bunRequired;
+        this.maxLayers = maxLayers;
+        this.maxPerType = maxPerType;
+        this.bannedPairs = bannedPairs;
+    }
+
+    /**
+     * Правила, которые разрешают любой бургер.
+     */
+    public static BurgerRules none() {
+        int[] maxPerType = new int[IngredientType.values().length];
+        Arrays.fill(maxPerType, Integer.MAX_VALUE);
+        return new BurgerRules(false, Integer.MAX_VALUE, maxPerType, List.of());
+    }
+
+    /**
+     * Бургер без булочки считается неготовым, а {@link Burger#setBuns} не принимает {@code null}.
+     */
+    public BurgerRules requireBun() {
+        return new BurgerRules(true, maxLayers, maxPerType, bannedPairs);
+    }
+
+    public BurgerRules maxLayers(int layers) {
+        if (layers < 0) {
+            throw new IllegalArgumentException("Число слоёв не может быть отрицательным: " + layers);
+        }
+        return new BurgerRules(bunRequired, layers, maxPerType, bannedPairs);
+    }
+
+    public BurgerRules atMost(IngredientType type, int layers) {
+        if (layers < 0) {
+            throw new IllegalArgumentException("Число слоёв не может быть отрицательным: " + layers);
+        }
+        int[] changed = maxPerType.clone();
+        changed[type.ordinal()] = layers;
+        return new BurgerRules(bunRequired, maxLayers, changed, bannedPairs);
+    }
+
+    /**
+     * Запрещает класть два ингредиента в один бургер.
+     *
+     * @throws IllegalArgumentException если ингредиент запрещается сам с собой
+     */
+    public BurgerRules ban(Ingredient first, Ingredient second) {
+        if (first == second) {
+            throw new IllegalArgumentException("Ингредиент нельзя запретить с самим собой: " + first.getName());
+        }
+        List<Ingredient[]> changed = new ArrayList<>(bannedPairs);
+        changed.add(new Ingredient[]{first, second});
+        return new BurgerRules(bunRequired, maxLayers, maxPerType, changed);
+    }
+
+    /**
+     * Переводит правила в проверку над идентификаторами каталога.
+     * Запреты для ингредиентов не из каталога не действуют.
+     *
+     * @param catalog каталог, из которого собираются бургеры
+     * @return проверка
+     */
+    public Checker compile(Catalog catalog) {
+        int ingredients = catalog.ingredients().size();
+        int[] types = new int[ingredients];
+        List<List<Integer>> partners = new ArrayList<>(ingredients);
+        for (int id = 0; id < ingredients; id++) {
+            types[id] = catalog.ingredient(id).getType().ordinal();
+            partners.add(new ArrayList<>());
+        }
+        for (Ingredient[] pair : bannedPairs) {
+            int first = catalog.ingredientId(pair[0]);
+            int second = catalog.ingredientId(pair[1]);
+            if (first >= 0 && second >= 0 && !partners.get(first).contains(second)) {
+                partners.get(first).add(second);
+                partners.get(second).add(first);
+            }
+        }
+
+        int[][] banned = new int[ingredients][];
+        for (int id = 0; id < ingredients; id++) {
+            banned[id] = partners.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new Checker(catalog, bunRequired, maxLayers, maxPerType.clone(), types, banned);
+    }
+
+    /**
+     * Скомпилированные правила для одного каталога. Потокобезопасна, состояние хранят только {@link Session}.
+     */
+    public static final class Checker {
+
+        private final Catalog catalog;
+        private final boolean bunRequired;
+        private final int maxLayers;
+        private final int[] maxPerType;
+        private final int[] types;
+        private final int[][] banned;
+
+        private Checker(Catalog catalog, boolean bunRequired, int maxLayers, int[] maxPerType, int[] types,
+                        int[][] banned) {
+            this.catalog = catalog;
+            this.bunRequired = bunRequired;
+            this.maxLayers = maxLayers;
+            this.maxPerType = maxPerType;
+            this.types = types;
+            this.banned = banned;
+        }
+
+        /**
+         * Проверяет готовый бургер.
+         *
+         * @return первое нарушенное правило или {@code null}
+         */
+        public Violation check(Burger burger) {
+            Session session = session();
+            Violation violation = session.checkBun(burger.bun);
+            if (violation != null) {
+                return violation;
+            }
+            session.setBun(burger.bun);
+            for (Ingredient ingredient : burger.ingredients) {
+                violation = session.checkAdd(ingredient);
+                if (violation != null) {
+                    return violation;
+                }
+                session.add(ingredient);
+            }
+            return session.check();
+        }
+
+        /**
+         * Проверяет компактную запись бургера.
+         *
+         * @return первое нарушенное правило или {@code null}
+         * @throws IllegalArgumentException если запись относится к другому каталогу
+         */
+        public Violation check(BurgerRecord record) {
+            if (record.catalog() != catalog) {
+                throw new IllegalArgumentException("Запись относится к другому каталогу");
+            }
+            return check(record, session());
+        }
+
+        /**
+         * Проверяет заказы по очереди в текущем потоке.
+         *
+         * @param orders записи бургеров по каталогу проверки
+         * @return нарушенное правило для каждого заказа или {@code null}, в порядке списка
+         */
+        public Violation[] checkAll(List<BurgerRecord> orders) {
+            Violation[] violations = new Violation[orders.size()];
+            checkRange(orders, violations, 0, violations.length);
+            return violations;
+        }
+
+        /**
+         * Проверяет заказы параллельно в пуле fork-join.
+         *
+         * @param orders записи бургеров по каталогу проверки
+         * @param pool   пул потоков
+         * @return нарушенное правило для каждого заказа или {@code null}, в порядке списка
+         */
+        public Violation[] checkAll(List<BurgerRecord> orders, ForkJoinPool pool) {
+            Violation[] violations = new Violation[orders.size()];
+            pool.invoke(new CheckTask(orders, violations, 0, violations.length));
+            return violations;
+        }
+
+        /**
+         * Новое пустое состояние для пошаговой проверки.
+         */
+        public Session session() {
+            return new Session(this);
+        }
+
+        private void checkRange(List<BurgerRecord> orders, Violation[] violations, int from, int to) {
+            // Одно состояние на диапазон: после каждого заказа счётчики возвращаются к нулю
+            Session session = session();
+            for (int i = from; i < to; i++) {
+                BurgerRecord record = orders.get(i);
+                if (record.catalog() != catalog) {
+                    violations[i] = Violation.NOT_IN_CATALOG;
+                    continue;
+                }
+                violations[i] = check(record, session);
+                session.clear(record);
+            }
+        }
+
+        private static Violation check(BurgerRecord record, Session session) {
+            session.setBun(record.bunId());
+            for (int i = 0; i < record.size(); i++) {
+                int id = record.ingredientId(i);
+                Violation violation = session.checkAdd(id);
+                if (violation != null) {
+                    return violation;
+                }
+                session.add(id);
+            }
+            return session.check();
+        }
+
+        /**
+         * Задача fork-join, которая делит диапазон заказов пополам, пока он не станет достаточно мал.
+         */
+        private final class CheckTask extends RecursiveAction {
+
+            private static final long serialVersionUID = 1L;
+
+            private final List<BurgerRecord> orders;
+            private final Violation[] violations;
+            private final int from;
+            private final int to;
+
+            private CheckTask(List<BurgerRecord> orders, Violation[] violations, int from, int to) {
+                this.orders = orders;
+                this.violations = violations;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from <= PARALLEL_THRESHOLD) {
+                    checkRange(orders, violations, from, to);
+                    return;
+                }
+                int middle = (from + to) >>> 1;
+                invokeAll(new CheckTask(orders, violations, from, middle),
+                        new CheckTask(orders, violations, middle, to));
+            }
+        }
+    }
+
+    /**
+     * Состояние бургера для пошаговой проверки: булочка, число слоёв по типам и по ингредиентам
+     * и число уже лежащих в бургере слоёв, запрещённых с каждым ингредиентом.
+     * Проверка слоя и булочки – O(1), добавление и удаление – O(число запретов ингредиента).
+     * Состояние не потокобезопасно.
+     */
+    public static final class Session {
+
+        private static final int NO_BUN = -1;
+
+        private final Checker checker;
+        private final int[] typeCounts;
+        private final int[] layerCounts;
+        private final int[] blocked;
+        private int bunId = NO_BUN;
+        private int layers;
+        private int conflicts;
+        private int overTypes;
+
+        private Session(Checker checker) {
+            this.checker = checker;
+            typeCounts = new int[checker.maxPerType.length];
+            layerCounts = new int[checker.types.length];
+            blocked = new int[checker.types.length];
+        }
+
+        /**
+         * Проверяет, можно ли поставить булочку.
+         *
+         * @param bun булочка или {@code null}
+         * @return нарушенное правило или {@code null}
+         */
+        public Violation checkBun(Bun bun) {
+            if (bun == null) {
+                return checker.bunRequired ? Violation.NO_BUN : null;
+            }
+            return checker.catalog.bunId(bun) < 0 ? Violation.NOT_IN_CATALOG : null;
+        }
+
+        public void setBun(Bun bun) {
+            bunId = bun == null ? NO_BUN : checker.catalog.bunId(bun);
+        }
+
+        private void setBun(int bunId) {
+            this.bunId = bunId;
+        }
+
+        /**
+         * Проверяет, можно ли добавить слой, не меняя состояние.
+         *
+         * @return нарушенное правило или {@code null}
+         */
+        public Violation checkAdd(Ingredient ingredient) {
+            int id = checker.catalog.ingredientId(ingredient);
+            return id < 0 ? Violation.NOT_IN_CATALOG : checkAdd(id);
+        }
+
+        /**
+         * Проверяет, можно ли добавить слой с идентификатором каталога, не меняя состояние.
+         *
+         * @return нарушенное правило или {@code null}
+         */
+        public Violation checkAdd(int ingredientId) {
+            if (layers >= checker.maxLayers) {
+                return Violation.TOO_MANY_LAYERS;
+            }
+            int type = checker.types[ingredientId];
+            if (typeCounts[type] >= checker.maxPerType[type]) {
+                return Violation.TOO_MANY_OF_TYPE;
+            }
+            return blocked[ingredientId] > 0 ? Violation.BANNED_PAIR : null;
+        }
+
+        /**
+         * Учитывает добавленный слой. Слой не из каталога не учитывается.
+         */
+        public void add(Ingredient ingredient) {
+            int id = checker.catalog.ingredientId(ingredient);
+            if (id >= 0) {
+                add(id);
+            }
+        }
+
+        public void add(int ingredientId) {
+            layers++;
+            int type = checker.types[ingredientId];
+            if (++typeCounts[type] == checker.maxPerType[type] + 1) {
+                overTypes++;
+            }
+            layerCounts[ingredientId]++;
+            conflicts += blocked[ingredientId];
+            for (int partner : checker.banned[ingredientId]) {
+                blocked[partner]++;
+            }
+        }
+
+        /**
+         * Учитывает удалённый слой. Слой не из каталога не учитывается.
+         */
+        public void remove(Ingredient ingredient) {
+            int id = checker.catalog.ingredientId(ingredient);
+            if (id >= 0) {
+                remove(id);
+            }
+        }
+
+        public void remove(int ingredientId) {
+            layers--;
+            int type = checker.types[ingredientId];
+            if (typeCounts[type]-- == checker.maxPerType[type] + 1) {
+                overTypes--;
+            }
+            layerCounts[ingredientId]--;
+            for (int partner : checker.banned[ingredientId]) {
+                blocked[partner]--;
+            }
+            conflicts -= blocked[ingredientId];
+        }
+
+        /**
+         * Проверяет всё состояние целиком, включая обязательную булочку, за O(1).
+         *
+         * @return первое нарушенное правило или {@code null}
+         */
+        public Violation check() {
+            if (checker.bunRequired && bunId == NO_BUN) {
+                return Violation.NO_BUN;
+            }
+            if (layers > checker.maxLayers) {
+                return Violation.TOO_MANY_LAYERS;
+            }
+            if (overTypes > 0) {
+                return Violation.TOO_MANY_OF_TYPE;
+            }
+            return conflicts > 0 ? Violation.BANNED_PAIR : null;
+        }
+
+        /**
+         * Убирает из состояния слои, добавленные по записи до первого нарушения, и булочку.
+         */
+        private void clear(BurgerRecord record) {
+            for (int i = 0; i < record.size() && layers > 0; i++) {
+                int id = record.ingredientId(i);
+                if (layerCounts[id] > 0) {
+                    remove(id);
+                }
+            }
+            bunId = NO_BUN;
+        }
+    }
+
+}
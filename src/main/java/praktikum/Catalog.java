@@ -0,0 +1,391 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Неизменяемый каталог меню с индексами для быстрого поиска.
+ * Идентификатор булочки или ингредиента – его позиция в списке, переданном в конструктор.
+ * Все методы возвращают неизменяемые представления, поэтому каталог можно читать из многих потоков без блокировок.
+ * Строки чека для всех позиций кодируются в UTF-8 при создании каталога ({@link ReceiptTemplates}).
+ * <p>
+ * Версия ({@link #version()}) – счётчик перезагрузок внутри одного процесса. Для данных, которые переживают
+ * перезапуск, каталог опознаётся по отпечатку содержимого ({@link #fingerprint()}).
+ * <p>
+ * Каталог из снимка ({@link CatalogSnapshot}) строит индексы и строки чека при первом поиске, а не при создании:
+ * его позиции читаются из файла по одной при первом обращении, и запуск не должен их все разбирать.
+ */
+public final class Catalog {
+
+    private static final int FNV_OFFSET = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final long version;
+    private final int fingerprint;
+    private final List<Bun> buns;
+    private final List<Ingredient> ingredients;
+
+    private volatile Indexes indexes;
+
+    public Catalog(List<Bun> buns, List<Ingredient> ingredients) {
+        this(0, buns, ingredients);
+    }
+
+    /**
+     * Создаёт каталог с номером версии. Версия растёт при каждой перезагрузке меню в {@link Database}
+     * и начинается с нуля в каждом процессе.
+     *
+     * @param version     номер версии каталога
+     * @param buns        булочки в порядке идентификаторов
+     * @param ingredients ингредиенты в порядке идентификаторов
+     */
+    public Catalog(long version, List<Bun> buns, List<Ingredient> ingredients) {
+        this.version = version;
+        this.buns = Collections.unmodifiableList(new ArrayList<>(buns));
+        this.ingredients = Collections.unmodifiableList(new ArrayList<>(ingredients));
+        this.fingerprint = fingerprint(this.buns, this.ingredients);
+        this.indexes = new Indexes(this);
+    }
+
+    private Catalog(long version, int fingerprint, List<Bun> buns, List<Ingredient> ingredients, Indexes indexes) {
+        this.version = version;
+        this.fingerprint = fingerprint;
+        this.buns = buns;
+        this.ingredients = ingredients;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Создаёт каталог поверх готовых неизменяемых списков без копирования; индексы строятся при первом поиске.
+     * Повторяющиеся названия при этом обнаруживаются только при первом поиске.
+     * Отпечаток передаётся готовым, чтобы не разбирать ради него все позиции.
+     *
+     * @param version     номер версии каталога
+     * @param fingerprint отпечаток содержимого, сохранённый вместе с позициями
+     * @param buns        булочки в порядке идентификаторов
+     * @param ingredients ингредиенты в порядке идентификаторов
+     * @return каталог
+     */
+    static Catalog lazy(long version, int fingerprint, List<Bun> buns, List<Ingredient> ingredients) {
+        return new Catalog(version, fingerprint, buns, ingredients, null);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Возвращает отпечаток содержимого каталога: хеш FNV-1a по названиям, типам и ценам в копейках
+     * в порядке идентификаторов. Отпечаток не зависит от процесса и версии, поэтому по нему проверяются
+     * сохранённые заказы: каталог из того же меню даёт тот же отпечаток, изменённое меню – почти наверняка другой.
+     *
+     * @return отпечаток содержимого
+     */
+    public int fingerprint() {
+        return fingerprint;
+    }
+
+    public List<Bun> buns() {
+        return buns;
+    }
+
+    public List<Ingredient> ingredients() {
+        return ingredients;
+    }
+
+    public Bun bun(int id) {
+        return buns.get(id);
+    }
+
+    public Ingredient ingredient(int id) {
+        return ingredients.get(id);
+    }
+
+    /**
+     * Возвращает идентификатор булочки из этого каталога.
+     *
+     * @param bun булочка
+     * @return идентификатор или {@code -1}, если булочка не из этого каталога
+     */
+    public int bunId(Bun bun) {
+        return indexes().bunIds.getOrDefault(bun, -1);
+    }
+
+    /**
+     * Возвращает идентификатор ингредиента из этого каталога.
+     *
+     * @param ingredient ингредиент
+     * @return идентификатор или {@code -1}, если ингредиент не из этого каталога
+     */
+    public int ingredientId(Ingredient ingredient) {
+        return indexes().ingredientIds.getOrDefault(ingredient, -1);
+    }
+
+    /**
+     * Идентификатор булочки для записи заказа по идентификаторам.
+     *
+     * @throws IllegalArgumentException если булочка не из этого каталога
+     */
+    int requireBunId(Bun bun) {
+        return requireId(bunId(bun), bun.getName());
+    }
+
+    /**
+     * Идентификатор ингредиента для записи заказа по идентификаторам.
+     *
+     * @throws IllegalArgumentException если ингредиент не из этого каталога
+     */
+    int requireIngredientId(Ingredient ingredient) {
+        return requireId(ingredientId(ingredient), ingredient.getName());
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException если в каталоге нет булочки с таким идентификатором
+     */
+    int checkBunId(int id) {
+        return checkId(id, buns.size());
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException если в каталоге нет ингредиента с таким идентификатором
+     */
+    int checkIngredientId(int id) {
+        return checkId(id, ingredients.size());
+    }
+
+    /**
+     * Ищет булочку по названию.
+     *
+     * @param name название булочки
+     * @return булочка или {@code null}, если такой нет в каталоге
+     */
+    public Bun bunByName(String name) {
+        return indexes().bunsByName.get(name);
+    }
+
+    /**
+     * Ищет ингредиент по названию.
+     *
+     * @param name название ингредиента
+     * @return ингредиент или {@code null}, если такого нет в каталоге
+     */
+    public Ingredient ingredientByName(String name) {
+        return indexes().ingredientsByName.get(name);
+    }
+
+    public List<Ingredient> ingredientsOfType(IngredientType type) {
+        return indexes().ingredientsByType.get(type);
+    }
+
+    /**
+     * Возвращает булочки с ценой в диапазоне {@code [minPrice, maxPrice]}, упорядоченные по возрастанию цены.
+     */
+    public List<Bun> bunsInPriceRange(float minPrice, float maxPrice) {
+        return indexes().bunsByPrice.range(minPrice, maxPrice);
+    }
+
+    /**
+     * Возвращает ингредиенты с ценой в диапазоне {@code [minPrice, maxPrice]}, упорядоченные по возрастанию цены.
+     */
+    public List<Ingredient> ingredientsInPriceRange(float minPrice, float maxPrice) {
+        return indexes().ingredientsByPrice.range(minPrice, maxPrice);
+    }
+
+    ReceiptTemplates receiptTemplates() {
+        return indexes().receiptTemplates;
+    }
+
+    private Indexes indexes() {
+        Indexes current = indexes;
+        if (current == null) {
+            synchronized (this) {
+                current = indexes;
+                if (current == null) {
+                    current = new Indexes(this);
+                    indexes = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static int requireId(int id, String name) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Позиция не из каталога: " + name);
+        }
+        return id;
+    }
+
+    private static int checkId(int id, int size) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + size);
+        }
+        return id;
+    }
+
+    private static int fingerprint(List<Bun> buns, List<Ingredient> ingredients) {
+        int hash = mix(FNV_OFFSET, buns.size(), Integer.BYTES);
+        for (Bun bun : buns) {
+            hash = mix(hash, bun.getName());
+            hash = mix(hash, bun.getPriceMinor(), Long.BYTES);
+        }
+        hash = mix(hash, ingredients.size(), Integer.BYTES);
+        for (Ingredient ingredient : ingredients) {
+            hash = mix(hash, ingredient.getType().ordinal(), 1);
+            hash = mix(hash, ingredient.getName());
+            hash = mix(hash, ingredient.getPriceMinor(), Long.BYTES);
+        }
+        return hash;
+    }
+
+    private static int mix(int hash, String text) {
+        hash = mix(hash, text.length(), Integer.BYTES);
+        for (int i = 0; i < text.length(); i++) {
+            hash = mix(hash, text.charAt(i), Character.BYTES);
+        }
+        return hash;
+    }
+
+    /**
+     * Добавляет к хешу FNV-1a младшие {@code bytes} байт значения, младшие первыми.
+     */
+    private static int mix(int hash, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            hash = (hash ^ (int) (value >>> (8 * i) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static <T> Map<T, Integer> indexIds(List<T> entries) {
+        // Позиции ищутся по ссылке: каталог выдаёт одни и те же объекты
+        Map<T, Integer> ids = new IdentityHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            ids.put(entries.get(i), i);
+        }
+        return ids;
+    }
+
+    private static <T> void putUnique(Map<String, T> index, String name, T value) {
+        if (index.putIfAbsent(name, value) != null) {
+            throw new IllegalArgumentException("Повторяющееся название в каталоге: " + name);
+        }
+    }
+
+    /**
+     * Индексы каталога по ссылке, названию, типу и цене и строки чека.
+     */
+    private static final class Indexes {
+
+        private final Map<Bun, Integer> bunIds;
+        private final Map<Ingredient, Integer> ingredientIds;
+        private final Map<String, Bun> bunsByName;
+        private final Map<String, Ingredient> ingredientsByName;
+        private final Map<IngredientType, List<Ingredient>> ingredientsByType;
+
+        private final PriceIndex<Bun> bunsByPrice;
+        private final PriceIndex<Ingredient> ingredientsByPrice;
+
+        private final ReceiptTemplates receiptTemplates;
+
+        private Indexes(Catalog catalog) {
+            Map<String, Bun> bunNames = new HashMap<>();
+            for (Bun bun : catalog.buns) {
+                putUnique(bunNames, bun.getName(), bun);
+            }
+            this.bunsByName = Collections.unmodifiableMap(bunNames);
+            this.bunIds = indexIds(catalog.buns);
+            this.ingredientIds = indexIds(catalog.ingredients);
+
+            Map<String, Ingredient> ingredientNames = new HashMap<>();
+            Map<IngredientType, List<Ingredient>> byType = new EnumMap<>(IngredientType.class);
+            for (IngredientType type : IngredientType.values()) {
+                byType.put(type, new ArrayList<>());
+            }
+            for (Ingredient ingredient : catalog.ingredients) {
+                putUnique(ingredientNames, ingredient.getName(), ingredient);
+                byType.get(ingredient.getType()).add(ingredient);
+            }
+            for (Map.Entry<IngredientType, List<Ingredient>> entry : byType.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            this.ingredientsByName = Collections.unmodifiableMap(ingredientNames);
+            this.ingredientsByType = Collections.unmodifiableMap(byType);
+
+            this.bunsByPrice = new PriceIndex<>(catalog.buns, Bun::getPrice);
+            this.ingredientsByPrice = new PriceIndex<>(catalog.ingredients, Ingredient::getPrice);
+
+            this.receiptTemplates = new ReceiptTemplates(catalog);
+        }
+    }
+
+    /**
+     * Позиции в каталоге, отсортированные по цене. Диапазон цен ищется двоичным поиском.
+     */
+    private static final class PriceIndex<T> {
+
+        private final List<T> sorted;
+        private final float[] prices;
+
+        private PriceIndex(List<T> entries, PriceFunction<T> price) {
+            List<T> copy = new ArrayList<>(entries);
+            copy.sort(Comparator.comparingDouble(price::of));
+            this.sorted = Collections.unmodifiableList(copy);
+            this.prices = new float[copy.size()];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = price.of(copy.get(i));
+            }
+        }
+
+        private List<T> range(float minPrice, float maxPrice) {
+            int from = lowerBound(minPrice);
+            int to = Math.max(from, upperBound(maxPrice));
+            return sorted.subList(from, to);
+        }
+
+        /**
+         * Первая позиция с ценой не меньше {@code price}.
+         */
+        private int lowerBound(float price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] < price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Первая позиция с ценой больше {@code price}.
+         */
+        private int upperBound(float price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (prices[middle] <= price) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PriceFunction<T> {
+        float of(T entry);
+    }
+
+}
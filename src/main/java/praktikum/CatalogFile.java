@@ -0,0 +1,110 @@
+package praktikum;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Чтение каталога меню из CSV файла.
+ * Каждая строка описывает одну позицию: {@code тип,название,цена}, где тип – {@code bun},
+ * {@code sauce} или {@code filling}. Пустые строки и строки, начинающиеся с {@code #}, пропускаются.
+ * <pre>
+ * bun,black bun,100
+ * sauce,hot sauce,100
+ * filling,cutlet,100
+ * </pre>
+ * Позиции, которые не изменились с предыдущей версии каталога, переиспользуются, поэтому
+ * бургеры, собранные до и после перезагрузки меню, ссылаются на одни и те же объекты.
+ */
+final class CatalogFile {
+
+    private static final String BUN = "bun";
+
+    private CatalogFile() {
+    }
+
+    static Catalog read(Path path, long version, Catalog previous) throws IOException {
+        List<Bun> buns = new ArrayList<>();
+        List<Ingredient> ingredients = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    throw new IOException(path + ":" + lineNumber + ": ожидается тип,название,цена");
+                }
+                String type = columns[0].trim().toLowerCase(Locale.ROOT);
+                String name = columns[1].trim();
+                long price = parsePrice(columns[2].trim(), path, lineNumber);
+
+                if (BUN.equals(type)) {
+                    buns.add(internBun(previous, name, price));
+                } else {
+                    ingredients.add(internIngredient(previous, parseType(type, path, lineNumber), name, price));
+                }
+            }
+        }
+
+        try {
+            return new Catalog(version, buns, ingredients);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Bun internBun(Catalog previous, String name, long price) {
+        Bun existing = previous == null ? null : previous.bunByName(name);
+        if (existing != null && existing.getPriceMinor() == price) {
+            return existing;
+        }
+        return Bun.ofMinor(name, price);
+    }
+
+    private static Ingredient internIngredient(Catalog previous, IngredientType type, String name, long price) {
+        Ingredient existing = previous == null ? null : previous.ingredientByName(name);
+        if (existing != null && existing.getType() == type && existing.getPriceMinor() == price) {
+            return existing;
+        }
+        return Ingredient.ofMinor(type, name, price);
+    }
+
+    /**
+     * Разбирает цену в копейках. Цены с точностью до копейки читаются точно, остальные форматы,
+     * которые понимает {@link Float#parseFloat}, округляются до копейки.
+     */
+    private static long parsePrice(String value, Path path, int lineNumber) throws IOException {
+        try {
+            return Money.parse(value);
+        } catch (NumberFormatException e) {
+            // например 1e2 или 0.125
+        }
+        try {
+            return Money.fromFloat(Float.parseFloat(value));
+        } catch (NumberFormatException e) {
+            throw new IOException(path + ":" + lineNumber + ": неверная цена " + value, e);
+        }
+    }
+
+    private static IngredientType parseType(String value, Path path, int lineNumber) throws IOException {
+        for (IngredientType type : IngredientType.values()) {
+            if (type.getLabel().equals(value)) {
+                return type;
+            }
+        }
+        throw new IOException(path + ":" + lineNumber + ": неизвестный тип " + value);
+    }
+
+}
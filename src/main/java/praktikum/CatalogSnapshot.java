@@ -0,0 +1,221 @@
+package praktikum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Двоичный снимок каталога меню для быстрого запуска.
+ * <p>
+ * Файл отображается в память целиком, а позиции разбираются по одной при первом обращении к ним:
+ * запуск читает только заголовок и таблицу смещений. Формат, числа в порядке big-endian:
+ * <pre>
+ * int    MAGIC
+ * int    FORMAT_VERSION
+ * long   версия каталога
+ * int    отпечаток содержимого {@link Catalog#fingerprint()}
+ * int    число булочек B
+ * int    число ингредиентов I
+ * int[B + I + 1]  смещения записей от начала файла, последнее – конец последней записи
+ * булочка:    long цена в копейках, название в UTF-8
+ * ингредиент: byte номер IngredientType, long цена в копейках, название в UTF-8
+ * </pre>
+ * Длина названия – расстояние до следующей записи. Снимок записывается во временный файл и переименовывается,
+ * поэтому уже отображённый старый снимок не меняется под читателем.
+ */
+final class CatalogSnapshot {
+
+    static final int MAGIC = 0xCA7A1060;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + 3 * Integer.BYTES;
+    private static final int BUN_FIXED_BYTES = Long.BYTES;
+    private static final int INGREDIENT_FIXED_BYTES = 1 + Long.BYTES;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Проверяет по первым байтам, что файл – снимок каталога, а не CSV.
+     */
+    static boolean isSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // читаем, пока не наберём четыре байта или не кончится файл
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    static void write(Catalog catalog, Path target) throws IOException {
+        List<Bun> buns = catalog.buns();
+        List<Ingredient> ingredients = catalog.ingredients();
+        int entries = buns.size() + ingredients.size();
+        byte[][] names = new byte[entries][];
+        int size = HEADER_BYTES + (entries + 1) * Integer.BYTES;
+        for (int i = 0; i < buns.size(); i++) {
+            names[i] = buns.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += BUN_FIXED_BYTES + names[i].length;
+        }
+        for (int i = 0; i < ingredients.size(); i++) {
+            names[buns.size() + i] = ingredients.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += INGREDIENT_FIXED_BYTES + names[buns.size() + i].length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(catalog.version()).putInt(catalog.fingerprint())
+                .putInt(buns.size()).putInt(ingredients.size());
+        int offset = HEADER_BYTES + (entries + 1) * Integer.BYTES;
+        for (int i = 0; i < entries; i++) {
+            out.putInt(offset);
+            offset += (i < buns.size() ? BUN_FIXED_BYTES : INGREDIENT_FIXED_BYTES) + names[i].length;
+        }
+        out.putInt(offset);
+        for (int i = 0; i < buns.size(); i++) {
+            out.putLong(buns.get(i).getPriceMinor()).put(names[i]);
+        }
+        for (int i = 0; i < ingredients.size(); i++) {
+            Ingredient ingredient = ingredients.get(i);
+            out.put((byte) ingredient.getType().ordinal()).putLong(ingredient.getPriceMinor())
+                    .put(names[buns.size() + i]);
+        }
+
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(),
+                ".tmp");
+        try {
+            Files.write(temporary, out.array());
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Отображает снимок в память и возвращает каталог, который разбирает позиции при первом обращении.
+     *
+     * @param path       файл снимка
+     * @param minVersion наименьшая версия каталога; если в снимке версия меньше, берётся эта
+     * @return каталог
+     * @throws IOException если файл не удалось прочитать или это не снимок каталога
+     */
+    static Catalog read(Path path, long minVersion) throws IOException {
+        ByteBuffer snapshot;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Отображение остаётся действительным и после закрытия канала
+            snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.BIG_ENDIAN);
+        }
+
+        if (snapshot.capacity() < HEADER_BYTES || snapshot.getInt(0) != MAGIC) {
+            throw new IOException(path + ": не снимок каталога");
+        }
+        int format = snapshot.getInt(Integer.BYTES);
+        if (format != FORMAT_VERSION) {
+            throw new IOException(path + ": неподдерживаемая версия формата " + format);
+        }
+        long version = snapshot.getLong(2 * Integer.BYTES);
+        int fingerprint = snapshot.getInt(2 * Integer.BYTES + Long.BYTES);
+        int buns = snapshot.getInt(3 * Integer.BYTES + Long.BYTES);
+        int ingredients = snapshot.getInt(4 * Integer.BYTES + Long.BYTES);
+        checkOffsets(snapshot, buns, ingredients, path);
+
+        return Catalog.lazy(Math.max(version, minVersion), fingerprint,
+                new Entries<>(snapshot, 0, buns, CatalogSnapshot::decodeBun),
+                new Entries<>(snapshot, buns, ingredients, CatalogSnapshot::decodeIngredient));
+    }
+
+    /**
+     * Проверяет таблицу смещений, не разбирая записи: каждая запись не короче своей постоянной части
+     * и лежит внутри файла.
+     */
+    private static void checkOffsets(ByteBuffer snapshot, int buns, int ingredients, Path path) throws IOException {
+        long entries = (long) buns + ingredients;
+        long tableEnd = HEADER_BYTES + (entries + 1) * Integer.BYTES;
+        if (buns < 0 || ingredients < 0 || tableEnd > snapshot.capacity()) {
+            throw new IOException(path + ": повреждённая таблица смещений");
+        }
+        long previous = tableEnd;
+        for (int i = 0; i <= entries; i++) {
+            int offset = snapshot.getInt(HEADER_BYTES + i * Integer.BYTES);
+            int minimum = i == 0 ? 0 : (i <= buns ? BUN_FIXED_BYTES : INGREDIENT_FIXED_BYTES);
+            if (offset < previous + minimum || offset > snapshot.capacity()) {
+                throw new IOException(path + ": повреждённая таблица смещений");
+            }
+            previous = offset;
+        }
+    }
+
+    private static Bun decodeBun(ByteBuffer snapshot, int from, int to) {
+        return Bun.ofMinor(name(snapshot, from + BUN_FIXED_BYTES, to), snapshot.getLong(from));
+    }
+
+    private static Ingredient decodeIngredient(ByteBuffer snapshot, int from, int to) {
+        IngredientType[] types = IngredientType.values();
+        int type = snapshot.get(from);
+        if (type < 0 || type >= types.length) {
+            throw new IllegalStateException("Повреждённый снимок каталога: неизвестный тип " + type);
+        }
+        return Ingredient.ofMinor(types[type], name(snapshot, from + INGREDIENT_FIXED_BYTES, to),
+                snapshot.getLong(from + 1));
+    }
+
+    private static String name(ByteBuffer snapshot, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        ByteBuffer source = snapshot.duplicate();
+        source.position(from);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(ByteBuffer snapshot, int from, int to);
+    }
+
+    /**
+     * Позиции снимка, которые разбираются при первом обращении. Разобранная позиция запоминается,
+     * поэтому список, как и каталог, всегда выдаёт один и тот же объект.
+     */
+    private static final class Entries<T> extends AbstractList<T> implements RandomAccess {
+
+        private final ByteBuffer snapshot;
+        private final int first;
+        private final Decoder<T> decoder;
+        private final AtomicReferenceArray<T> decoded;
+
+        private Entries(ByteBuffer snapshot, int first, int size, Decoder<T> decoder) {
+            this.snapshot = snapshot;
+            this.first = first;
+            this.decoder = decoder;
+            this.decoded = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public T get(int index) {
+            T entry = decoded.get(index);
+            if (entry == null) {
+                int table = HEADER_BYTES + (first + index) * Integer.BYTES;
+                T candidate = decoder.decode(snapshot, snapshot.getInt(table), snapshot.getInt(table + Integer.BYTES));
+                // Если позицию одновременно разобрали в другом потоке, все получают первый объект
+                entry = decoded.compareAndSet(index, null, candidate) ? candidate : decoded.get(index);
+            }
+            return entry;
+        }
+
+        @Override
+        public int size() {
+            return decoded.length();
+        }
+    }
+
+}
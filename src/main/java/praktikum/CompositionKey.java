@@ -0,0 +1,92 @@
+package praktikum;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Отпечаток состава бургера: версия каталога, идентификатор булочки и идентификаторы ингредиентов по порядку.
+ * Хеш вычисляется один раз при создании.
+ */
+final class CompositionKey {
+
+    private final long catalogVersion;
+    private final int bunId;
+    private final int[] ingredientIds;
+    private final int hash;
+
+    private CompositionKey(long catalogVersion, int bunId, int[] ingredientIds) {
+        this.catalogVersion = catalogVersion;
+        this.bunId = bunId;
+        this.ingredientIds = ingredientIds;
+        this.hash = 31 * (31 * Long.hashCode(catalogVersion) + bunId) + Arrays.hashCode(ingredientIds);
+    }
+
+    /**
+     * Строит отпечаток бургера, собранного из позиций каталога.
+     *
+     * @param catalog каталог
+     * @param bun     булочка
+     * @param layers  ингредиенты по порядку
+     * @return отпечаток или {@code null}, если какая-то позиция не из этого каталога
+     */
+    static CompositionKey of(Catalog catalog, Bun bun, List<Ingredient> layers) {
+        int bunId = catalog.bunId(bun);
+        if (bunId < 0) {
+            return null;
+        }
+
+        int[] ingredientIds = new int[layers.size()];
+        int i = 0;
+        for (Ingredient ingredient : layers) {
+            int id = catalog.ingredientId(ingredient);
+            if (id < 0) {
+                return null;
+            }
+            ingredientIds[i++] = id;
+        }
+        return new CompositionKey(catalog.version(), bunId, ingredientIds);
+    }
+
+    /**
+     * Строит отпечаток компактной записи бургера.
+     *
+     * @param record запись
+     * @return отпечаток
+     */
+    static CompositionKey of(BurgerRecord record) {
+        int[] ingredientIds = new int[record.size()];
+        for (int i = 0; i < ingredientIds.length; i++) {
+            ingredientIds[i] = record.ingredientId(i);
+        }
+        return new CompositionKey(record.catalog().version(), record.bunId(), ingredientIds);
+    }
+
+    /**
+     * Восстанавливает запись бургера по каталогу той версии, для которой построен отпечаток.
+     *
+     * @param catalog каталог
+     * @return запись бургера
+     */
+    BurgerRecord toRecord(Catalog catalog) {
+        return BurgerRecord.of(catalog, bunId, ingredientIds);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompositionKey)) {
+            return false;
+        }
+        CompositionKey that = (CompositionKey) o;
+        return hash == that.hash && catalogVersion == that.catalogVersion && bunId == that.bunId
+                && Arrays.equals(ingredientIds, that.ingredientIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
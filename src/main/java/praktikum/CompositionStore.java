@@ -0,0 +1,218 @@
+package praktikum;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Хранилище составов бургеров без повторов (hash consing).
+ * <p>
+ * Каждый состав – булочка и ингредиенты по порядку – хранится один раз как неизменяемый {@link Composition}
+ * с заранее посчитанными хешем и ценой. {@link #add} возвращает общий экземпляр, поэтому история
+ * из миллионов заказов стоит одну ссылку на заказ, а повтор состава – только увеличение его счётчика.
+ * Идентификаторы позиций хранятся как в {@link BurgerRecord}, в {@code short[]}.
+ * Хранилище потокобезопасно.
+ */
+public final class CompositionStore {
+
+    private final Catalog catalog;
+    private final ConcurrentHashMap<Composition, Composition> compositions = new ConcurrentHashMap<>();
+    private final LongAdder orders = new LongAdder();
+
+    /**
+     * @param catalog каталог, из которого собираются бургеры
+     */
+    public CompositionStore(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Учитывает заказ и возвращает общий экземпляр его состава.
+     *
+     * @param burger бургер из позиций каталога
+     * @return состав, один и тот же для всех заказов с такой же булочкой и теми же слоями
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     */
+    public Composition add(Burger burger) {
+        Bun bun = Objects.requireNonNull(burger.bun, "Булочка не выбрана");
+        short[] ids = new short[burger.ingredients.size()];
+        int i = 0;
+        for (Ingredient ingredient : burger.ingredients) {
+            ids[i++] = toShort(catalog.requireIngredientId(ingredient));
+        }
+        return add(toShort(catalog.requireBunId(bun)), ids);
+    }
+
+    /**
+     * Учитывает заказ из компактной записи.
+     *
+     * @param record запись бургера по каталогу хранилища
+     * @return общий экземпляр состава
+     * @throws IllegalArgumentException если запись относится к другому каталогу
+     */
+    public Composition add(BurgerRecord record) {
+        if (record.catalog() != catalog) {
+            throw new IllegalArgumentException("Запись относится к другому каталогу");
+        }
+        short[] ids = new short[record.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (short) record.ingredientId(i);
+        }
+        return add((short) record.bunId(), ids);
+    }
+
+    /**
+     * Число разных составов.
+     */
+    public int size() {
+        return compositions.size();
+    }
+
+    /**
+     * Число учтённых заказов.
+     */
+    public long orders() {
+        return orders.sum();
+    }
+
+    /**
+     * Возвращает все составы по убыванию числа заказов.
+     *
+     * @return снимок составов
+     */
+    public List<Composition> compositions() {
+        List<Composition> all = new ArrayList<>(compositions.keySet());
+        all.sort((a, b) -> Long.compare(b.getOrders(), a.getOrders()));
+        return all;
+    }
+
+    private Composition add(short bunId, short[] ids) {
+        Composition candidate = new Composition(catalog, bunId, ids);
+        Composition existing = compositions.putIfAbsent(candidate, candidate);
+        Composition canonical = existing == null ? candidate : existing;
+        Composition.ORDERS.incrementAndGet(canonical);
+        orders.increment();
+        return canonical;
+    }
+
+    private static short toShort(int id) {
+        if (id >= 1 << Short.SIZE) {
+            throw new IllegalArgumentException("Идентификатор не помещается в состав: " + id);
+        }
+        return (short) id;
+    }
+
+    /**
+     * Неизменяемый состав бургера. Два состава равны, если у них одна булочка и те же ингредиенты по порядку.
+     */
+    public static final class Composition {
+
+        private static final AtomicLongFieldUpdater<Composition> ORDERS =
+                AtomicLongFieldUpdater.newUpdater(Composition.class, "orders");
+
+        private final Catalog catalog;
+        private final short bunId;
+        private final short[] ingredientIds;
+        private final int hash;
+        private final long priceMinor;
+        private volatile long orders;
+
+        private Composition(Catalog catalog, short bunId, short[] ingredientIds) {
+            this.catalog = catalog;
+            this.bunId = bunId;
+            this.ingredientIds = ingredientIds;
+            this.hash = 31 * bunId + Arrays.hashCode(ingredientIds);
+
+            long price = Money.multiply(catalog.bun(Short.toUnsignedInt(bunId)).getPriceMinor(), 2);
+            for (short id : ingredientIds) {
+                price = Money.add(price, catalog.ingredient(Short.toUnsignedInt(id)).getPriceMinor());
+            }
+            this.priceMinor = price;
+        }
+
+        public Bun bun() {
+            return catalog.bun(Short.toUnsignedInt(bunId));
+        }
+
+        public int size() {
+            return ingredientIds.length;
+        }
+
+        public Ingredient ingredient(int index) {
+            return catalog.ingredient(Short.toUnsignedInt(ingredientIds[index]));
+        }
+
+        /**
+         * Возвращает ингредиенты как неизменяемый список без копирования.
+         */
+        public List<Ingredient> ingredients() {
+            return new AbstractList<Ingredient>() {
+                @Override
+                public Ingredient get(int index) {
+                    return ingredient(index);
+                }
+
+                @Override
+                public int size() {
+                    return ingredientIds.length;
+                }
+            };
+        }
+
+        /**
+         * @return цена бургера в копейках
+         */
+        public long getPriceMinor() {
+            return priceMinor;
+        }
+
+        /**
+         * Число заказов с этим составом.
+         */
+        public long getOrders() {
+            return orders;
+        }
+
+        /**
+         * Компактная запись состава для журнала и аналитики.
+         */
+        public BurgerRecord toRecord() {
+            int[] ids = new int[ingredientIds.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = Short.toUnsignedInt(ingredientIds[i]);
+            }
+            return BurgerRecord.of(catalog, Short.toUnsignedInt(bunId), ids);
+        }
+
+        /**
+         * Восстанавливает обычный бургер с этим составом.
+         */
+        public Burger toBurger() {
+            return toRecord().toBurger();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Composition)) {
+                return false;
+            }
+            Composition that = (Composition) o;
+            return hash == that.hash && bunId == that.bunId && catalog == that.catalog
+                    && Arrays.equals(ingredientIds, that.ingredientIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
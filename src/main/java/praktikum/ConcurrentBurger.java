@@ -0,0 +1,171 @@
+package praktikum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Потокобезопасный бургер для заказа, который одновременно меняют несколько потоков.
+ * Состояние хранится как неизменяемый снимок в {@link AtomicReference}: изменения заменяют снимок через CAS
+ * без блокировок, а чтение цены и чека работает с одним снимком и никогда не ждёт пишущие потоки.
+ * Индексы в методах совпадают с индексами {@link Burger}.
+ */
+public class ConcurrentBurger {
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.EMPTY);
+
+    public void setBuns(Bun bun) {
+        long bunsPriceCents = bun == null ? 0 : Money.multiply(bun.getPriceMinor(), 2);
+        state.updateAndGet(current -> current.withBun(bun, bunsPriceCents));
+    }
+
+    public void addIngredient(Ingredient ingredient) {
+        long priceCents = ingredient.getPriceMinor();
+        state.updateAndGet(current -> current.withAdded(current.layers.length, ingredient, priceCents));
+    }
+
+    public void removeIngredient(int index) {
+        state.updateAndGet(current -> current.withRemoved(index));
+    }
+
+    public void moveIngredient(int index, int newIndex) {
+        state.updateAndGet(current -> current.withMoved(index, newIndex));
+    }
+
+    public float getPrice() {
+        return Money.toFloat(getPriceMinor());
+    }
+
+    /**
+     * @return стоимость в копейках
+     */
+    public long getPriceMinor() {
+        return state.get().getPriceMinor();
+    }
+
+    public String getReceipt() {
+        State snapshot = state.get();
+        StringBuilder receipt = new StringBuilder(ReceiptRenderer.estimateLength(snapshot.layers.length));
+        try {
+            ReceiptRenderer.render(receipt, snapshot.bun, snapshot.ingredients(), snapshot.getPriceMinor());
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        return receipt.toString();
+    }
+
+    /**
+     * Возвращает ингредиенты на момент вызова.
+     *
+     * @return неизменяемый список ингредиентов
+     */
+    public List<Ingredient> ingredients() {
+        return state.get().ingredients();
+    }
+
+    /**
+     * Копирует текущее состояние в обычный {@link Burger}, например для оформления заказа.
+     *
+     * @return новый бургер с той же булочкой и теми же ингредиентами
+     */
+    public Burger toBurger() {
+        State snapshot = state.get();
+        Burger burger = new Burger();
+        if (snapshot.bun != null) {
+            burger.setBuns(snapshot.bun);
+        }
+        for (Ingredient ingredient : snapshot.layers) {
+            burger.addIngredient(ingredient);
+        }
+        return burger;
+    }
+
+    /**
+     * Неизменяемый снимок бургера. Цены слоёв хранятся рядом с ингредиентами,
+     * чтобы удаление не обращалось к ингредиенту повторно.
+     */
+    private static final class State {
+
+        private static final State EMPTY = new State(null, 0, new Ingredient[0], new long[0], 0);
+
+        private final Bun bun;
+        private final long bunsPriceCents;
+        private final Ingredient[] layers;
+        private final long[] layerPricesCents;
+        private final long ingredientsPriceCents;
+
+        private State(Bun bun, long bunsPriceCents, Ingredient[] layers, long[] layerPricesCents,
+                      long ingredientsPriceCents) {
+            this.bun = bun;
+            this.bunsPriceCents = bunsPriceCents;
+            this.layers = layers;
+            this.layerPricesCents = layerPricesCents;
+            this.ingredientsPriceCents = ingredientsPriceCents;
+        }
+
+        private long getPriceMinor() {
+            if (bun == null) {
+                throw new NullPointerException("Булочка не выбрана");
+            }
+
+            return Money.add(bunsPriceCents, ingredientsPriceCents);
+        }
+
+        private List<Ingredient> ingredients() {
+            return Collections.unmodifiableList(Arrays.asList(layers));
+        }
+
+        private State withBun(Bun newBun, long newBunsPriceCents) {
+            return new State(newBun, newBunsPriceCents, layers, layerPricesCents, ingredientsPriceCents);
+        }
+
+        private State withAdded(int index, Ingredient ingredient, long priceCents) {
+            int size = layers.length;
+            Ingredient[] newLayers = new Ingredient[size + 1];
+            long[] newPrices = new long[size + 1];
+
+            System.arraycopy(layers, 0, newLayers, 0, index);
+            System.arraycopy(layerPricesCents, 0, newPrices, 0, index);
+            newLayers[index] = ingredient;
+            newPrices[index] = priceCents;
+            System.arraycopy(layers, index, newLayers, index + 1, size - index);
+            System.arraycopy(layerPricesCents, index, newPrices, index + 1, size - index);
+
+            return new State(bun, bunsPriceCents, newLayers, newPrices, Money.add(ingredientsPriceCents, priceCents));
+        }
+
+        private State withRemoved(int index) {
+            checkIndex(index, layers.length);
+            int size = layers.length;
+            Ingredient[] newLayers = new Ingredient[size - 1];
+            long[] newPrices = new long[size - 1];
+
+            System.arraycopy(layers, 0, newLayers, 0, index);
+            System.arraycopy(layerPricesCents, 0, newPrices, 0, index);
+            System.arraycopy(layers, index + 1, newLayers, index, size - index - 1);
+            System.arraycopy(layerPricesCents, index + 1, newPrices, index, size - index - 1);
+
+            return new State(bun, bunsPriceCents, newLayers, newPrices,
+                    Money.subtract(ingredientsPriceCents, layerPricesCents[index]));
+        }
+
+        private State withMoved(int index, int newIndex) {
+            checkIndex(index, layers.length);
+            // Как и в Burger, новый индекс считается в списке без перемещаемого слоя
+            checkIndex(newIndex, layers.length);
+            State removed = withRemoved(index);
+            return removed.withAdded(newIndex, layers[index], layerPricesCents[index]);
+        }
+
+        private static void checkIndex(int index, int size) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+
+}
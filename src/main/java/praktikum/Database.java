@@ -1,17 +1,41 @@
 package praktikum;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Класс с методами по работе с базой данных.
+ * <p>
+ * Меню хранится как неизменяемый {@link Catalog}. Если база создана из файла, меню можно перезагрузить:
+ * новый каталог подменяет старый целиком, поэтому читатели без блокировок всегда видят одну согласованную версию.
+ * Бургеры, собранные до перезагрузки, ссылаются на старые объекты и сохраняют старые цены.
+ * <p>
+ * Вместо CSV меню можно загружать из двоичного снимка ({@link #writeSnapshot}): файл отображается в память,
+ * и при запуске позиции не разбираются, пока к ним не обратились. Формат файла определяется по первым байтам.
  */
 public class Database {
 
-    private final List<Bun> buns = new ArrayList<>();
-    private final List<Ingredient> ingredients = new ArrayList<>();
+    private final Path source;
+    private volatile Catalog catalog;
+    private final List<Consumer<Catalog>> listeners = new CopyOnWriteArrayList<>();
+
+    private FileTime loadedModifiedTime;
+    private long loadedSize;
 
     public Database() {
+        List<Bun> buns = new ArrayList<>();
+        List<Ingredient> ingredients = new ArrayList<>();
+
         buns.add(new Bun("black bun", 100));
         buns.add(new Bun("white bun", 200));
         buns.add(new Bun("red bun", 300));
@@ -23,14 +47,139 @@ public class Database {
         ingredients.add(new Ingredient(IngredientType.FILLING, "cutlet", 100));
         ingredients.add(new Ingredient(IngredientType.FILLING, "dinosaur", 200));
         ingredients.add(new Ingredient(IngredientType.FILLING, "sausage", 300));
+
+        source = null;
+        catalog = new Catalog(buns, ingredients);
+    }
+
+    /**
+     * Загружает меню из CSV файла в формате {@code тип,название,цена} или из снимка каталога.
+     *
+     * @param source файл с меню или снимок, записанный {@link #writeSnapshot}
+     * @throws IOException если файл не удалось прочитать или он содержит ошибки
+     */
+    public Database(Path source) throws IOException {
+        this.source = source;
+        reload();
     }
 
+    /**
+     * Возвращает булочки текущей версии меню.
+     * Чтобы булочки и ингредиенты гарантированно были из одной версии, используйте {@link #catalog()}.
+     *
+     * @return неизменяемый список булочек
+     */
     public List<Bun> availableBuns() {
-        return buns;
+        return catalog.buns();
     }
 
+    /**
+     * Возвращает ингредиенты текущей версии меню.
+     *
+     * @return неизменяемый список ингредиентов
+     */
     public List<Ingredient> availableIngredients() {
-        return ingredients;
+        return catalog.ingredients();
+    }
+
+    /**
+     * Возвращает неизменяемый каталог меню с поиском по названию, идентификатору, типу и цене.
+     *
+     * @return текущая версия каталога
+     */
+    public Catalog catalog() {
+        return catalog;
+    }
+
+    /**
+     * Перечитывает файл меню и атомарно подменяет каталог.
+     * При ошибке чтения остаётся предыдущая версия.
+     *
+     * @throws IOException если файл не удалось прочитать или он содержит ошибки
+     */
+    public synchronized void reload() throws IOException {
+        if (source == null) {
+            throw new IllegalStateException("База данных создана без файла меню");
+        }
+
+        long start = Metrics.start();
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        Catalog current = catalog;
+        long version = current == null ? 0 : current.version() + 1;
+        catalog = CatalogSnapshot.isSnapshot(source)
+                ? CatalogSnapshot.read(source, version)
+                : CatalogFile.read(source, version, current);
+        loadedModifiedTime = attributes.lastModifiedTime();
+        loadedSize = attributes.size();
+        Metrics.record(Metrics.Operation.DATABASE_RELOAD, start);
+
+        for (Consumer<Catalog> listener : listeners) {
+            listener.accept(catalog);
+        }
+    }
+
+    /**
+     * Сохраняет текущий каталог в двоичный снимок для быстрого запуска через {@link #Database(Path)}.
+     * Файл заменяется целиком, поэтому базы, уже загрузившие прежний снимок, продолжают его читать.
+     * Позиции из снимка не переиспользуются при перезагрузке, в отличие от CSV.
+     *
+     * @param target файл снимка
+     * @throws IOException если файл не удалось записать
+     */
+    public void writeSnapshot(Path target) throws IOException {
+        CatalogSnapshot.write(catalog, target);
+    }
+
+    /**
+     * Подписывает слушателя на замену каталога, например чтобы сбросить кеши с устаревшими ценами.
+     * Слушатель вызывается в потоке, выполнившем перезагрузку, после публикации новой версии.
+     *
+     * @param listener получатель новой версии каталога
+     */
+    public void addCatalogListener(Consumer<Catalog> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Перечитывает файл меню, если с прошлой загрузки изменились время изменения или размер файла.
+     *
+     * @return {@code true}, если каталог был заменён
+     * @throws IOException если файл не удалось прочитать или он содержит ошибки
+     */
+    public synchronized boolean reloadIfChanged() throws IOException {
+        if (source == null) {
+            return false;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        if (attributes.lastModifiedTime().equals(loadedModifiedTime) && attributes.size() == loadedSize) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Периодически проверяет файл меню и перезагружает его при изменении.
+     * Ошибки не останавливают проверку: ни ошибки чтения, после которых остаётся предыдущая версия меню,
+     * ни исключения слушателей и повреждённых позиций снимка. Ошибка передаётся в {@code onError} в потоке
+     * проверки, иначе планировщик молча отменил бы задачу.
+     *
+     * @param executor планировщик, в котором выполняется проверка
+     * @param period   период проверки
+     * @param unit     единица измерения периода
+     * @param onError  получатель ошибок перезагрузки, например журнал приложения
+     * @return задача проверки, которую можно отменить
+     */
+    public ScheduledFuture<?> watch(ScheduledExecutorService executor, long period, TimeUnit unit,
+                                    Consumer<? super Exception> onError) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                reloadIfChanged();
+            } catch (IOException | RuntimeException e) {
+                onError.accept(e);
+            }
+        }, period, period, unit);
     }
 
-}
\ No newline at end of file
+}
@@ -4,23 +4,50 @@ package praktikum;
  * Модель ингредиента.
  * Ингредиент: начинка или соус.
  * У ингредиента есть тип (начинка или соус), название и цена.
+ * Ингредиент неизменяем, поэтому каталог выдаёт один и тот же объект всем бургерам.
+ * Цена хранится и в рублях для совместимости, и точно в копейках, см. {@link Money}.
  */
 public class Ingredient {
 
-    public IngredientType type;
-    public String name;
-    public float price;
+    private final IngredientType type;
+    private final String name;
+    private final float price;
+    private final long priceMinor;
 
     public Ingredient(IngredientType type, String name, float price) {
+        this(type, name, price, Money.fromFloat(price));
+    }
+
+    private Ingredient(IngredientType type, String name, float price, long priceMinor) {
         this.type = type;
         this.name = name;
         this.price = price;
+        this.priceMinor = priceMinor;
+    }
+
+    /**
+     * Создаёт ингредиент с точной ценой в копейках.
+     *
+     * @param type       тип
+     * @param name       название
+     * @param priceMinor цена в копейках
+     * @return ингредиент
+     */
+    public static Ingredient ofMinor(IngredientType type, String name, long priceMinor) {
+        return new Ingredient(type, name, Money.toFloat(priceMinor), priceMinor);
     }
 
     public float getPrice() {
         return price;
     }
 
+    /**
+     * @return цена в копейках
+     */
+    public long getPriceMinor() {
+        return priceMinor;
+    }
+
     public String getName() {
         return name;
     }
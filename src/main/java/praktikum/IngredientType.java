@@ -1,5 +1,7 @@
 package praktikum;
 
+import java.util.Locale;
+
 /**
  * Перечисление с типами ингредиентов.
  * SAUCE – соус
@@ -7,5 +9,17 @@ package praktikum;
  */
 public enum IngredientType {
     SAUCE,
-    FILLING
-}
\ No newline at end of file
+    FILLING;
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Возвращает название типа в нижнем регистре для печати в чеке.
+     * Строка вычисляется один раз для каждого значения перечисления.
+     *
+     * @return название типа в нижнем регистре
+     */
+    public String getLabel() {
+        return label;
+    }
+}
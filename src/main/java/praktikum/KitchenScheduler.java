@@ -0,0 +1,314 @@
+package praktikum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик кухни, который готовит одинаковые слои нескольких заказов одной партией.
+ * <p>
+ * Одновременно в работе не больше {@code window} заказов, остальные ждут в очереди по порядку поступления.
+ * Каждый заказ в работе стоит в очереди ингредиента своего следующего слоя, поэтому порядок слоёв бургера
+ * сохраняется. Освободившийся гриль забирает очередь, где ждёт больше всего заказов, и готовит её одной партией,
+ * например все котлеты для следующих слоёв сразу. Очередь, которую обошли {@code window} раз подряд, берётся
+ * вне очереди, чтобы редкий ингредиент не задерживал заказ бесконечно.
+ * <p>
+ * Грили – потоки {@link ForkJoinPool} с кражей работы по числу станций. Готовка партии может блокироваться,
+ * поэтому идёт через {@link ForkJoinPool.ManagedBlocker}: пока гриль ждёт, пул может добавить поток взамен.
+ * Ингредиенты сравниваются по ссылке, как позиции одного каталога.
+ */
+public class KitchenScheduler implements AutoCloseable {
+
+    private static final String CANCELLED = "Кухня закрыта до готовности заказа";
+
+    /**
+     * Гриль, который готовит партию одного ингредиента.
+     */
+    @FunctionalInterface
+    public interface Grill {
+
+        /**
+         * Готовит партию. Вызывается из потока станции и может блокироваться на время готовки.
+         *
+         * @param ingredient ингредиент
+         * @param portions   число порций в партии
+         */
+        void cook(Ingredient ingredient, int portions);
+    }
+
+    private final int stations;
+    private final int window;
+    private final Grill grill;
+    private final ForkJoinPool pool;
+
+    private final ArrayDeque<Order> pending = new ArrayDeque<>();
+    private final Map<Ingredient, LayerQueue> waiting = new HashMap<>();
+    private int active;
+    private int cooking;
+    private boolean cancelled;
+    private long batches;
+    private long portions;
+
+    /**
+     * @param stations число грилей
+     * @param window   сколько заказов готовится одновременно и может попасть в одну партию
+     * @param grill    готовка партии
+     */
+    public KitchenScheduler(int stations, int window, Grill grill) {
+        if (stations < 1 || window < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один гриль и один заказ в работе");
+        }
+        this.stations = stations;
+        this.window = window;
+        this.grill = grill;
+        pool = new ForkJoinPool(stations);
+    }
+
+    /**
+     * Ставит готовый бургер в очередь кухни. Состав берётся на момент вызова.
+     *
+     * @param burger бургер
+     * @return завершается тем же бургером, когда приготовлен последний слой
+     */
+    public CompletableFuture<Burger> submit(Burger burger) {
+        Order order = new Order(burger, burger.ingredients.toArray(new Ingredient[0]));
+        List<Order> done = new ArrayList<>(1);
+        synchronized (this) {
+            if (pool.isShutdown()) {
+                throw new IllegalStateException("Кухня закрыта");
+            }
+            pending.addLast(order);
+            admit(done);
+            dispatch();
+        }
+        complete(done);
+        return order.future;
+    }
+
+    /**
+     * Число приготовленных партий.
+     */
+    public synchronized long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Число приготовленных слоёв во всех партиях.
+     */
+    public synchronized long getPortionCount() {
+        return portions;
+    }
+
+    /**
+     * Дожидается всех принятых заказов и останавливает грили.
+     * <p>
+     * Если поток прерван во время ожидания, заказы, которые ещё не на гриле, завершаются
+     * {@link CancellationException}, уже начатые партии доготавливаются без ожидания,
+     * а флаг прерывания восстанавливается.
+     */
+    @Override
+    public void close() {
+        List<Order> done = new ArrayList<>();
+        boolean interrupted = false;
+        synchronized (this) {
+            try {
+                while (active > 0 || !pending.isEmpty()) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                cancel(done);
+            }
+            pool.shutdown();
+        }
+        complete(done);
+
+        if (!interrupted) {
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Снимает с очереди все заказы, которые не готовятся сейчас. Заказы с гриля снимаются после своей партии.
+     */
+    private void cancel(List<Order> done) {
+        cancelled = true;
+        CancellationException error = new CancellationException(CANCELLED);
+        for (LayerQueue queue : waiting.values()) {
+            for (Order order : queue.orders) {
+                order.error = error;
+                active--;
+                done.add(order);
+            }
+        }
+        waiting.clear();
+        for (Order order : pending) {
+            order.error = error;
+            done.add(order);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Берёт в работу заказы из очереди, пока есть место в окне. Заказы без слоёв готовы сразу.
+     */
+    private void admit(List<Order> done) {
+        while (active < window && !pending.isEmpty()) {
+            Order order = pending.pollFirst();
+            if (order.layers.length == 0) {
+                done.add(order);
+            } else {
+                active++;
+                enqueue(order);
+            }
+        }
+    }
+
+    private void enqueue(Order order) {
+        waiting.computeIfAbsent(order.layers[order.next], ingredient -> new LayerQueue()).orders.addLast(order);
+    }
+
+    /**
+     * Раздаёт свободным грилям самые длинные очереди ингредиентов.
+     */
+    private void dispatch() {
+        while (cooking < stations && !waiting.isEmpty()) {
+            Map.Entry<Ingredient, LayerQueue> chosen = null;
+            for (Map.Entry<Ingredient, LayerQueue> entry : waiting.entrySet()) {
+                if (chosen == null || entry.getValue().before(chosen.getValue(), window)) {
+                    chosen = entry;
+                }
+            }
+            for (LayerQueue queue : waiting.values()) {
+                queue.skipped++;
+            }
+            waiting.remove(chosen.getKey());
+            cooking++;
+            pool.execute(new Batch(chosen.getKey(), chosen.getValue().orders));
+        }
+    }
+
+    private static void complete(List<Order> done) {
+        for (Order order : done) {
+            if (order.error == null) {
+                order.future.complete(order.burger);
+            } else {
+                order.future.completeExceptionally(order.error);
+            }
+        }
+    }
+
+    /**
+     * Заказ в работе: неизменяемый состав и номер следующего слоя.
+     */
+    private static final class Order {
+
+        private final Burger burger;
+        private final Ingredient[] layers;
+        private final CompletableFuture<Burger> future = new CompletableFuture<>();
+        private int next;
+        private Throwable error;
+
+        private Order(Burger burger, Ingredient[] layers) {
+            this.burger = burger;
+            this.layers = layers;
+        }
+    }
+
+    /**
+     * Заказы, которые ждут один и тот же ингредиент.
+     */
+    private static final class LayerQueue {
+
+        private final ArrayDeque<Order> orders = new ArrayDeque<>();
+        private int skipped;
+
+        /**
+         * Идёт ли эта очередь раньше {@code other}: сначала обойдённая слишком много раз, затем длинная.
+         */
+        private boolean before(LayerQueue other, int maxSkipped) {
+            boolean starving = skipped >= maxSkipped;
+            if (starving != other.skipped >= maxSkipped) {
+                return starving;
+            }
+            return starving ? skipped > other.skipped : orders.size() > other.orders.size();
+        }
+    }
+
+    /**
+     * Партия одного ингредиента на одном гриле.
+     */
+    private final class Batch implements Runnable, ForkJoinPool.ManagedBlocker {
+
+        private final Ingredient ingredient;
+        private final ArrayDeque<Order> orders;
+        private boolean cooked;
+
+        private Batch(Ingredient ingredient, ArrayDeque<Order> orders) {
+            this.ingredient = ingredient;
+            this.orders = orders;
+        }
+
+        @Override
+        public void run() {
+            Throwable error = null;
+            try {
+                ForkJoinPool.managedBlock(this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = e;
+            } catch (RuntimeException | Error e) {
+                error = e;
+            }
+
+            List<Order> done = new ArrayList<>();
+            synchronized (KitchenScheduler.this) {
+                cooking--;
+                batches++;
+                portions += orders.size();
+                for (Order order : orders) {
+                    order.error = error;
+                    if (error == null && ++order.next < order.layers.length) {
+                        if (!cancelled) {
+                            enqueue(order);
+                            continue;
+                        }
+                        order.error = new CancellationException(CANCELLED);
+                    }
+                    active--;
+                    done.add(order);
+                }
+                admit(done);
+                dispatch();
+                KitchenScheduler.this.notifyAll();
+            }
+            complete(done);
+        }
+
+        @Override
+        public boolean block() {
+            grill.cook(ingredient, orders.size());
+            cooked = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return cooked;
+        }
+    }
+
+}
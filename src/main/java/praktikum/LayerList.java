@@ -0,0 +1,322 @@
+package praktikum;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Список слоёв бургера на декартовом дереве по неявному ключу.
+ * Позиция элемента определяется размерами левых поддеревьев, поэтому вставка, удаление и доступ
+ * по индексу выполняются за O(log n) вместо сдвига хвоста массива, как в {@link java.util.ArrayList}.
+ * Индексы и исключения совпадают с {@link java.util.List}.
+ * <p>
+ * Дерево персистентное: узлы не меняются, а изменение копирует только узлы на пути от корня,
+ * остальные поддеревья общие со старой версией. Поэтому {@link #snapshot()} и {@link #restore}
+ * работают за O(1), а хранение старых версий стоит O(log n) памяти на каждое изменение.
+ */
+final class LayerList extends AbstractList<Ingredient> {
+
+    private Node root;
+
+    /**
+     * Состояние генератора приоритетов узлов (xorshift), без общего генератора и лишних объектов.
+     */
+    private int seed = 0x9E3779B9;
+
+    /**
+     * Результат последнего {@link #split}: левая и правая части дерева.
+     */
+    private Node splitLeft;
+    private Node splitRight;
+
+    @Override
+    public Ingredient get(int index) {
+        checkElementIndex(index);
+        return nodeAt(index).value;
+    }
+
+    @Override
+    public Ingredient set(int index, Ingredient element) {
+        checkElementIndex(index);
+        Ingredient previous = nodeAt(index).value;
+        root = replace(root, index, element);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public void add(int index, Ingredient element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException(outOfBoundsMessage(index));
+        }
+
+        split(root, index);
+        Node right = splitRight;
+        root = merge(merge(splitLeft, new Node(element, nextPriority(), null, null)), right);
+        modCount++;
+    }
+
+    @Override
+    public Ingredient remove(int index) {
+        checkElementIndex(index);
+
+        split(root, index);
+        Node left = splitLeft;
+        split(splitRight, 1);
+        Node removed = splitLeft;
+        root = merge(left, splitRight);
+        modCount++;
+        return removed.value;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Ingredient> iterator() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Возвращает текущую версию списка. Последующие изменения списка её не затрагивают.
+     *
+     * @return корень дерева текущей версии
+     */
+    Node snapshot() {
+        return root;
+    }
+
+    /**
+     * Возвращает список к версии, полученной из {@link #snapshot()}.
+     *
+     * @param snapshot версия этого или другого списка слоёв
+     */
+    void restore(Node snapshot) {
+        root = snapshot;
+        modCount++;
+    }
+
+    private Node nodeAt(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Копирует путь до элемента с индексом {@code index}, заменяя его значение.
+     */
+    private static Node replace(Node node, int index, Ingredient element) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return node.with(replace(node.left, index, element), node.right);
+        }
+        if (index > leftSize) {
+            return node.with(node.left, replace(node.right, index - leftSize - 1, element));
+        }
+        return new Node(element, node.priority, node.left, node.right);
+    }
+
+    /**
+     * Делит дерево на первые {@code count} элементов и остальные, результат кладёт в {@link #splitLeft}
+     * и {@link #splitRight}. Исходное дерево не меняется.
+     */
+    private void split(Node node, int count) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+
+        int leftSize = size(node.left);
+        if (count <= leftSize) {
+            split(node.left, count);
+            splitRight = node.with(splitRight, node.right);
+        } else {
+            split(node.right, count - leftSize - 1);
+            splitLeft = node.with(node.left, splitLeft);
+        }
+    }
+
+    /**
+     * Склеивает два дерева, все элементы {@code left} идут перед элементами {@code right}.
+     * Исходные деревья не меняются.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(outOfBoundsMessage(index));
+        }
+    }
+
+    private String outOfBoundsMessage(int index) {
+        return "Index: " + index + ", Size: " + size();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Неизменяемый узел дерева, одновременно версия поддерева.
+     */
+    static final class Node {
+
+        private final Ingredient value;
+        private final int priority;
+        private final int size;
+        private final Node left;
+        private final Node right;
+
+        private Node(Ingredient value, int priority, Node left, Node right) {
+            this.value = value;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            size = 1 + LayerList.size(left) + LayerList.size(right);
+        }
+
+        /**
+         * Копия узла с другими поддеревьями.
+         */
+        private Node with(Node left, Node right) {
+            return new Node(value, priority, left, right);
+        }
+    }
+
+    /**
+     * Обход дерева слева направо за O(1) в среднем на элемент вместо O(log n) на каждый {@link #get}.
+     */
+    private final class InOrderIterator implements Iterator<Ingredient> {
+
+        private Node[] stack = new Node[16];
+        private int depth;
+        private int index;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+        private Node expectedRoot = root;
+
+        private InOrderIterator() {
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        public Ingredient next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (depth == 0) {
+                throw new NoSuchElementException();
+            }
+            if (root != expectedRoot) {
+                // Замена элемента через set скопировала путь в дереве, стек указывает на старые узлы
+                reset();
+            }
+
+            Node node = stack[--depth];
+            pushLeft(node.right);
+            index++;
+            canRemove = true;
+            return node.value;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            LayerList.this.remove(--index);
+            canRemove = false;
+            expectedModCount = modCount;
+            // После удаления дерево перестроено, поэтому путь до следующего элемента строится заново
+            reset();
+        }
+
+        private void reset() {
+            depth = 0;
+            expectedRoot = root;
+            descendTo(index);
+        }
+
+        private void pushLeft(Node node) {
+            for (; node != null; node = node.left) {
+                push(node);
+            }
+        }
+
+        /**
+         * Кладёт в стек путь к элементу с индексом {@code target} так, чтобы он был следующим.
+         */
+        private void descendTo(int target) {
+            Node node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (target < leftSize) {
+                    push(node);
+                    node = node.left;
+                } else if (target == leftSize) {
+                    push(node);
+                    return;
+                } else {
+                    target -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        private void push(Node node) {
+            if (depth == stack.length) {
+                Node[] grown = new Node[depth * 2];
+                System.arraycopy(stack, 0, grown, 0, depth);
+                stack = grown;
+            }
+            stack[depth++] = node;
+        }
+    }
+
+}
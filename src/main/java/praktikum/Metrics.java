@@ -0,0 +1,129 @@
+package praktikum;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики горячих операций {@link Burger} и {@link Database}.
+ * <p>
+ * Сбор включается системным свойством {@code -Dpraktikum.metrics=true}. Флаг – статическая константа,
+ * поэтому в выключенном состоянии JIT выбрасывает проверки и замеры из кода операций целиком.
+ * Во включённом состоянии запись вызова не создаёт объектов.
+ * Метрики доступны через JMX ({@link #registerMBeans()}) и через {@link MetricsReporter}.
+ */
+public final class Metrics {
+
+    /**
+     * Включён ли сбор метрик в этом процессе.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("praktikum.metrics");
+
+    private static final Map<Operation, OperationMetrics> OPERATIONS = new EnumMap<>(Operation.class);
+
+    static {
+        for (Operation operation : Operation.values()) {
+            OPERATIONS.put(operation, new OperationMetrics(operation));
+        }
+    }
+
+    /**
+     * Операции, для которых собираются метрики.
+     */
+    public enum Operation {
+        SET_BUNS,
+        ADD_INGREDIENT,
+        REMOVE_INGREDIENT,
+        MOVE_INGREDIENT,
+        GET_PRICE,
+        GET_RECEIPT,
+        DATABASE_RELOAD
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Начинает замер операции.
+     *
+     * @return момент начала или 0, если метрики выключены
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Завершает замер операции, начатый {@link #start()}.
+     *
+     * @param operation операция
+     * @param start     момент начала
+     */
+    static void record(Operation operation, long start) {
+        if (ENABLED) {
+            OPERATIONS.get(operation).record(System.nanoTime() - start);
+        }
+    }
+
+    public static OperationMetrics of(Operation operation) {
+        return OPERATIONS.get(operation);
+    }
+
+    /**
+     * Передаёт снимок метрик всех операций получателю.
+     *
+     * @param reporter получатель снимка
+     */
+    public static void report(MetricsReporter reporter) {
+        List<OperationSnapshot> snapshots = new ArrayList<>(OPERATIONS.size());
+        for (OperationMetrics metrics : OPERATIONS.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        reporter.report(snapshots);
+    }
+
+    /**
+     * Периодически передаёт снимок метрик получателю.
+     *
+     * @param reporter получатель снимков
+     * @param executor планировщик
+     * @param period   период отправки
+     * @param unit     единица измерения периода
+     * @return задача отправки, которую можно отменить
+     */
+    public static ScheduledFuture<?> schedule(MetricsReporter reporter, ScheduledExecutorService executor,
+                                              long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(() -> report(reporter), period, period, unit);
+    }
+
+    /**
+     * Регистрирует метрики в платформенном MBean-сервере под именами
+     * {@code praktikum:type=Metrics,operation=<операция>}.
+     *
+     * @throws JMException если регистрация не удалась
+     */
+    public static void registerMBeans() throws JMException {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    static void registerMBeans(MBeanServer server) throws JMException {
+        for (Map.Entry<Operation, OperationMetrics> entry : OPERATIONS.entrySet()) {
+            ObjectName name = objectName(entry.getKey());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(entry.getValue(), name);
+            }
+        }
+    }
+
+    static ObjectName objectName(Operation operation) throws JMException {
+        return new ObjectName("praktikum:type=Metrics,operation=" + operation.name());
+    }
+
+}
@@ -0,0 +1,19 @@
+package praktikum;
+
+import java.util.List;
+
+/**
+ * Получатель снимков метрик, например запись в лог или отправка в систему мониторинга.
+ *
+ * @see Metrics#report(MetricsReporter)
+ */
+@FunctionalInterface
+public interface MetricsReporter {
+
+    /**
+     * Принимает снимок метрик всех операций.
+     *
+     * @param snapshots метрики операций в порядке {@link Metrics.Operation}
+     */
+    void report(List<OperationSnapshot> snapshots);
+}
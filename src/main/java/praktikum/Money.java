@@ -0,0 +1,199 @@
+package praktikum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Денежные суммы как {@code long} в копейках.
+ * <p>
+ * Сложение копеек точное, поэтому итог по миллионам слоёв и заказов не накапливает ошибку, как сумма
+ * {@code float}. Суммы не упаковываются в объекты: методы работают с примитивами и печатают
+ * в {@link Appendable} без промежуточных строк. Переполнение {@code long} – {@link ArithmeticException},
+ * а не тихий перенос знака. {@code float} остаётся только на границе со старым API: {@link #fromFloat}
+ * и {@link #toFloat}.
+ */
+public final class Money {
+
+    /**
+     * Копеек в рубле.
+     */
+    public static final long MINOR_PER_MAJOR = 100;
+
+    /**
+     * Знаков после запятой в сумме.
+     */
+    public static final int FRACTION_DIGITS = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Переводит цену из рублей в копейки с округлением до ближайшей копейки.
+     *
+     * @param amount цена в рублях
+     * @return цена в копейках
+     */
+    public static long fromFloat(float amount) {
+        return Math.round(amount * (double) MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Ближайший к сумме {@code float} для совместимости с {@link Burger#getPrice()}.
+     *
+     * @param minor сумма в копейках
+     * @return сумма в рублях
+     */
+    public static float toFloat(long minor) {
+        return (float) (minor / (double) MINOR_PER_MAJOR);
+    }
+
+    /**
+     * @param major сумма в целых рублях
+     * @return сумма в копейках
+     * @throws ArithmeticException если сумма не помещается в {@code long}
+     */
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    /**
+     * @throws ArithmeticException если сумма не помещается в {@code long}
+     */
+    public static long add(long minor, long other) {
+        return Math.addExact(minor, other);
+    }
+
+    /**
+     * @throws ArithmeticException если разность не помещается в {@code long}
+     */
+    public static long subtract(long minor, long other) {
+        return Math.subtractExact(minor, other);
+    }
+
+    /**
+     * Стоимость {@code count} одинаковых позиций.
+     *
+     * @throws ArithmeticException если сумма не помещается в {@code long}
+     */
+    public static long multiply(long minor, long count) {
+        return Math.multiplyExact(minor, count);
+    }
+
+    /**
+     * Складывает суммы из массива.
+     *
+     * @param amounts суммы в копейках
+     * @return итог в копейках
+     * @throws ArithmeticException если итог не помещается в {@code long}
+     */
+    public static long sum(long[] amounts) {
+        long total = 0;
+        for (long amount : amounts) {
+            total = Math.addExact(total, amount);
+        }
+        return total;
+    }
+
+    /**
+     * Точно разбирает сумму в рублях: необязательный минус, цифры и не больше двух цифр после точки,
+     * например {@code 12}, {@code 12.5} или {@code -0.05}.
+     *
+     * @param text сумма
+     * @return сумма в копейках
+     * @throws NumberFormatException если текст не сумма или в нём больше двух знаков после точки
+     */
+    public static long parse(CharSequence text) {
+        int length = text.length();
+        int i = length > 0 && text.charAt(0) == '-' ? 1 : 0;
+        boolean negative = i == 1;
+        long major = 0;
+        int digits = 0;
+        for (; i < length && text.charAt(i) != '.'; i++, digits++) {
+            major = Math.addExact(Math.multiplyExact(major, 10), digit(text, i));
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < length) {
+            for (i++; i < length; i++, fractionDigits++) {
+                if (fractionDigits == FRACTION_DIGITS) {
+                    throw new NumberFormatException("Больше " + FRACTION_DIGITS + " знаков после точки: " + text);
+                }
+                fraction = fraction * 10 + digit(text, i);
+            }
+        }
+        if (digits + fractionDigits == 0) {
+            throw new NumberFormatException("Нет цифр в сумме: " + text);
+        }
+        for (; fractionDigits < FRACTION_DIGITS; fractionDigits++) {
+            fraction *= 10;
+        }
+
+        long minor = Math.addExact(ofMajor(major), fraction);
+        return negative ? -minor : minor;
+    }
+
+    /**
+     * Печатает сумму с точкой и двумя знаками после неё, например {@code -12.05}, без промежуточных объектов.
+     *
+     * @param out   куда печатать
+     * @param minor сумма в копейках
+     * @throws IOException если {@code out} не смог принять символы
+     */
+    public static void appendTo(Appendable out, long minor) throws IOException {
+        appendTo(out, minor, '0', '.', FRACTION_DIGITS);
+    }
+
+    /**
+     * Сумма для журналов и отчётов в формате {@link #appendTo(Appendable, long)}.
+     */
+    public static String toString(long minor) {
+        StringBuilder text = new StringBuilder(24);
+        try {
+            appendTo(text, minor);
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Печатает сумму цифрами локали. Знаки после двух копеечных дополняются нулями,
+     * как в {@code %f}, который печатает шесть знаков.
+     */
+    static void appendTo(Appendable out, long minor, char zeroDigit, char decimalSeparator, int fractionDigits)
+            throws IOException {
+        // Модуль считается после деления, поэтому Long.MIN_VALUE не переполняется
+        long major = Math.abs(minor / MINOR_PER_MAJOR);
+        long fraction = Math.abs(minor % MINOR_PER_MAJOR);
+        if (minor < 0) {
+            out.append('-');
+        }
+        appendDigits(out, major, zeroDigit);
+        out.append(decimalSeparator);
+        out.append((char) (zeroDigit + fraction / 10)).append((char) (zeroDigit + fraction % 10));
+        for (int i = FRACTION_DIGITS; i < fractionDigits; i++) {
+            out.append(zeroDigit);
+        }
+    }
+
+    private static void appendDigits(Appendable out, long value, char zeroDigit) throws IOException {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) (zeroDigit + value / divisor % 10));
+        }
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Неверная сумма: " + text);
+        }
+        return c - '0';
+    }
+
+}
@@ -0,0 +1,140 @@
+package praktikum;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики и гистограмма времени одной операции.
+ * Количество вызовов и суммарное время – полосатые {@link LongAdder}, поэтому потоки не спорят за одну ячейку.
+ * Гистограмма устроена как в HdrHistogram: степени двойки делятся на 32 линейных интервала,
+ * так что любое значение попадает в интервал шириной не больше 1/32 от самого значения.
+ * Запись не создаёт объектов.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = Long.SIZE - SUB_BUCKET_BITS;
+
+    private final Metrics.Operation operation;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS * SUB_BUCKETS);
+
+    OperationMetrics(Metrics.Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Учитывает один вызов операции.
+     *
+     * @param nanos длительность вызова
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        count.increment();
+        totalNanos.add(value);
+        histogram.incrementAndGet(indexOf(value));
+
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        long calls = count.sum();
+        return calls == 0 ? 0 : (double) totalNanos.sum() / calls;
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(0.50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int i = 0; i < histogram.length(); i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * Возвращает значение, не меньше которого нет доли {@code quantile} вызовов.
+     * Результат – верхняя граница интервала гистограммы.
+     *
+     * @param quantile доля от 0 до 1
+     * @return длительность в наносекундах или 0, если вызовов не было
+     */
+    public long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            total += histogram.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public OperationSnapshot snapshot() {
+        return new OperationSnapshot(operation, getCount(), getTotalNanos(), getP50Nanos(), getP99Nanos(),
+                getMaxNanos());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int bucket = highestBit - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return bucket * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueAt(int index) {
+        int bucket = index / SUB_BUCKETS;
+        int subBucket = index % SUB_BUCKETS;
+        if (bucket == 0) {
+            return subBucket;
+        }
+        long lowest = (long) (SUB_BUCKETS + subBucket) << (bucket - 1);
+        return lowest + (1L << (bucket - 1)) - 1;
+    }
+
+}
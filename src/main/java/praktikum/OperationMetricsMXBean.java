@@ -0,0 +1,22 @@
+package praktikum;
+
+/**
+ * JMX интерфейс метрик одной операции.
+ * Значения времени – в наносекундах, перцентили считаются по гистограмме с точностью около 3%.
+ */
+public interface OperationMetricsMXBean {
+
+    long getCount();
+
+    long getTotalNanos();
+
+    double getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP99Nanos();
+
+    long getMaxNanos();
+
+    void reset();
+}
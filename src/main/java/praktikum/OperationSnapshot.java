@@ -0,0 +1,55 @@
+package praktikum;
+
+/**
+ * Неизменяемый снимок метрик одной операции для {@link MetricsReporter}.
+ */
+public final class OperationSnapshot {
+
+    private final Metrics.Operation operation;
+    private final long count;
+    private final long totalNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    OperationSnapshot(Metrics.Operation operation, long count, long totalNanos, long p50Nanos, long p99Nanos,
+                      long maxNanos) {
+        this.operation = operation;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public Metrics.Operation getOperation() {
+        return operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": count=" + count + ", p50=" + p50Nanos + "ns, p99=" + p99Nanos
+                + "ns, max=" + maxNanos + "ns";
+    }
+
+}
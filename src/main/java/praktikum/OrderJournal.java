@@ -0,0 +1,472 @@
+package praktikum;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Журнал заказов только на дозапись, хранящийся в отображённых в память файлах.
+ * <p>
+ * Журнал – каталог с сегментами {@code orders-<номер>.log} фиксированного размера. Сегмент начинается
+ * с заголовка: метка, версия формата и отпечаток каталога ({@link Catalog#fingerprint()}). Запись в сегменте –
+ * длина (int), контрольная сумма CRC32C (int), заказ в формате {@link BurgerCodec} и взятая за него сумма
+ * в копейках (varint): всего и по каждому типу ингредиентов. Длина пишется последней, поэтому оборванная запись
+ * читается как конец журнала. Когда место в сегменте заканчивается, он сбрасывается на диск и открывается
+ * следующий.
+ * <p>
+ * {@link #append} только кладёт запись в память. Долговечность даёт {@link #commit(long)}: один поток
+ * сбрасывает сегмент на диск для всех записей, добавленных к этому моменту, а остальные потоки, ждавшие
+ * на том же сбросе, возвращаются без нового {@code fsync}.
+ * <p>
+ * При открытии журнал читается подряд и восстанавливает {@link Aggregates}: число заказов по булочкам
+ * и выручку по типам ингредиентов. Выручка складывается из сумм, записанных вместе с заказами, а не из текущих
+ * цен. Дальше агрегаты обновляются при каждой записи. Идентификаторы позиций имеют смысл только для того меню,
+ * по которому записаны заказы, поэтому сегмент с другим отпечатком каталога при открытии считается ошибкой.
+ */
+public class OrderJournal implements Closeable {
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final int SEGMENT_HEADER_BYTES = 3 * Integer.BYTES;
+
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final int SEGMENT_MAGIC = 0x0DE5106A;
+    private static final int SEGMENT_FORMAT = 1;
+    private static final IngredientType[] TYPES = IngredientType.values();
+    /**
+     * Сумма заказа и суммы по типам ингредиентов, по varint не длиннее десяти байт.
+     */
+    private static final int CHARGE_BYTES = 10 * (1 + TYPES.length);
+
+    private final Path directory;
+    private final Catalog catalog;
+    private final int segmentSize;
+    private final Aggregates aggregates;
+    private final CRC32C crc = new CRC32C();
+    private final long[] chargeByType = new long[TYPES.length];
+    private final Object flushLock = new Object();
+
+    private long segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private ByteBuffer crcView;
+    private boolean closed;
+
+    private long appended;
+    private volatile long durable;
+
+    private OrderJournal(Path directory, Catalog catalog, int segmentSize) {
+        this.directory = directory;
+        this.catalog = catalog;
+        this.segmentSize = segmentSize;
+        this.aggregates = new Aggregates(catalog);
+    }
+
+    /**
+     * Открывает журнал в каталоге и восстанавливает агрегаты из всех его сегментов.
+     *
+     * @param directory каталог журнала, создаётся при необходимости
+     * @param catalog   каталог позиций, по которому записаны заказы
+     * @return журнал, готовый к дозаписи
+     * @throws IOException если журнал не удалось прочитать или в нём есть повреждённые записи
+     */
+    public static OrderJournal open(Path directory, Catalog catalog) throws IOException {
+        return open(directory, catalog, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static OrderJournal open(Path directory, Catalog catalog, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        OrderJournal journal = new OrderJournal(directory, catalog, segmentSize);
+        journal.replay();
+        return journal;
+    }
+
+    /**
+     * Добавляет заказ в журнал. Запись попадёт на диск после {@link #commit(long)}.
+     *
+     * @param burger бургер из позиций каталога журнала
+     * @return порядковый номер записи, начиная с 1
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     * @throws IOException              если не удалось открыть следующий сегмент
+     */
+    public synchronized long append(Burger burger) throws IOException {
+        int position = reserve(burger.ingredients.size());
+        segment.position(position + HEADER_BYTES);
+        try {
+            BurgerCodec.encode(catalog, burger, segment);
+            writeCharge(burger.bun, burger.ingredients);
+        } catch (RuntimeException e) {
+            // Кодек мог успеть записать часть идентификаторов: затираем их, чтобы не оставлять мусор за концом
+            for (int i = position, end = position + HEADER_BYTES + recordLength(burger.ingredients.size());
+                 i < end; i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.position(position);
+            throw e;
+        }
+        return complete(position);
+    }
+
+    /**
+     * Добавляет компактную запись заказа в журнал.
+     *
+     * @param record запись бургера по каталогу журнала
+     * @return порядковый номер записи, начиная с 1
+     * @throws IOException если не удалось открыть следующий сегмент
+     */
+    public synchronized long append(BurgerRecord record) throws IOException {
+        if (record.catalog() != catalog) {
+            throw new IllegalArgumentException("Запись относится к другому каталогу");
+        }
+        int position = reserve(record.size());
+        segment.position(position + HEADER_BYTES);
+        BurgerCodec.encode(record, segment);
+        writeCharge(record.bun(), record.ingredients());
+        return complete(position);
+    }
+
+    /**
+     * Ждёт, пока запись с данным номером и все предыдущие окажутся на диске.
+     * Сброс выполняет один поток за всех, кто ждёт в этот момент.
+     *
+     * @param sequence номер записи из {@link #append}
+     */
+    public void commit(long sequence) {
+        if (durable >= sequence) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            long target;
+            MappedByteBuffer current;
+            synchronized (this) {
+                target = appended;
+                current = segment;
+            }
+            if (current != null) {
+                current.force();
+            }
+            durable = target;
+        }
+    }
+
+    /**
+     * Возвращает снимок агрегатов по всем записям журнала.
+     */
+    public synchronized Aggregates aggregates() {
+        return aggregates.copy();
+    }
+
+    /**
+     * Число записей в журнале, включая прочитанные при открытии.
+     */
+    public synchronized long size() {
+        return appended;
+    }
+
+    /**
+     * Сбрасывает журнал на диск и закрывает его.
+     */
+    @Override
+    public void close() throws IOException {
+        long last;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            last = appended;
+        }
+        commit(last);
+        synchronized (this) {
+            closed = true;
+            segment = null;
+            crcView = null;
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Возвращает позицию для новой записи, при нехватке места открывая следующий сегмент.
+     */
+    private int reserve(int layers) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Журнал закрыт");
+        }
+        int needed = HEADER_BYTES + recordLength(layers);
+        if (SEGMENT_HEADER_BYTES + needed > segmentSize) {
+            throw new IllegalArgumentException("Заказ не помещается в сегмент: " + layers + " слоёв");
+        }
+        if (segment == null || segment.position() + needed > segmentSize) {
+            if (segment != null) {
+                segment.force();
+                channel.close();
+            }
+            openSegment(segmentIndex + 1);
+        }
+        return segment.position();
+    }
+
+    private static int recordLength(int layers) {
+        return BurgerCodec.maxEncodedLength(layers) + CHARGE_BYTES;
+    }
+
+    /**
+     * Дописывает за заказом взятую за него сумму по ценам позиций бургера на момент записи.
+     */
+    private void writeCharge(Bun bun, List<Ingredient> ingredients) {
+        Arrays.fill(chargeByType, 0);
+        long total = Money.multiply(bun.getPriceMinor(), 2);
+        for (Ingredient ingredient : ingredients) {
+            int type = ingredient.getType().ordinal();
+            chargeByType[type] = Money.add(chargeByType[type], ingredient.getPriceMinor());
+            total = Money.add(total, ingredient.getPriceMinor());
+        }
+        BurgerCodec.writeVarint(segment, total);
+        for (long charge : chargeByType) {
+            BurgerCodec.writeVarint(segment, charge);
+        }
+    }
+
+    /**
+     * Дописывает заголовок записи, занимающей место от {@code position} до текущей позиции сегмента,
+     * и учитывает её в агрегатах.
+     */
+    private long complete(int position) {
+        int end = segment.position();
+        int length = end - position - HEADER_BYTES;
+        segment.putInt(position + Integer.BYTES, checksum(position + HEADER_BYTES, end));
+        segment.putInt(position, length);
+        aggregates.apply(catalog, segment, position + HEADER_BYTES);
+        return ++appended;
+    }
+
+    private int checksum(int from, int to) {
+        crcView.clear();
+        crcView.limit(to).position(from);
+        crc.reset();
+        crc.update(crcView);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Открывает сегмент: новому пишет заголовок, у существующего проверяет его.
+     */
+    private void openSegment(long index) throws IOException {
+        channel = FileChannel.open(directory.resolve(segmentName(index)), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        crcView = segment.duplicate();
+        segmentIndex = index;
+
+        int magic = segment.getInt(0);
+        String error = null;
+        if (magic == 0) {
+            // Метка пишется последней, как и длина записи: сегмент с оборванным заголовком остаётся пустым
+            segment.putInt(Integer.BYTES, SEGMENT_FORMAT).putInt(2 * Integer.BYTES, catalog.fingerprint());
+            segment.putInt(0, SEGMENT_MAGIC);
+        } else if (magic != SEGMENT_MAGIC || segment.getInt(Integer.BYTES) != SEGMENT_FORMAT) {
+            error = "не сегмент журнала заказов или неизвестный формат";
+        } else if (segment.getInt(2 * Integer.BYTES) != catalog.fingerprint()) {
+            error = "заказы записаны для другого меню, отпечаток "
+                    + Integer.toHexString(segment.getInt(2 * Integer.BYTES)) + ", у текущего "
+                    + Integer.toHexString(catalog.fingerprint());
+        }
+        if (error != null) {
+            channel.close();
+            throw new IOException(segmentName(index) + ": " + error);
+        }
+        segment.position(SEGMENT_HEADER_BYTES);
+    }
+
+    /**
+     * Читает все сегменты подряд. Последний сегмент остаётся открытым для дозаписи.
+     */
+    private void replay() throws IOException {
+        List<Long> indexes = segmentIndexes(directory);
+        for (int i = 0; i < indexes.size(); i++) {
+            if (channel != null) {
+                channel.close();
+            }
+            openSegment(indexes.get(i));
+            boolean last = i == indexes.size() - 1;
+            replaySegment(last);
+        }
+        durable = appended;
+    }
+
+    private void replaySegment(boolean last) throws IOException {
+        int position = SEGMENT_HEADER_BYTES;
+        while (position + HEADER_BYTES <= segmentSize) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            int end = position + HEADER_BYTES + length;
+            if (length < 0 || end > segmentSize
+                    || checksum(position + HEADER_BYTES, end) != segment.getInt(position + Integer.BYTES)) {
+                if (!last) {
+                    throw new IOException("Повреждена запись в сегменте " + segmentName(segmentIndex)
+                            + " на позиции " + position);
+                }
+                // Оборванная последняя запись: затираем хвост, чтобы дозапись начиналась с чистого места
+                for (int i = position; i < segmentSize && i < end; i++) {
+                    segment.put(i, (byte) 0);
+                }
+                break;
+            }
+
+            try {
+                aggregates.apply(catalog, segment, position + HEADER_BYTES);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Не удалось прочитать запись в сегменте " + segmentName(segmentIndex)
+                        + " на позиции " + position, e);
+            }
+            appended++;
+            position = end;
+        }
+        segment.position(position);
+    }
+
+    static List<Long> segmentIndexes(Path directory) throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    static String segmentName(long index) {
+        return String.format("%s%020d%s", PREFIX, index, SUFFIX);
+    }
+
+    /**
+     * Агрегаты по заказам журнала: число заказов по булочкам и выручка в копейках.
+     * Выручка берётся из сумм, записанных вместе с заказами, поэтому не зависит от нынешних цен каталога.
+     */
+    public static final class Aggregates {
+
+        private final int ingredientCount;
+
+        private long orders;
+        private long revenueCents;
+        private final long[] ordersByBun;
+        private final long[] revenueCentsByType;
+
+        /**
+         * Позиция чтения внутри {@link #apply}.
+         */
+        private int cursor;
+
+        private Aggregates(Catalog catalog) {
+            ingredientCount = catalog.ingredients().size();
+            ordersByBun = new long[catalog.buns().size()];
+            revenueCentsByType = new long[TYPES.length];
+        }
+
+        private Aggregates(Aggregates source) {
+            ingredientCount = source.ingredientCount;
+            orders = source.orders;
+            revenueCents = source.revenueCents;
+            ordersByBun = source.ordersByBun.clone();
+            revenueCentsByType = source.revenueCentsByType.clone();
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        /**
+         * Выручка по всем заказам, включая булочки.
+         */
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+
+        public long getOrdersOfBun(int bunId) {
+            return ordersByBun[bunId];
+        }
+
+        /**
+         * Выручка по ингредиентам одного типа.
+         */
+        public long getRevenueCents(IngredientType type) {
+            return revenueCentsByType[type.ordinal()];
+        }
+
+        private Aggregates copy() {
+            return new Aggregates(this);
+        }
+
+        /**
+         * Учитывает запись журнала, заказ которой начинается с позиции {@code position} буфера.
+         * Читает по абсолютным позициям, не создавая бургер и не двигая позицию буфера.
+         */
+        private void apply(Catalog catalog, ByteBuffer buffer, int position) {
+            cursor = position;
+            if (readFingerprint(buffer) != catalog.fingerprint()) {
+                throw new IllegalArgumentException("Заказ записан для другого каталога");
+            }
+            int bunId = readId(buffer, ordersByBun.length);
+            for (int i = readId(buffer, Integer.MAX_VALUE); i > 0; i--) {
+                readId(buffer, ingredientCount);
+            }
+            long charged = readVarint(buffer);
+            for (int type = 0; type < revenueCentsByType.length; type++) {
+                revenueCentsByType[type] = Money.add(revenueCentsByType[type], readVarint(buffer));
+            }
+            ordersByBun[bunId]++;
+            revenueCents = Money.add(revenueCents, charged);
+            orders++;
+        }
+
+        private int readId(ByteBuffer buffer, int size) {
+            long id = readVarint(buffer);
+            if (id < 0 || id >= size) {
+                throw new IllegalArgumentException("Нет позиции с идентификатором " + id);
+            }
+            return (int) id;
+        }
+
+        private int readFingerprint(ByteBuffer buffer) {
+            int fingerprint = 0;
+            for (int i = 0; i < Integer.BYTES; i++) {
+                fingerprint |= (buffer.get(cursor++) & 0xFF) << (8 * i);
+            }
+            return fingerprint;
+        }
+
+        private long readVarint(ByteBuffer buffer) {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = buffer.get(cursor++);
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Повреждённое число в записи");
+        }
+    }
+
+}
@@ -0,0 +1,330 @@
+package praktikum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Потоковая обработка файла заказов.
+ * <p>
+ * Каждая строка входного файла – один заказ: название булочки и названия ингредиентов через запятую.
+ * Файл читается окнами через {@link FileChannel#map}, строки собираются в пакеты, пакеты разбираются
+ * и считаются параллельно, а чеки пишутся в выходной файл в исходном порядке.
+ * Одновременно в работе не больше {@code 2 * threads} пакетов: если запись отстаёт, чтение ждёт,
+ * поэтому память не зависит от размера входного файла.
+ * <p>
+ * Строки с неизвестными позициями не прерывают обработку: в выходной файл пишется сообщение об ошибке,
+ * а строка учитывается в {@link Summary#getRejected()}.
+ */
+public class OrderPipeline {
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Database database;
+    private final int threads;
+    private final int batchSize;
+    private final int windowSize;
+
+    public OrderPipeline(Database database, int threads) {
+        this(database, threads, DEFAULT_BATCH_SIZE, DEFAULT_WINDOW_SIZE);
+    }
+
+    OrderPipeline(Database database, int threads, int batchSize, int windowSize) {
+        this.database = database;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Обрабатывает файл заказов: {@code OrderPipeline <заказы> <чеки> [потоки] [меню]}.
+     * Меню, как и в {@link Praktikum}, – CSV файл или снимок каталога; без него берётся меню из кода.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Database database = args.length > 3 ? new Database(Paths.get(args[3])) : new Database();
+        Summary summary = new OrderPipeline(database, threads).run(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println(summary);
+    }
+
+    /**
+     * Читает заказы из {@code input} и пишет чеки в {@code output}.
+     * Все заказы разбираются по одной версии каталога, взятой в начале обработки.
+     *
+     * @param input  файл заказов в UTF-8
+     * @param output файл для чеков, перезаписывается
+     * @return итоги обработки
+     * @throws IOException          если файл не удалось прочитать или записать
+     * @throws InterruptedException если поток был прерван во время ожидания пакетов
+     */
+    public Summary run(Path input, Path output) throws IOException, InterruptedException {
+        Catalog catalog = database.catalog();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<BatchResult>> inFlight = new ArrayDeque<>();
+        Summary summary = new Summary();
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            LineReader reader = new LineReader(in, windowSize);
+            long lineNumber = 0;
+            List<String> batch = new ArrayList<>(batchSize);
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                batch.add(line);
+                if (batch.size() == batchSize) {
+                    submit(executor, inFlight, catalog, batch, lineNumber);
+                    lineNumber += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                    if (inFlight.size() >= 2 * threads) {
+                        write(inFlight.removeFirst(), out, summary);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(executor, inFlight, catalog, batch, lineNumber);
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst(), out, summary);
+            }
+            writeFully(out, summary.toString() + LINE_SEPARATOR);
+        } finally {
+            for (Future<BatchResult> future : inFlight) {
+                future.cancel(true);
+            }
+            executor.shutdownNow();
+        }
+        return summary;
+    }
+
+    private static void submit(ExecutorService executor, ArrayDeque<Future<BatchResult>> inFlight, Catalog catalog,
+                               List<String> lines, long firstLineNumber) {
+        inFlight.addLast(executor.submit(() -> process(catalog, lines, firstLineNumber)));
+    }
+
+    private static void write(Future<BatchResult> future, FileChannel out, Summary summary)
+            throws IOException, InterruptedException {
+        BatchResult result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Не удалось обработать пакет заказов", e.getCause());
+        }
+        writeFully(out, result.text);
+        summary.add(result);
+    }
+
+    private static void writeFully(FileChannel out, String text) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Разбирает и считает пакет строк. Выполняется в потоке пула.
+     */
+    static BatchResult process(Catalog catalog, List<String> lines, long firstLineNumber) {
+        BatchResult result = new BatchResult();
+        StringBuilder text = new StringBuilder(lines.size() * ReceiptRenderer.estimateLength(4));
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            Burger burger = new Burger();
+            String error = parse(catalog, line, burger);
+            if (error != null) {
+                result.rejected++;
+                text.append("! Строка ").append(firstLineNumber + i + 1).append(": ").append(error)
+                        .append(LINE_SEPARATOR).append(LINE_SEPARATOR);
+                continue;
+            }
+
+            result.orders++;
+            result.totalCents = Money.add(result.totalCents, burger.getPriceMinor());
+            burger.appendReceipt(text).append(LINE_SEPARATOR);
+        }
+
+        result.text = text.toString();
+        return result;
+    }
+
+    /**
+     * Собирает бургер по строке заказа: название булочки и названия ингредиентов через запятую.
+     *
+     * @return описание ошибки или {@code null}, если строка разобрана
+     */
+    static String parse(Catalog catalog, String line, Burger burger) {
+        int start = 0;
+        boolean first = true;
+        while (start <= line.length()) {
+            int end = line.indexOf(',', start);
+            if (end < 0) {
+                end = line.length();
+            }
+            String name = line.substring(start, end).trim();
+            start = end + 1;
+
+            if (first) {
+                Bun bun = catalog.bunByName(name);
+                if (bun == null) {
+                    return "неизвестная булочка: " + name;
+                }
+                burger.setBuns(bun);
+                first = false;
+            } else {
+                Ingredient ingredient = catalog.ingredientByName(name);
+                if (ingredient == null) {
+                    return "неизвестный ингредиент: " + name;
+                }
+                burger.addIngredient(ingredient);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Чтение строк UTF-8 из файла окнами, отображёнными в память.
+     * Строка, разрезанная границей окна, перечитывается в начале следующего окна.
+     */
+    static final class LineReader {
+
+        private final FileChannel channel;
+        private final long fileSize;
+        private final int windowSize;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private byte[] lineBytes = new byte[256];
+
+        LineReader(FileChannel channel, int windowSize) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            this.windowSize = windowSize;
+        }
+
+        /**
+         * Возвращает следующую строку без перевода строки или {@code null} в конце файла.
+         */
+        String readLine() throws IOException {
+            while (true) {
+                if (window == null || !window.hasRemaining()) {
+                    long next = window == null ? 0 : windowStart + window.limit();
+                    if (next >= fileSize) {
+                        return null;
+                    }
+                    map(next);
+                }
+
+                int start = window.position();
+                int end = indexOfNewline(start);
+                if (end >= 0) {
+                    window.position(end + 1);
+                    return decode(start, end);
+                }
+                if (windowStart + window.limit() >= fileSize) {
+                    // Последняя строка файла без перевода строки
+                    window.position(window.limit());
+                    return decode(start, window.limit());
+                }
+                if (start == 0) {
+                    throw new IOException("Строка длиннее окна чтения " + windowSize + " байт");
+                }
+                map(windowStart + start);
+            }
+        }
+
+        private void map(long position) throws IOException {
+            long size = Math.min(windowSize, fileSize - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            windowStart = position;
+        }
+
+        private int indexOfNewline(int from) {
+            for (int i = from, limit = window.limit(); i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private String decode(int start, int end) {
+            if (end > start && window.get(end - 1) == '\r') {
+                end--;
+            }
+            int length = end - start;
+            if (length > lineBytes.length) {
+                lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                lineBytes[i] = window.get(start + i);
+            }
+            return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Результат обработки одного пакета.
+     */
+    static final class BatchResult {
+
+        private String text;
+        private long orders;
+        private long rejected;
+        private long totalCents;
+    }
+
+    /**
+     * Итоги обработки файла заказов.
+     */
+    public static final class Summary {
+
+        private long orders;
+        private long rejected;
+        private long totalCents;
+
+        private void add(BatchResult result) {
+            orders += result.orders;
+            rejected += result.rejected;
+            totalCents = Money.add(totalCents, result.totalCents);
+        }
+
+        public long getOrders() {
+            return orders;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        @Override
+        public String toString() {
+            return "Orders: " + orders + ", rejected: " + rejected + ", total: " + Money.toString(totalCents);
+        }
+    }
+
+}
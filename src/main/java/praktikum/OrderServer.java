@@ -0,0 +1,165 @@
+package praktikum;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Встроенный HTTP-сервер заказов на {@code com.sun.net.httpserver}.
+ * <p>
+ * {@code POST /order} принимает строку заказа в формате {@link OrderPipeline} – название булочки
+ * и названия ингредиентов через запятую – и возвращает чек, а точную цену дублирует в заголовке {@code X-Price}
+ * в формате {@link Money#toString(long)}.
+ * Неизвестные позиции дают ответ 400, другие методы – 405.
+ * <p>
+ * Обработчики выполняются на переданном исполнителе. {@link #virtualThreadExecutor()} даёт отдельный
+ * виртуальный поток на каждый запрос; он есть в многоверсионном jar, собранном на JDK 21 и запущенном
+ * на Java 21 и новее (см. {@link VirtualThreads}). Иначе остаётся пул {@link #fixedThreadExecutor()}.
+ */
+public class OrderServer {
+
+    static final String PATH = "/order";
+
+    private static final int BACKLOG = 4096;
+    private static final int MAX_ORDER_BYTES = 64 * 1024;
+
+    private final Database database;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Создаёт сервер, но не запускает его.
+     *
+     * @param database база, по которой разбираются заказы
+     * @param address  адрес; порт 0 означает любой свободный
+     * @param executor исполнитель обработчиков, останавливается вместе с сервером
+     * @throws IOException если адрес не удалось занять
+     */
+    public OrderServer(Database database, InetSocketAddress address, ExecutorService executor) throws IOException {
+        this.database = database;
+        this.executor = executor;
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Запускает сервер: {@code OrderServer [порт] [fixed|virtual]}.
+     * Без второго аргумента виртуальные потоки берутся, только если они доступны, иначе пул потоков.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        String mode = args.length > 1 ? args[1] : defaultExecutorMode();
+        ExecutorService executor = "virtual".equals(mode) ? virtualThreadExecutor() : fixedThreadExecutor();
+        OrderServer server = new OrderServer(new Database(), new InetSocketAddress(port), executor);
+        server.start();
+        System.out.println("Сервер заказов слушает порт " + server.getPort());
+    }
+
+    /**
+     * Исполнитель, запускающий каждый запрос в новом виртуальном потоке.
+     *
+     * @throws UnsupportedOperationException если JVM не поддерживает виртуальные потоки
+     */
+    public static ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newPerTaskExecutor();
+    }
+
+    /**
+     * @return {@code virtual}, если доступны виртуальные потоки, иначе {@code fixed}
+     */
+    static String defaultExecutorMode() {
+        return VirtualThreads.isSupported() ? "virtual" : "fixed";
+    }
+
+    /**
+     * Пул из фиксированного числа потоков по числу ядер – для сравнения с виртуальными потоками.
+     */
+    public static ExecutorService fixedThreadExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Останавливает сервер и исполнитель обработчиков.
+     *
+     * @param delaySeconds сколько секунд ждать завершения текущих запросов
+     */
+    public void stop(int delaySeconds) throws InterruptedException {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Заказ принимается только методом POST");
+                return;
+            }
+
+            String order = readBody(exchange.getRequestBody());
+            if (order == null) {
+                respond(exchange, 413, "Заказ длиннее " + MAX_ORDER_BYTES + " байт");
+                return;
+            }
+
+            Burger burger = new Burger();
+            String error = OrderPipeline.parse(database.catalog(), order.trim(), burger);
+            if (error != null) {
+                respond(exchange, 400, error);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("X-Price", Money.toString(burger.getPriceMinor()));
+            respond(exchange, 200, burger.getReceipt());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Читает тело запроса целиком.
+     *
+     * @return тело в UTF-8 или {@code null}, если оно больше {@link #MAX_ORDER_BYTES}
+     */
+    private static String readBody(InputStream body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        byte[] buffer = new byte[512];
+        int read;
+        while ((read = body.read(buffer)) >= 0) {
+            if (bytes.size() + read > MAX_ORDER_BYTES) {
+                return null;
+            }
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+}
@@ -1,12 +1,24 @@
 package praktikum;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
+/**
+ * Пример сборки бургера. Без аргументов меню берётся из кода, с аргументом – из CSV файла или снимка каталога:
+ * {@code Praktikum menu.csv}. {@code Praktikum --write-snapshot catalog.snapshot} сохраняет меню из кода
+ * в снимок для быстрого запуска.
+ */
 public class Praktikum {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && "--write-snapshot".equals(args[0])) {
+            new Database().writeSnapshot(Path.of(args[1]));
+            return;
+        }
+
         // Инициализируем базу данных
-        Database database = new Database();
+        Database database = args.length > 0 ? new Database(Path.of(args[0])) : new Database();
 
         // Создадим новый бургер
         Burger burger = new Burger();
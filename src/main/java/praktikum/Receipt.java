@@ -0,0 +1,220 @@
+package praktikum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Ленивое представление чека бургера.
+ * <p>
+ * Чек не собирается в одну строку: строки печатаются по запросу из текущего состояния бургера,
+ * поэтому представление всегда отражает последние изменения. Строки идут так же, как в
+ * {@link Burger#getReceipt()}: булочка, ингредиенты, булочка, пустая строка и цена; переводы строк
+ * в строки не входят. {@link #writeTo(WritableByteChannel)} пишет чек в канал сразу в UTF-8,
+ * постоянные части чека закодированы заранее ({@link ReceiptTemplates}). {@link #writeTo(GatheringByteChannel,
+ * Catalog)} берёт готовые строки позиций каталога и печатает только цену.
+ * <p>
+ * Запись в канал дописывает чек до конца, поэтому канал должен быть блокирующим: неблокирующий канал
+ * может принять ноль байт, и ждать его было бы нечем.
+ */
+public final class Receipt implements Iterable<CharSequence> {
+
+    /**
+     * Строки чека помимо ингредиентов: две булочки, пустая строка и цена.
+     */
+    private static final int FIXED_LINES = 4;
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Burger burger;
+
+    Receipt(Burger burger) {
+        this.burger = burger;
+    }
+
+    public int lineCount() {
+        return burger.ingredients.size() + FIXED_LINES;
+    }
+
+    /**
+     * Печатает одну строку чека.
+     *
+     * @param index номер строки от 0 до {@link #lineCount()}
+     * @return строка без перевода строки
+     */
+    public CharSequence line(int index) {
+        int layers = burger.ingredients.size();
+        if (index < 0 || index >= layers + FIXED_LINES) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (layers + FIXED_LINES));
+        }
+
+        StringBuilder line = new StringBuilder(32);
+        try {
+            if (index == 0 || index == layers + 1) {
+                ReceiptRenderer.appendBunLine(line, bun().getName());
+            } else if (index <= layers) {
+                ReceiptRenderer.appendIngredientLine(line, burger.ingredients.get(index - 1));
+            } else if (index == layers + FIXED_LINES - 1) {
+                ReceiptRenderer.appendPriceLine(line, burger.totalMinor());
+            }
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        return line;
+    }
+
+    /**
+     * Первая строка чека с названием булочки.
+     */
+    public CharSequence header() {
+        return line(0);
+    }
+
+    /**
+     * Обходит строки чека, печатая каждую только при запросе.
+     * Ингредиенты перебираются итератором списка слоёв, без поиска по индексу.
+     */
+    @Override
+    public Iterator<CharSequence> iterator() {
+        return new LineIterator();
+    }
+
+    /**
+     * Пишет чек в канал в UTF-8 через буфер на 8 КБ.
+     *
+     * @param channel блокирующий канал
+     * @return количество записанных байт
+     * @throws IOException                   если канал не принял байты
+     * @throws IllegalBlockingModeException если канал в неблокирующем режиме
+     */
+    public long writeTo(WritableByteChannel channel) throws IOException {
+        return writeTo(channel, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+    }
+
+    /**
+     * Пишет чек в канал в UTF-8 через переданный буфер, который можно переиспользовать между заказами.
+     *
+     * @param channel блокирующий канал
+     * @param buffer  буфер не меньше 4 байт; его содержимое затирается
+     * @return количество записанных байт
+     * @throws IOException                   если канал не принял байты
+     * @throws IllegalBlockingModeException если канал в неблокирующем режиме
+     */
+    public long writeTo(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        requireBlocking(channel);
+        long start = Metrics.start();
+        Bun bun = bun();
+        long price = burger.totalMinor();
+        Utf8ChannelWriter out = new Utf8ChannelWriter(channel, buffer);
+
+        out.write(ReceiptTemplates.BUN_OPEN).append(bun.getName()).write(ReceiptTemplates.BUN_CLOSE);
+        for (Ingredient ingredient : burger.ingredients) {
+            out.write(ReceiptTemplates.ingredientOpen(ingredient.getType())).append(ingredient.getName())
+                    .write(ReceiptTemplates.INGREDIENT_CLOSE);
+        }
+        out.write(ReceiptTemplates.BUN_OPEN).append(bun.getName()).write(ReceiptTemplates.BUN_CLOSE)
+                .write(ReceiptTemplates.PRICE_OPEN);
+        ReceiptRenderer.appendPrice(out, price);
+        out.write(ReceiptTemplates.LINE_END);
+
+        long written = out.flush();
+        Metrics.record(Metrics.Operation.GET_RECEIPT, start);
+        return written;
+    }
+
+    /**
+     * Пишет чек в канал одной записью со сбором из заранее закодированных строк каталога
+     * ({@link GatheringByteChannel#write(ByteBuffer[])}), без копирования в промежуточный буфер.
+     * Позиции не из каталога кодируются при записи.
+     *
+     * @param channel блокирующий канал
+     * @param catalog каталог, из которого собран бургер
+     * @return количество записанных байт
+     * @throws IOException                   если канал не принял байты
+     * @throws IllegalBlockingModeException если канал в неблокирующем режиме
+     */
+    public long writeTo(GatheringByteChannel channel, Catalog catalog) throws IOException {
+        requireBlocking(channel);
+        long start = Metrics.start();
+        ByteBuffer[] fragments = catalog.receiptTemplates().gather(bun(), burger.ingredients, burger.totalMinor());
+
+        long written = 0;
+        int offset = 0;
+        while (offset < fragments.length) {
+            written += channel.write(fragments, offset, fragments.length - offset);
+            while (offset < fragments.length && !fragments[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+        Metrics.record(Metrics.Operation.GET_RECEIPT, start);
+        return written;
+    }
+
+    /**
+     * Весь чек одной строкой, как {@link Burger#getReceipt()}.
+     */
+    @Override
+    public String toString() {
+        return burger.getReceipt();
+    }
+
+    private Bun bun() {
+        if (burger.bun == null) {
+            throw new NullPointerException("Булочка не выбрана");
+        }
+        return burger.bun;
+    }
+
+    /**
+     * Отклоняет неблокирующий канал до записи: иначе цикл дозаписи крутился бы, пока канал не примет байты.
+     */
+    private static void requireBlocking(WritableByteChannel channel) {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalBlockingModeException();
+        }
+    }
+
+    private final class LineIterator implements Iterator<CharSequence> {
+
+        private final Iterator<Ingredient> layers = burger.ingredients.iterator();
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < FIXED_LINES || layers.hasNext();
+        }
+
+        @Override
+        public CharSequence next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            StringBuilder line = new StringBuilder(32);
+            try {
+                if (index == 0) {
+                    ReceiptRenderer.appendBunLine(line, bun().getName());
+                } else if (layers.hasNext()) {
+                    ReceiptRenderer.appendIngredientLine(line, layers.next());
+                    return line;
+                } else if (index == 1) {
+                    ReceiptRenderer.appendBunLine(line, bun().getName());
+                } else if (index == 3) {
+                    ReceiptRenderer.appendPriceLine(line, burger.totalMinor());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index++;
+            return line;
+        }
+    }
+
+}
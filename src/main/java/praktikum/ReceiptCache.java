@@ -0,0 +1,154 @@
+package praktikum;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный кеш чеков и цен для часто повторяющихся заказов.
+ * Ключ – отпечаток состава: версия каталога, булочка и ингредиенты по порядку, поэтому разные бургеры
+ * одинакового состава получают один и тот же чек. Кеш разбит на сегменты с собственным LRU,
+ * чтобы потоки с разными заказами не ждали друг друга. При перезагрузке меню в {@link Database} кеш очищается.
+ * Бургеры с позициями не из каталога считаются напрямую и в кеш не попадают.
+ */
+public class ReceiptCache {
+
+    private static final int SEGMENTS = 16;
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Database database;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Создаёт кеш и подписывает его на перезагрузку меню.
+     *
+     * @param database    база данных, из каталога которой собираются бургеры
+     * @param maximumSize максимальное количество чеков в кеше
+     */
+    public ReceiptCache(Database database, int maximumSize) {
+        if (maximumSize < SEGMENTS) {
+            throw new IllegalArgumentException("Размер кеша должен быть не меньше " + SEGMENTS);
+        }
+
+        this.database = database;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maximumSize / SEGMENTS);
+        }
+        database.addCatalogListener(catalog -> invalidateAll());
+    }
+
+    public String getReceipt(Burger burger) {
+        CachedReceipt cached = lookup(burger);
+        return cached == null ? burger.getReceipt() : cached.receipt;
+    }
+
+    public float getPrice(Burger burger) {
+        return Money.toFloat(getPriceMinor(burger));
+    }
+
+    /**
+     * @return стоимость бургера в копейках, как {@link Burger#getPriceMinor()}
+     */
+    public long getPriceMinor(Burger burger) {
+        CachedReceipt cached = lookup(burger);
+        return cached == null ? burger.getPriceMinor() : cached.priceMinor;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Доля обращений, обслуженных из кеша.
+     *
+     * @return число от 0 до 1
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private CachedReceipt lookup(Burger burger) {
+        CompositionKey key = CompositionKey.of(database.catalog(), burger.bun, burger.ingredients);
+        if (key == null) {
+            return null;
+        }
+
+        // Сегмент выбирается по старшим битам: младшие LinkedHashMap сам использует для корзин внутри сегмента,
+        // и при выборе по ним все ключи сегмента попадали бы в 1/16 его корзин
+        Segment segment = segments[(key.hashCode() * 0x9E3779B9) >>> SEGMENT_SHIFT];
+        CachedReceipt cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        cached = new CachedReceipt(burger.getReceipt(), burger.getPriceMinor());
+        synchronized (segment) {
+            segment.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static final class CachedReceipt {
+
+        private final String receipt;
+        private final long priceMinor;
+
+        private CachedReceipt(String receipt, long priceMinor) {
+            this.receipt = receipt;
+            this.priceMinor = priceMinor;
+        }
+    }
+
+    /**
+     * Сегмент кеша: {@link LinkedHashMap} в порядке доступа, который вытесняет самый давно использованный чек.
+     */
+    private static final class Segment extends LinkedHashMap<CompositionKey, CachedReceipt> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CompositionKey, CachedReceipt> eldest) {
+            return size() > capacity;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package praktikum;
+
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Печать чека бургера в произвольный {@link Appendable}.
+ * Результат совпадает с форматом {@code "(==== %s ====)%n"}, {@code "= %s %s =%n"} и {@code "%nPrice: %f%n"},
+ * но строки не собираются через {@link java.util.Formatter}, а цена печатается без промежуточных объектов.
+ * Цена печатается из копеек точно, с шестью знаками после запятой, как печатал {@code %f}.
+ */
+final class ReceiptRenderer {
+
+    static final String LINE_SEPARATOR = System.lineSeparator();
+
+    /**
+     * Знаков после запятой в {@code %f}.
+     */
+    private static final int FORMATTER_FRACTION_DIGITS = 6;
+
+    private static volatile Symbols symbols;
+
+    private ReceiptRenderer() {
+    }
+
+    static void render(Appendable out, Bun bun, List<Ingredient> ingredients, long priceMinor) throws IOException {
+        appendBunLine(out, bun.getName());
+        out.append(LINE_SEPARATOR);
+
+        for (Ingredient ingredient : ingredients) {
+            appendIngredientLine(out, ingredient);
+            out.append(LINE_SEPARATOR);
+        }
+
+        appendBunLine(out, bun.getName());
+        out.append(LINE_SEPARATOR).append(LINE_SEPARATOR);
+        appendPriceLine(out, priceMinor);
+        out.append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Печатает строку булочки без перевода строки.
+     */
+    static void appendBunLine(Appendable out, String name) throws IOException {
+        out.append("(==== ").append(name).append(" ====)");
+    }
+
+    /**
+     * Печатает строку ингредиента без перевода строки.
+     */
+    static void appendIngredientLine(Appendable out, Ingredient ingredient) throws IOException {
+        out.append("= ").append(ingredient.getType().getLabel()).append(' ')
+                .append(ingredient.getName()).append(" =");
+    }
+
+    /**
+     * Печатает строку цены без перевода строки.
+     */
+    static void appendPriceLine(Appendable out, long priceMinor) throws IOException {
+        out.append("Price: ");
+        appendPrice(out, priceMinor);
+    }
+
+    /**
+     * Оценивает длину чека, чтобы буфер не пришлось расширять.
+     *
+     * @param layers количество ингредиентов
+     * @return ожидаемое количество символов
+     */
+    static int estimateLength(int layers) {
+        return 96 + layers * 32;
+    }
+
+    /**
+     * Печатает цену так же, как {@code String.format("%f", price)} в текущей локали,
+     * но из копеек и без ошибки округления {@code float}.
+     *
+     * @param out        куда печатать
+     * @param priceMinor цена в копейках
+     * @throws IOException если {@code out} не смог принять символы
+     */
+    static void appendPrice(Appendable out, long priceMinor) throws IOException {
+        Symbols current = symbols();
+        Money.appendTo(out, priceMinor, current.zeroDigit, current.decimalSeparator, FORMATTER_FRACTION_DIGITS);
+    }
+
+    private static Symbols symbols() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Symbols current = symbols;
+        if (current == null || !current.locale.equals(locale)) {
+            current = new Symbols(locale);
+            symbols = current;
+        }
+        return current;
+    }
+
+    /**
+     * Символы локали, которые использует {@link java.util.Formatter} при печати {@code %f}.
+     */
+    private static final class Symbols {
+
+        private final Locale locale;
+        private final char zeroDigit;
+        private final char decimalSeparator;
+
+        private Symbols(Locale locale) {
+            DecimalFormatSymbols formatSymbols = DecimalFormatSymbols.getInstance(locale);
+            this.locale = locale;
+            this.zeroDigit = formatSymbols.getZeroDigit();
+            this.decimalSeparator = formatSymbols.getDecimalSeparator();
+        }
+    }
+
+}
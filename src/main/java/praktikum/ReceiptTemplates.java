@@ -0,0 +1,126 @@
+package praktikum;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Строки чека для позиций каталога, заранее закодированные в UTF-8 вместе с переводом строки.
+ * Строка булочки зависит только от булочки, строка ингредиента – только от его типа и названия,
+ * поэтому {@link Catalog} кодирует их один раз при создании, а чек собирается из готовых фрагментов
+ * в {@link ByteBuffer}[] для записи одним вызовом {@link java.nio.channels.GatheringByteChannel}.
+ * Для каждого заказа печатается только цена.
+ * <p>
+ * Здесь же заранее закодированы постоянные части строк чека, из которых {@link Receipt} печатает чек
+ * в канал для позиций без готовых строк.
+ */
+final class ReceiptTemplates {
+
+    /**
+     * Фрагменты чека помимо ингредиентов: две булочки, начало строки цены, цена и перевод строки.
+     */
+    static final int FIXED_FRAGMENTS = 5;
+
+    static final byte[] BUN_OPEN = utf8("(==== ");
+    static final byte[] BUN_CLOSE = utf8(" ====)" + ReceiptRenderer.LINE_SEPARATOR);
+    static final byte[] INGREDIENT_CLOSE = utf8(" =" + ReceiptRenderer.LINE_SEPARATOR);
+    static final byte[] PRICE_OPEN = utf8(ReceiptRenderer.LINE_SEPARATOR + "Price: ");
+    static final byte[] LINE_END = utf8(ReceiptRenderer.LINE_SEPARATOR);
+
+    private static final byte[][] INGREDIENT_OPEN = new byte[IngredientType.values().length][];
+
+    static {
+        for (IngredientType type : IngredientType.values()) {
+            INGREDIENT_OPEN[type.ordinal()] = utf8("= " + type.getLabel() + " ");
+        }
+    }
+
+    private final Catalog catalog;
+    private final byte[][] bunLines;
+    private final byte[][] ingredientLines;
+
+    ReceiptTemplates(Catalog catalog) {
+        this.catalog = catalog;
+        List<Bun> buns = catalog.buns();
+        bunLines = new byte[buns.size()][];
+        for (int id = 0; id < bunLines.length; id++) {
+            bunLines[id] = bunLine(buns.get(id));
+        }
+        List<Ingredient> ingredients = catalog.ingredients();
+        ingredientLines = new byte[ingredients.size()][];
+        for (int id = 0; id < ingredientLines.length; id++) {
+            ingredientLines[id] = ingredientLine(ingredients.get(id));
+        }
+    }
+
+    /**
+     * Раскладывает чек по фрагментам. Позиции не из каталога кодируются на месте.
+     *
+     * @param bun         булочка
+     * @param ingredients ингредиенты по порядку
+     * @param priceMinor  цена в копейках
+     * @return буферы для записи по порядку
+     */
+    ByteBuffer[] gather(Bun bun, List<Ingredient> ingredients, long priceMinor) {
+        ByteBuffer[] fragments = new ByteBuffer[ingredients.size() + FIXED_FRAGMENTS];
+        int bunId = catalog.bunId(bun);
+        byte[] bunLine = bunId < 0 ? bunLine(bun) : bunLines[bunId];
+
+        int i = 0;
+        fragments[i++] = ByteBuffer.wrap(bunLine);
+        for (Ingredient ingredient : ingredients) {
+            int id = catalog.ingredientId(ingredient);
+            fragments[i++] = ByteBuffer.wrap(id < 0 ? ingredientLine(ingredient) : ingredientLines[id]);
+        }
+        fragments[i++] = ByteBuffer.wrap(bunLine);
+        fragments[i++] = ByteBuffer.wrap(PRICE_OPEN);
+        fragments[i++] = ByteBuffer.wrap(price(priceMinor));
+        fragments[i] = ByteBuffer.wrap(LINE_END);
+        return fragments;
+    }
+
+    /**
+     * Начало строки ингредиента до названия.
+     */
+    static byte[] ingredientOpen(IngredientType type) {
+        return INGREDIENT_OPEN[type.ordinal()];
+    }
+
+    private static byte[] bunLine(Bun bun) {
+        StringBuilder line = new StringBuilder(32);
+        try {
+            ReceiptRenderer.appendBunLine(line, bun.getName());
+        } catch (IOException e) {
+            // StringBuilder не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        return utf8(line.append(ReceiptRenderer.LINE_SEPARATOR).toString());
+    }
+
+    private static byte[] ingredientLine(Ingredient ingredient) {
+        StringBuilder line = new StringBuilder(32);
+        try {
+            ReceiptRenderer.appendIngredientLine(line, ingredient);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return utf8(line.append(ReceiptRenderer.LINE_SEPARATOR).toString());
+    }
+
+    private static byte[] price(long priceMinor) {
+        StringBuilder price = new StringBuilder(24);
+        try {
+            ReceiptRenderer.appendPrice(price, priceMinor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return utf8(price.toString());
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,287 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Инкрементальная аналитика продаж по каталогу: каждый готовый заказ учитывается один раз в {@link #record},
+ * а запросы не зависят от числа принятых заказов.
+ * <p>
+ * Счётчики – массивы {@code long} по идентификаторам каталога: заказы по булочкам, слои по ингредиентам
+ * и выручка в копейках по {@link IngredientType}. Массивы разбиты на полосы по числу ядер, поток пишет
+ * в свою полосу, а запрос складывает полосы. Каталог ограничен, поэтому популярные ингредиенты
+ * считаются точно. Популярные составы бургеров – неограниченное множество, их оценивает
+ * поток Space-Saving в каждой полосе.
+ */
+public class SalesAnalytics {
+
+    private static final int DEFAULT_SKETCH_CAPACITY = 256;
+
+    private final Catalog catalog;
+    private final long[] bunPricesCents;
+    private final long[] ingredientPricesCents;
+    private final int[] ingredientTypes;
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public SalesAnalytics(Catalog catalog) {
+        this(catalog, DEFAULT_SKETCH_CAPACITY);
+    }
+
+    /**
+     * @param catalog        каталог, из которого собираются заказы
+     * @param sketchCapacity число отслеживаемых составов в каждой полосе
+     */
+    public SalesAnalytics(Catalog catalog, int sketchCapacity) {
+        this.catalog = catalog;
+
+        bunPricesCents = new long[catalog.buns().size()];
+        for (int id = 0; id < bunPricesCents.length; id++) {
+            bunPricesCents[id] = catalog.bun(id).getPriceMinor();
+        }
+        ingredientPricesCents = new long[catalog.ingredients().size()];
+        ingredientTypes = new int[ingredientPricesCents.length];
+        for (int id = 0; id < ingredientPricesCents.length; id++) {
+            ingredientPricesCents[id] = catalog.ingredient(id).getPriceMinor();
+            ingredientTypes[id] = catalog.ingredient(id).getType().ordinal();
+        }
+
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(bunPricesCents.length, ingredientPricesCents.length, sketchCapacity);
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Учитывает готовый заказ.
+     *
+     * @param burger бургер из позиций каталога
+     * @throws IllegalArgumentException если булочка или ингредиент не из каталога
+     */
+    public void record(Burger burger) {
+        record(BurgerRecord.of(catalog, burger));
+    }
+
+    /**
+     * Учитывает готовый заказ.
+     *
+     * @param record запись бургера по каталогу аналитики
+     * @throws IllegalArgumentException если запись относится к другому каталогу
+     */
+    public void record(BurgerRecord record) {
+        if (record.catalog() != catalog) {
+            throw new IllegalArgumentException("Запись относится к другому каталогу");
+        }
+
+        Stripe stripe = stripes[stripeIndex()];
+        int bunId = record.bunId();
+        long cents = Money.multiply(bunPricesCents[bunId], 2);
+        for (int i = 0; i < record.size(); i++) {
+            int ingredientId = record.ingredientId(i);
+            stripe.ingredientLayers.getAndIncrement(ingredientId);
+            stripe.revenueCents.accumulateAndGet(ingredientTypes[ingredientId], ingredientPricesCents[ingredientId],
+                    Money::add);
+            cents = Money.add(cents, ingredientPricesCents[ingredientId]);
+        }
+        stripe.revenueCents.accumulateAndGet(stripe.totalSlot, cents, Money::add);
+        stripe.bunOrders.getAndIncrement(bunId);
+
+        CompositionKey key = CompositionKey.of(record);
+        synchronized (stripe.sketch) {
+            stripe.sketch.offer(key);
+        }
+    }
+
+    public long orders() {
+        long orders = 0;
+        for (int id = 0; id < bunPricesCents.length; id++) {
+            orders += bunOrders(id);
+        }
+        return orders;
+    }
+
+    public long bunOrders(int bunId) {
+        long sum = 0;
+        for (Stripe stripe : stripes) {
+            sum += stripe.bunOrders.get(bunId);
+        }
+        return sum;
+    }
+
+    /**
+     * Возвращает булочку, с которой сделано больше всего заказов.
+     *
+     * @return булочка или {@code null}, если заказов не было
+     */
+    public Bun mostPopularBun() {
+        int best = -1;
+        long bestOrders = 0;
+        for (int id = 0; id < bunPricesCents.length; id++) {
+            long orders = bunOrders(id);
+            if (orders > bestOrders) {
+                best = id;
+                bestOrders = orders;
+            }
+        }
+        return best < 0 ? null : catalog.bun(best);
+    }
+
+    /**
+     * Число слоёв с данным ингредиентом во всех заказах.
+     */
+    public long ingredientLayers(int ingredientId) {
+        long sum = 0;
+        for (Stripe stripe : stripes) {
+            sum += stripe.ingredientLayers.get(ingredientId);
+        }
+        return sum;
+    }
+
+    /**
+     * Возвращает самые популярные ингредиенты по убыванию числа слоёв.
+     *
+     * @param limit сколько ингредиентов вернуть
+     * @return ингредиенты, встречавшиеся хотя бы раз, не больше {@code limit}
+     */
+    public List<Ingredient> topIngredients(int limit) {
+        long[] layers = new long[ingredientPricesCents.length];
+        List<Integer> ids = new ArrayList<>(layers.length);
+        for (int id = 0; id < layers.length; id++) {
+            layers[id] = ingredientLayers(id);
+            if (layers[id] > 0) {
+                ids.add(id);
+            }
+        }
+        ids.sort((a, b) -> Long.compare(layers[b], layers[a]));
+
+        List<Ingredient> top = new ArrayList<>(Math.min(limit, ids.size()));
+        for (int id : ids.subList(0, Math.min(limit, ids.size()))) {
+            top.add(catalog.ingredient(id));
+        }
+        return top;
+    }
+
+    /**
+     * Выручка по всем заказам в копейках, включая булочки.
+     */
+    public long revenueCents() {
+        return revenueSlot(IngredientType.values().length);
+    }
+
+    /**
+     * Выручка по ингредиентам одного типа в копейках.
+     */
+    public long revenueCents(IngredientType type) {
+        return revenueSlot(type.ordinal());
+    }
+
+    /**
+     * Возвращает самые частые составы бургеров по убыванию оценки.
+     * Оценки приблизительные: см. {@link Popular#getError()}.
+     *
+     * @param limit сколько составов вернуть
+     * @return составы, не больше {@code limit}
+     */
+    public List<Popular> topCompositions(int limit) {
+        Map<CompositionKey, long[]> merged = new HashMap<>();
+        long floors = 0;
+        for (Stripe stripe : stripes) {
+            List<SpaceSaving.Counter<CompositionKey>> counters;
+            long floor;
+            synchronized (stripe.sketch) {
+                counters = stripe.sketch.counters();
+                floor = stripe.sketch.floor();
+            }
+            floors += floor;
+            for (SpaceSaving.Counter<CompositionKey> counter : counters) {
+                long[] estimate = merged.computeIfAbsent(counter.getKey(), key -> new long[3]);
+                estimate[0] += counter.getCount();
+                estimate[1] += counter.getError();
+                estimate[2] += floor;
+            }
+        }
+
+        List<Popular> top = new ArrayList<>(merged.size());
+        for (Map.Entry<CompositionKey, long[]> entry : merged.entrySet()) {
+            long[] estimate = entry.getValue();
+            // В полосах, где состава нет среди счётчиков, он мог встретиться не больше их наименьшего счётчика
+            long missing = floors - estimate[2];
+            top.add(new Popular(entry.getKey().toRecord(catalog), estimate[0] + missing, estimate[1] + missing));
+        }
+        top.sort((a, b) -> Long.compare(b.count, a.count));
+        return Collections.unmodifiableList(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    private long revenueSlot(int slot) {
+        long sum = 0;
+        for (Stripe stripe : stripes) {
+            sum = Money.add(sum, stripe.revenueCents.get(slot));
+        }
+        return sum;
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & mask;
+    }
+
+    /**
+     * Счётчики одной полосы. Каждая полоса – отдельные массивы, поэтому потоки разных полос не делят строки кеша.
+     */
+    private static final class Stripe {
+
+        private final AtomicLongArray bunOrders;
+        private final AtomicLongArray ingredientLayers;
+        private final AtomicLongArray revenueCents;
+        private final int totalSlot = IngredientType.values().length;
+        private final SpaceSaving<CompositionKey> sketch;
+
+        private Stripe(int buns, int ingredients, int sketchCapacity) {
+            bunOrders = new AtomicLongArray(buns);
+            ingredientLayers = new AtomicLongArray(ingredients);
+            revenueCents = new AtomicLongArray(totalSlot + 1);
+            sketch = new SpaceSaving<>(sketchCapacity);
+        }
+    }
+
+    /**
+     * Оценка частоты состава бургера.
+     */
+    public static final class Popular {
+
+        private final BurgerRecord record;
+        private final long count;
+        private final long error;
+
+        private Popular(BurgerRecord record, long count, long error) {
+            this.record = record;
+            this.count = count;
+            this.error = error;
+        }
+
+        public BurgerRecord getRecord() {
+            return record;
+        }
+
+        /**
+         * Оценка сверху числа заказов с этим составом.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Наибольшее превышение оценки над истинным числом заказов.
+         */
+        public long getError() {
+            return error;
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package praktikum;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Поток наиболее частых элементов по алгоритму Space-Saving (Metwally и др.).
+ * Хранит не больше {@code capacity} счётчиков. Новый элемент при заполнении вытесняет элемент с наименьшим
+ * счётчиком и наследует его значение как погрешность, поэтому оценка частоты не меньше истинной
+ * и превышает её не больше чем на {@link Counter#getError()}. Любой элемент, встретившийся чаще
+ * {@code n / capacity} раз из {@code n}, гарантированно остаётся в наборе.
+ * <p>
+ * Счётчики лежат в куче по возрастанию значения, так что учёт элемента стоит O(log capacity).
+ * Класс не потокобезопасен.
+ *
+ * @param <K> тип элемента
+ */
+final class SpaceSaving<K> {
+
+    private final Map<K, Counter<K>> counters;
+    private final Counter<K>[] heap;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ёмкость должна быть положительной: " + capacity);
+        }
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = (Counter<K>[]) new Counter<?>[capacity];
+    }
+
+    /**
+     * Учитывает одно появление элемента.
+     */
+    void offer(K key) {
+        offer(key, 1);
+    }
+
+    /**
+     * Учитывает {@code count} появлений элемента.
+     */
+    void offer(K key, long count) {
+        Counter<K> counter = counters.get(key);
+        if (counter == null && size < heap.length) {
+            counter = new Counter<>(key, count, 0);
+            counters.put(key, counter);
+            heap[size] = counter;
+            siftUp(size++);
+            return;
+        }
+        if (counter == null) {
+            counter = heap[0];
+            counters.remove(counter.key);
+            counter.key = key;
+            counter.error = counter.count;
+            counters.put(key, counter);
+        }
+        counter.count += count;
+        siftDown(counter.index);
+    }
+
+    /**
+     * Наибольшее число появлений элемента, которого нет среди счётчиков:
+     * наименьший счётчик, если набор заполнен, иначе 0.
+     */
+    long floor() {
+        return size < heap.length ? 0 : heap[0].count;
+    }
+
+    /**
+     * Возвращает копии счётчиков по убыванию значения.
+     */
+    List<Counter<K>> counters() {
+        List<Counter<K>> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Counter<K> counter = heap[i];
+            result.add(new Counter<>(counter.key, counter.count, counter.error));
+        }
+        result.sort((a, b) -> Long.compare(b.count, a.count));
+        return result;
+    }
+
+    private void siftUp(int index) {
+        Counter<K> counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    private void siftDown(int index) {
+        Counter<K> counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * Оценка частоты элемента.
+     *
+     * @param <K> тип элемента
+     */
+    static final class Counter<K> {
+
+        private K key;
+        private long count;
+        private long error;
+        private int index;
+
+        Counter(K key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        K getKey() {
+            return key;
+        }
+
+        /**
+         * Оценка сверху числа появлений.
+         */
+        long getCount() {
+            return count;
+        }
+
+        /**
+         * Наибольшее превышение оценки над истинным числом появлений.
+         */
+        long getError() {
+            return error;
+        }
+    }
+
+}
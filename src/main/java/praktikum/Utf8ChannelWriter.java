@@ -0,0 +1,156 @@
+package praktikum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Запись символов в канал сразу в UTF-8 через буфер байтов, без промежуточных строк и массивов.
+ * Заранее закодированные фрагменты пишутся {@link #write(byte[])} как есть.
+ * Суррогатные пары кодируются четырьмя байтами, одиночный суррогат заменяется на {@code '?'},
+ * как это делает {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+final class Utf8ChannelWriter implements Appendable {
+
+    private static final int MAX_BYTES_PER_CHAR = 4;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private long written;
+    private char highSurrogate;
+
+    /**
+     * @param channel куда писать
+     * @param buffer  буфер для накопления байтов, не меньше 4 байт
+     */
+    Utf8ChannelWriter(WritableByteChannel channel, ByteBuffer buffer) {
+        if (buffer.capacity() < MAX_BYTES_PER_CHAR) {
+            throw new IllegalArgumentException("Буфер меньше " + MAX_BYTES_PER_CHAR + " байт");
+        }
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.clear();
+    }
+
+    @Override
+    public Utf8ChannelWriter append(CharSequence text) throws IOException {
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public Utf8ChannelWriter append(CharSequence text, int start, int end) throws IOException {
+        int i = start;
+        while (i < end) {
+            if (highSurrogate == 0 && buffer.hasArray()) {
+                i = appendAscii(text, i, end);
+                if (i == end) {
+                    break;
+                }
+            }
+            append(text.charAt(i++));
+        }
+        return this;
+    }
+
+    /**
+     * Копирует символы ASCII прямо в массив буфера, пока они идут подряд и есть место.
+     *
+     * @return номер первого не записанного символа
+     */
+    private int appendAscii(CharSequence text, int start, int end) {
+        byte[] array = buffer.array();
+        int offset = buffer.arrayOffset() + buffer.position();
+        int limit = Math.min(end, start + buffer.remaining());
+        int i = start;
+        for (char c; i < limit && (c = text.charAt(i)) < 0x80; i++) {
+            array[offset++] = (byte) c;
+        }
+        buffer.position(buffer.position() + i - start);
+        return i;
+    }
+
+    @Override
+    public Utf8ChannelWriter append(char c) throws IOException {
+        if (buffer.remaining() < MAX_BYTES_PER_CHAR) {
+            drain();
+        }
+
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer.put((byte) (0xF0 | codePoint >>> 18));
+                buffer.put((byte) (0x80 | codePoint >>> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >>> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+                return this;
+            }
+            buffer.put((byte) '?');
+            return append(c);
+        }
+
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >>> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >>> 12));
+            buffer.put((byte) (0x80 | c >>> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+        return this;
+    }
+
+    /**
+     * Пишет заранее закодированные байты.
+     */
+    Utf8ChannelWriter write(byte[] bytes) throws IOException {
+        closeSurrogate();
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+        return this;
+    }
+
+    /**
+     * Отправляет накопленные байты в канал.
+     *
+     * @return сколько байт записано в канал за всё время
+     */
+    long flush() throws IOException {
+        closeSurrogate();
+        drain();
+        return written;
+    }
+
+    private void closeSurrogate() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.put((byte) '?');
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
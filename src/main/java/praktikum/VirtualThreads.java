@@ -0,0 +1,28 @@
+package praktikum;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Исполнитель с отдельным виртуальным потоком на каждую задачу.
+ * <p>
+ * Основной код собирается под Java 11, где виртуальных потоков нет, поэтому здесь заглушка. Реализация
+ * для Java 21 лежит в {@code src/main/java21} и попадает в {@code META-INF/versions/21} многоверсионного jar;
+ * её собирает и проверяет профиль {@code java21}, который включается сам при сборке на JDK 21 и новее.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @throws UnsupportedOperationException всегда: виртуальные потоки доступны начиная с Java 21
+     */
+    static ExecutorService newPerTaskExecutor() {
+        throw new UnsupportedOperationException("Виртуальные потоки доступны начиная с Java 21");
+    }
+
+}
@@ -0,0 +1,23 @@
+package praktikum;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Исполнитель с отдельным виртуальным потоком на каждую задачу, вариант для Java 21 и новее.
+ * Заменяет заглушку из {@code src/main/java} в {@code META-INF/versions/21} многоверсионного jar.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    static ExecutorService newPerTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+}
@@ -0,0 +1,120 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Тестовый класс для проверки пакетного расчёта стоимости.
+ * Результаты сравниваются с {@link Burger#getPrice()} для каждого бургера.
+ *
+ * @see BatchPricer
+ */
+public class BatchPricerTest {
+
+    private static final int BURGERS = 20_000;
+
+    private final Catalog catalog = new Database().catalog();
+    private final List<Burger> burgers = new ArrayList<>();
+    private float[] expected;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(7);
+        for (int i = 0; i < BURGERS; i++) {
+            Burger burger = new Burger();
+            burger.setBuns(catalog.bun(random.nextInt(catalog.buns().size())));
+            int layers = random.nextInt(12);
+            for (int layer = 0; layer < layers; layer++) {
+                burger.addIngredient(catalog.ingredient(random.nextInt(catalog.ingredients().size())));
+            }
+            burgers.add(burger);
+        }
+
+        expected = new float[BURGERS];
+        for (int i = 0; i < BURGERS; i++) {
+            expected[i] = burgers.get(i).getPrice();
+        }
+    }
+
+    /**
+     * Проверяет совпадение последовательного расчёта с ценой каждого бургера.
+     */
+    @Test
+    public void priceAllShouldMatchBurgerPrices() {
+        assertArrayEquals(expected, BatchPricer.priceAll(catalog, burgers, false), 0f);
+    }
+
+    /**
+     * Проверяет совпадение параллельного расчёта с ценой каждого бургера.
+     */
+    @Test
+    public void priceAllInParallelShouldMatchBurgerPrices() {
+        assertArrayEquals(expected, BatchPricer.priceAll(catalog, burgers, true), 0f);
+    }
+
+    /**
+     * Проверяет, что копейки цен, которые не помещаются во {@code float} точно, совпадают у бургера и пакета.
+     */
+    @Test
+    public void totalsCentsShouldMatchBurgerPriceMinorForLargePrices() {
+        Catalog large = new Catalog(List.of(Bun.ofMinor("golden bun", 123_456_789)),
+                List.of(Ingredient.ofMinor(IngredientType.FILLING, "truffle", 987_654_321)));
+        Burger burger = new Burger();
+        burger.setBuns(large.bun(0));
+        burger.addIngredient(large.ingredient(0));
+        burger.addIngredient(large.ingredient(0));
+
+        BatchPricer pricer = new BatchPricer(large);
+        pricer.addBurger(burger);
+
+        assertEquals(2_222_222_220L, burger.getPriceMinor());
+        assertEquals(burger.getPriceMinor(), pricer.totalsCents()[0]);
+    }
+
+    /**
+     * Проверяет расчёт заказа, добавленного по идентификаторам.
+     */
+    @Test
+    public void addOrderShouldPriceByCatalogIds() {
+        BatchPricer pricer = new BatchPricer(catalog);
+        pricer.addOrder(0, 0, 3);
+
+        assertEquals(40_000L, pricer.totalsCents()[0]);
+    }
+
+    /**
+     * Проверяет отказ от бургера с ингредиентом не из каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void addBurgerShouldRejectForeignIngredient() {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(0));
+        burger.addIngredient(new Ingredient(IngredientType.SAUCE, "hot sauce", 100));
+
+        new BatchPricer(catalog).addBurger(burger);
+    }
+
+    /**
+     * Проверяет отказ от неизвестного идентификатора.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addOrderShouldRejectUnknownId() {
+        new BatchPricer(catalog).addOrder(catalog.buns().size());
+    }
+
+    /**
+     * Проверяет, что пустой пакет даёт пустой результат.
+     */
+    @Test
+    public void priceAllShouldReturnEmptyArrayForNoBurgers() {
+        assertEquals(0, BatchPricer.priceAll(catalog, Collections.emptyList(), true).length);
+    }
+}
@@ -0,0 +1,206 @@
+package praktikum;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Тестовый класс для проверки двоичного формата заказа.
+ *
+ * @see BurgerCodec
+ */
+public class BurgerCodecTest {
+
+    private static final String MENU = "bun,black bun,100\nsauce,hot sauce,100\nfilling,cutlet,100\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Catalog catalog = new Database().catalog();
+
+    /**
+     * Проверяет, что после записи и чтения получается бургер с тем же чеком и объектами каталога.
+     */
+    @Test
+    public void decodeShouldRestoreEncodedBurger() {
+        Burger burger = burger(2, 1, 4, 4, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(BurgerCodec.maxEncodedLength(4));
+
+        BurgerCodec.encode(catalog, burger, buffer);
+        buffer.flip();
+        Burger decoded = BurgerCodec.decode(catalog, buffer);
+
+        assertEquals(burger.getReceipt(), decoded.getReceipt());
+        assertSame(catalog.ingredient(4), decoded.ingredients.get(2));
+        assertEquals(0, buffer.remaining());
+    }
+
+    /**
+     * Проверяет размер записи: четыре байта отпечатка и по байту на булочку, число слоёв и каждый слой.
+     */
+    @Test
+    public void encodeShouldUseOneBytePerSmallId() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        BurgerCodec.encode(catalog, burger(0, 1, 2, 3, 4, 5), buffer);
+
+        assertEquals(11, buffer.position());
+    }
+
+    /**
+     * Проверяет, что записи читаются подряд из одного буфера, в том числе в виде {@link BurgerRecord}.
+     */
+    @Test
+    public void decodeRecordShouldReadConsecutiveRecords() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        BurgerCodec.encode(BurgerRecord.of(catalog, 1, 3), buffer);
+        BurgerCodec.encode(BurgerRecord.of(catalog, 2), buffer);
+        buffer.flip();
+
+        BurgerRecord first = BurgerCodec.decodeRecord(catalog, buffer);
+        BurgerRecord second = BurgerCodec.decodeRecord(catalog, buffer);
+
+        assertEquals(3, first.ingredientId(0));
+        assertEquals(2, second.bunId());
+        assertEquals(0, second.size());
+    }
+
+    /**
+     * Проверяет, что запись читается каталогом с тем же содержимым и другой версией, как после перезапуска.
+     */
+    @Test
+    public void decodeShouldAcceptSameMenuOfOtherVersion() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        BurgerCodec.encode(catalog, burger(0, 3), buffer);
+        buffer.flip();
+
+        Burger decoded = BurgerCodec.decode(new Catalog(1, catalog.buns(), catalog.ingredients()), buffer);
+
+        assertEquals(burger(0, 3).getReceipt(), decoded.getReceipt());
+    }
+
+    /**
+     * Проверяет, что запись, сохранённая одной базой, читается новой базой из того же файла меню
+     * и отклоняется новой базой из изменённого меню, хотя версии каталогов у всех баз одинаковые.
+     */
+    @Test
+    public void decodeShouldRejectRecordOfChangedMenu() throws IOException {
+        Path menu = folder.newFile("menu.csv").toPath();
+        Files.write(menu, MENU.getBytes(StandardCharsets.UTF_8));
+        Catalog written = new Database(menu).catalog();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        BurgerCodec.encode(BurgerRecord.of(written, 0, 1, 0), buffer);
+        buffer.flip();
+
+        Catalog same = new Database(menu).catalog();
+        assertEquals(2, BurgerCodec.decodeRecord(same, buffer.duplicate()).size());
+
+        Files.write(menu, MENU.replace("cutlet,100", "cutlet,150").getBytes(StandardCharsets.UTF_8));
+        Catalog changed = new Database(menu).catalog();
+        assertEquals(written.version(), changed.version());
+        try {
+            BurgerCodec.decodeRecord(changed, buffer);
+            fail("Запись для другого меню должна отклоняться");
+        } catch (IllegalArgumentException expected) {
+            assertTrue(expected.getMessage().contains(Integer.toHexString(written.fingerprint())));
+        }
+    }
+
+    /**
+     * Проверяет отказ от идентификатора, которого нет в каталоге.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeShouldRejectUnknownId() {
+        ByteBuffer buffer = header(3).put(new byte[]{0, 1, 100});
+        buffer.flip();
+
+        BurgerCodec.decode(catalog, buffer);
+    }
+
+    /**
+     * Проверяет отказ от идентификатора, который в varint записан как отрицательное число.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeShouldRejectNegativeId() {
+        ByteBuffer buffer = header(16);
+        BurgerCodec.writeVarint(buffer, -1L);
+        BurgerCodec.writeVarint(buffer, 0);
+        buffer.flip();
+
+        BurgerCodec.decode(catalog, buffer);
+    }
+
+    /**
+     * Проверяет ошибку на обрезанной записи.
+     */
+    @Test(expected = BufferUnderflowException.class)
+    public void decodeShouldFailOnTruncatedRecord() {
+        ByteBuffer buffer = header(3).put(new byte[]{0, 3, 1});
+        buffer.flip();
+
+        BurgerCodec.decode(catalog, buffer);
+    }
+
+    /**
+     * Проверяет, что при нехватке места позиция буфера не меняется.
+     */
+    @Test
+    public void encodeShouldKeepPositionOnOverflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        buffer.put((byte) 1);
+
+        try {
+            BurgerCodec.encode(catalog, burger(0, 1, 2, 3, 4), buffer);
+        } catch (BufferOverflowException e) {
+            assertEquals(1, buffer.position());
+            return;
+        }
+        throw new AssertionError("Ожидалось BufferOverflowException");
+    }
+
+    /**
+     * Проверяет запись длинных чисел.
+     */
+    @Test
+    public void varintShouldRoundTripLargeValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        BurgerCodec.writeVarint(buffer, Long.MAX_VALUE);
+        BurgerCodec.writeVarint(buffer, -1L);
+        buffer.flip();
+
+        assertEquals(Long.MAX_VALUE, BurgerCodec.readVarint(buffer));
+        assertEquals(-1L, BurgerCodec.readVarint(buffer));
+    }
+
+    /**
+     * Буфер с отпечатком каталога и местом ещё на {@code extra} байт.
+     */
+    private ByteBuffer header(int extra) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + extra);
+        BurgerCodec.writeFingerprint(buffer, catalog.fingerprint());
+        return buffer;
+    }
+
+    private Burger burger(int bunId, int... ingredientIds) {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(bunId));
+        for (int id : ingredientIds) {
+            burger.addIngredient(catalog.ingredient(id));
+        }
+        return burger;
+    }
+
+}
@@ -0,0 +1,190 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки отмены и повтора изменений бургера.
+ *
+ * @see Burger#undo()
+ * @see Burger#redo()
+ */
+public class BurgerHistoryTest {
+
+    private static final float DELTA = 0.001f;
+
+    private final Bun blackBun = new Bun("black bun", 100);
+    private final Bun whiteBun = new Bun("white bun", 200);
+    private final Ingredient sauce = new Ingredient(IngredientType.SAUCE, "hot sauce", 100);
+    private final Ingredient cutlet = new Ingredient(IngredientType.FILLING, "cutlet", 100);
+    private final Ingredient sausage = new Ingredient(IngredientType.FILLING, "sausage", 300);
+
+    private Burger burger;
+
+    @Before
+    public void setUp() {
+        burger = new Burger();
+        burger.setHistoryDepth(10);
+    }
+
+    /**
+     * Проверяет, что без включённой истории отменять нечего.
+     */
+    @Test
+    public void undoShouldReturnFalseWithoutHistory() {
+        Burger burger = new Burger();
+        burger.setBuns(blackBun);
+
+        assertFalse(burger.undo());
+        assertFalse(burger.redo());
+        assertFalse(burger.canUndo());
+        assertFalse(burger.canRedo());
+        assertEquals(blackBun, burger.bun);
+    }
+
+    /**
+     * Проверяет, что отмена возвращает состав, цену и чек, а повтор – изменение обратно.
+     */
+    @Test
+    public void undoAndRedoShouldRestoreCompositionAndPrice() {
+        burger.setBuns(blackBun);
+        burger.addIngredient(sauce);
+        String receipt = burger.getReceipt();
+        burger.addIngredient(sausage);
+
+        assertTrue(burger.undo());
+        assertEquals(List.of(sauce), burger.ingredients);
+        assertEquals(300, burger.getPrice(), DELTA);
+        assertEquals(receipt, burger.getReceipt());
+
+        assertTrue(burger.redo());
+        assertEquals(List.of(sauce, sausage), burger.ingredients);
+        assertEquals(600, burger.getPrice(), DELTA);
+    }
+
+    /**
+     * Проверяет отмену всех видов изменений по очереди.
+     */
+    @Test
+    public void undoShouldRevertEachEditInReverseOrder() {
+        burger.setBuns(blackBun);
+        burger.addIngredient(sauce);
+        burger.addIngredient(cutlet);
+        burger.moveIngredient(0, 1);
+        burger.removeIngredient(0);
+        burger.setBuns(whiteBun);
+
+        burger.undo();
+        assertEquals(blackBun, burger.bun);
+        burger.undo();
+        assertEquals(List.of(cutlet, sauce), burger.ingredients);
+        burger.undo();
+        assertEquals(List.of(sauce, cutlet), burger.ingredients);
+        burger.undo();
+        burger.undo();
+        burger.undo();
+        assertNull(burger.bun);
+        assertTrue(burger.ingredients.isEmpty());
+        assertFalse(burger.canUndo());
+    }
+
+    /**
+     * Проверяет, что новое изменение после отмены очищает повторы.
+     */
+    @Test
+    public void editShouldClearRedo() {
+        burger.setBuns(blackBun);
+        burger.addIngredient(sauce);
+        burger.undo();
+        burger.addIngredient(cutlet);
+
+        assertFalse(burger.canRedo());
+        assertFalse(burger.redo());
+    }
+
+    /**
+     * Проверяет, что история хранит только последние изменения.
+     */
+    @Test
+    public void historyShouldKeepOnlyLastEdits() {
+        burger.setHistoryDepth(3);
+        burger.setBuns(blackBun);
+        for (int i = 0; i < 10; i++) {
+            burger.addIngredient(cutlet);
+        }
+
+        int undone = 0;
+        while (burger.undo()) {
+            undone++;
+        }
+
+        assertEquals(3, undone);
+        assertEquals(7, burger.ingredients.size());
+    }
+
+    /**
+     * Проверяет, что уменьшение глубины забывает старые изменения, а нулевая глубина – и повторы.
+     */
+    @Test
+    public void setHistoryDepthShouldTrimHistory() {
+        burger.setBuns(blackBun);
+        burger.addIngredient(sauce);
+        burger.addIngredient(cutlet);
+        burger.undo();
+
+        burger.setHistoryDepth(1);
+        assertTrue(burger.undo());
+        assertFalse(burger.undo());
+
+        burger.setHistoryDepth(0);
+        assertFalse(burger.canRedo());
+        assertEquals(0, burger.getHistoryDepth());
+    }
+
+    /**
+     * Проверяет генерацию исключения при отрицательной глубине истории.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void setHistoryDepthShouldThrowExceptionWhenNegative() {
+        burger.setHistoryDepth(-1);
+    }
+
+    /**
+     * Проверяет, что неудачное изменение не попадает в историю.
+     */
+    @Test
+    public void failedEditShouldNotBeRemembered() {
+        burger.setBuns(blackBun);
+        try {
+            burger.removeIngredient(0);
+        } catch (IndexOutOfBoundsException expected) {
+            // изменение не выполнено
+        }
+
+        assertTrue(burger.undo());
+        assertFalse(burger.canUndo());
+    }
+
+    /**
+     * Проверяет историю бургера, у которого список слоёв заменён обычным списком.
+     */
+    @Test
+    public void undoShouldWorkWithReplacedIngredientList() {
+        burger.ingredients = new ArrayList<>(Arrays.asList(sauce, cutlet));
+        burger.setBuns(blackBun);
+        burger.removeIngredient(0);
+
+        burger.undo();
+
+        assertEquals(List.of(sauce, cutlet), burger.ingredients);
+    }
+}
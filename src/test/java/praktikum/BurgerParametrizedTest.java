@@ -63,7 +63,7 @@ public class BurgerParametrizedTest {
     public void addIngredientShouldAddMultipleIngredientsParameterized() {
         when(hotSauceIngredient.getType()).thenReturn(ingredientType);
         when(hotSauceIngredient.getName()).thenReturn(ingredientName);
-        when(hotSauceIngredient.getPrice()).thenReturn(ingredientPrice);
+        when(hotSauceIngredient.getPriceMinor()).thenReturn(Money.fromFloat(ingredientPrice));
 
         for (int i = 0; i < expectedCount; i++) {
             burger.addIngredient(hotSauceIngredient);
@@ -0,0 +1,141 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки подбора бургеров в пределах бюджета.
+ * Результаты сравниваются с полным перебором.
+ *
+ * @see BurgerRecommender
+ */
+public class BurgerRecommenderTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final Catalog catalog = new Database().catalog();
+
+    private final ToDoubleFunction<Bun> bunScore = bun -> bun.getName().length();
+    private final ToDoubleFunction<Ingredient> ingredientScore =
+            ingredient -> ingredient.getName().length() * 3 - ingredient.getPrice() / 100;
+
+    /**
+     * Проверяет, что без ограничений по типам находятся те же лучшие бургеры, что и полным перебором.
+     */
+    @Test
+    public void recommendShouldMatchExhaustiveSearch() {
+        BurgerRecommender.Constraints constraints = BurgerRecommender.Constraints.none().maxLayers(4);
+
+        assertMatchesExhaustive(1000, constraints, 5);
+    }
+
+    /**
+     * Проверяет учёт ограничений по типам ингредиентов.
+     */
+    @Test
+    public void recommendShouldRespectTypeConstraints() {
+        BurgerRecommender.Constraints constraints = BurgerRecommender.Constraints.none().maxLayers(4)
+                .atLeast(IngredientType.FILLING, 1)
+                .atMost(IngredientType.SAUCE, 1);
+
+        List<BurgerRecommender.Recommendation> recommendations = assertMatchesExhaustive(1200, constraints, 10);
+
+        for (BurgerRecommender.Recommendation recommendation : recommendations) {
+            assertTrue(constraints.test(recommendation.getBurger()));
+            assertTrue(recommendation.getPriceMinor() <= 120000);
+        }
+    }
+
+    /**
+     * Проверяет поиск самого дешёвого бургера через отрицательную оценку цены.
+     */
+    @Test
+    public void recommendShouldFindCheapestBurger() {
+        BurgerRecommender recommender = new BurgerRecommender(catalog, bun -> -2 * bun.getPrice(),
+                ingredient -> -ingredient.getPrice());
+        BurgerRecommender.Constraints constraints = BurgerRecommender.Constraints.none()
+                .atLeast(IngredientType.FILLING, 1);
+
+        BurgerRecommender.Recommendation cheapest = recommender.recommend(500, constraints, 1).get(0);
+
+        assertEquals(cheapest.getBurger().getPriceMinor(), cheapest.getPriceMinor());
+        assertEquals(1, cheapest.getBurger().ingredients.size());
+        assertEquals(100 * 2 + 100, cheapest.getPriceMinor() / 100);
+    }
+
+    /**
+     * Проверяет пустой результат, если в бюджет ничего не помещается.
+     */
+    @Test
+    public void recommendShouldReturnNothingBelowCheapestBun() {
+        BurgerRecommender recommender = new BurgerRecommender(catalog, bunScore, ingredientScore);
+
+        assertTrue(recommender.recommend(10, BurgerRecommender.Constraints.none(), 3).isEmpty());
+    }
+
+    private List<BurgerRecommender.Recommendation> assertMatchesExhaustive(
+            float budget, BurgerRecommender.Constraints constraints, int limit) {
+        BurgerRecommender recommender = new BurgerRecommender(catalog, bunScore, ingredientScore);
+        List<BurgerRecommender.Recommendation> actual =
+                recommender.recommend(budget, constraints, limit, new ForkJoinPool(4));
+
+        List<double[]> expected = new ArrayList<>();
+        for (Bun bun : catalog.buns()) {
+            enumerate(bun, new int[0], 0, budget, constraints, expected);
+        }
+        expected.sort((a, b) -> a[0] != b[0] ? Double.compare(b[0], a[0]) : Double.compare(a[1], b[1]));
+
+        assertEquals(Math.min(limit, expected.size()), actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            BurgerRecommender.Recommendation recommendation = actual.get(i);
+            assertEquals(expected.get(i)[0], recommendation.getScore(), DELTA);
+            assertEquals((long) expected.get(i)[1], recommendation.getPriceMinor());
+            assertEquals(score(recommendation.getBurger()), recommendation.getScore(), DELTA);
+        }
+        return actual;
+    }
+
+    /**
+     * Полный перебор наборов слоёв в порядке неубывания номеров ингредиентов.
+     */
+    private void enumerate(Bun bun, int[] ids, int start, float budget,
+                           BurgerRecommender.Constraints constraints, List<double[]> results) {
+        Burger burger = new Burger();
+        burger.setBuns(bun);
+        for (int id : ids) {
+            burger.addIngredient(catalog.ingredient(id));
+        }
+        long price = burger.getPriceMinor();
+        if (price > Money.fromFloat(budget)) {
+            return;
+        }
+        if (constraints.test(burger)) {
+            results.add(new double[]{score(burger), price});
+        }
+        if (ids.length == 4) {
+            return;
+        }
+        for (int id = start; id < catalog.ingredients().size(); id++) {
+            int[] next = Arrays.copyOf(ids, ids.length + 1);
+            next[ids.length] = id;
+            enumerate(bun, next, id, budget, constraints, results);
+        }
+    }
+
+    private double score(Burger burger) {
+        double score = bunScore.applyAsDouble(burger.bun);
+        for (Ingredient ingredient : burger.ingredients) {
+            score += ingredientScore.applyAsDouble(ingredient);
+        }
+        return score;
+    }
+
+}
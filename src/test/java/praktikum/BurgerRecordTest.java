@@ -0,0 +1,68 @@
+package praktikum;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Тестовый класс для проверки компактной записи бургера.
+ *
+ * @see BurgerRecord
+ */
+public class BurgerRecordTest {
+
+    private final Catalog catalog = new Database().catalog();
+
+    /**
+     * Проверяет, что восстановленный бургер печатает тот же чек.
+     */
+    @Test
+    public void toBurgerShouldRestoreSameReceipt() {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(1));
+        burger.addIngredient(catalog.ingredient(4));
+        burger.addIngredient(catalog.ingredient(0));
+
+        BurgerRecord record = BurgerRecord.of(catalog, burger);
+
+        assertEquals(burger.getReceipt(), record.toBurger().getReceipt());
+    }
+
+    /**
+     * Проверяет, что запись выдаёт общие объекты каталога.
+     */
+    @Test
+    public void ingredientShouldReturnCatalogInstance() {
+        BurgerRecord record = BurgerRecord.of(catalog, 0, 5, 5);
+
+        assertSame(catalog.ingredient(5), record.ingredients().get(1));
+    }
+
+    /**
+     * Проверяет отказ от бургера с булочкой не из каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void ofShouldRejectForeignBun() {
+        Burger burger = new Burger();
+        burger.setBuns(new Bun("black bun", 100));
+
+        BurgerRecord.of(catalog, burger);
+    }
+
+    /**
+     * Проверяет отказ от неизвестного идентификатора ингредиента.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void ofShouldRejectUnknownIngredientId() {
+        BurgerRecord.of(catalog, 0, catalog.ingredients().size());
+    }
+
+    /**
+     * Проверяет, что список ингредиентов записи нельзя изменить.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void ingredientsShouldBeUnmodifiable() {
+        BurgerRecord.of(catalog, 0, 1).ingredients().add(catalog.ingredient(2));
+    }
+}
@@ -0,0 +1,324 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Тестовый класс для проверки правил сборки бургера.
+ *
+ * @see BurgerRules
+ */
+public class BurgerRulesTest {
+
+    private final Catalog catalog = new Database().catalog();
+    private final Bun blackBun = catalog.bun(0);
+    private final Ingredient hotSauce = catalog.ingredient(0);
+    private final Ingredient sourCream = catalog.ingredient(1);
+    private final Ingredient cutlet = catalog.ingredient(3);
+    private final Ingredient sausage = catalog.ingredient(5);
+
+    private final BurgerRules.Checker rules = BurgerRules.none()
+            .requireBun()
+            .maxLayers(4)
+            .atMost(IngredientType.SAUCE, 2)
+            .ban(hotSauce, sourCream)
+            .ban(sourCream, hotSauce)
+            .ban(cutlet, new Ingredient(IngredientType.SAUCE, "foreign sauce", 100))
+            .compile(catalog);
+
+    /**
+     * Проверяет каждое правило на готовых бургерах.
+     */
+    @Test
+    public void checkShouldReportFirstViolatedRule() {
+        assertNull(rules.check(burger(blackBun, hotSauce, cutlet, hotSauce, sausage)));
+        assertEquals(BurgerRules.Violation.NO_BUN, rules.check(burger(null, cutlet)));
+        assertEquals(BurgerRules.Violation.TOO_MANY_LAYERS, rules.check(burger(blackBun, cutlet, cutlet, cutlet,
+                cutlet, cutlet)));
+        assertEquals(BurgerRules.Violation.TOO_MANY_OF_TYPE, rules.check(burger(blackBun, hotSauce, hotSauce,
+                hotSauce)));
+        assertEquals(BurgerRules.Violation.BANNED_PAIR, rules.check(burger(blackBun, sourCream, cutlet, hotSauce)));
+        assertEquals(BurgerRules.Violation.NOT_IN_CATALOG, rules.check(burger(new Bun("foreign bun", 100))));
+        assertEquals(BurgerRules.Violation.NOT_IN_CATALOG, rules.check(burger(blackBun,
+                new Ingredient(IngredientType.FILLING, "foreign", 100))));
+        assertNull(BurgerRules.none().compile(catalog).check(new Burger()));
+    }
+
+    /**
+     * Проверяет, что удаление слоя снимает запрет и лимиты в пошаговой проверке.
+     */
+    @Test
+    public void sessionShouldTrackAddedAndRemovedLayers() {
+        BurgerRules.Session session = rules.session();
+        assertEquals(BurgerRules.Violation.NO_BUN, session.check());
+        session.setBun(blackBun);
+        session.add(hotSauce);
+        session.add(new Ingredient(IngredientType.SAUCE, "foreign", 100));
+
+        assertEquals(BurgerRules.Violation.BANNED_PAIR, session.checkAdd(sourCream));
+        session.add(hotSauce);
+        assertEquals(BurgerRules.Violation.TOO_MANY_OF_TYPE, session.checkAdd(1));
+        session.remove(hotSauce);
+        session.remove(hotSauce);
+        session.remove(new Ingredient(IngredientType.SAUCE, "foreign", 100));
+        assertNull(session.checkAdd(sourCream));
+
+        session.add(sourCream);
+        session.add(hotSauce);
+        assertEquals(BurgerRules.Violation.BANNED_PAIR, session.check());
+        session.remove(sourCream);
+        assertNull(session.check());
+    }
+
+    /**
+     * Проверяет, что состояние превышения лимитов видно в полной проверке.
+     */
+    @Test
+    public void sessionCheckShouldReportLimitsExceededWithoutCheckAdd() {
+        BurgerRules.Session session = rules.session();
+        session.setBun(blackBun);
+        for (int i = 0; i < 3; i++) {
+            session.add(hotSauce);
+        }
+        assertEquals(BurgerRules.Violation.TOO_MANY_OF_TYPE, session.check());
+        session.add(cutlet);
+        session.add(cutlet);
+        assertEquals(BurgerRules.Violation.TOO_MANY_LAYERS, session.check());
+    }
+
+    /**
+     * Проверяет, что параллельная проверка пакета совпадает с последовательной и с проверкой по одному.
+     */
+    @Test
+    public void checkAllShouldMatchSingleChecksInParallel() {
+        Random random = new Random(5);
+        List<BurgerRecord> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int[] ids = new int[random.nextInt(6)];
+            for (int layer = 0; layer < ids.length; layer++) {
+                ids[layer] = random.nextInt(catalog.ingredients().size());
+            }
+            orders.add(BurgerRecord.of(catalog, random.nextInt(catalog.buns().size()), ids));
+        }
+        orders.add(BurgerRecord.of(new Database().catalog(), 0));
+
+        BurgerRules.Violation[] expected = new BurgerRules.Violation[orders.size()];
+        for (int i = 0; i < expected.length - 1; i++) {
+            expected[i] = rules.check(orders.get(i).toBurger());
+            assertSame(expected[i], rules.check(orders.get(i)));
+        }
+        expected[expected.length - 1] = BurgerRules.Violation.NOT_IN_CATALOG;
+
+        assertArrayEquals(expected, rules.checkAll(orders));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        assertArrayEquals(expected, rules.checkAll(orders, pool));
+        pool.shutdown();
+        assertTrue(Arrays.asList(expected).contains(null));
+        assertTrue(Arrays.asList(expected).contains(BurgerRules.Violation.BANNED_PAIR));
+    }
+
+    /**
+     * Проверяет, что бургер с правилами отклоняет нарушающее изменение и не меняется.
+     */
+    @Test
+    public void burgerShouldRejectEditThatBreaksRules() {
+        Burger burger = new Burger();
+        burger.setRules(rules);
+        burger.addIngredient(hotSauce);
+        assertEquals(BurgerRules.Violation.NO_BUN, burger.checkRules());
+
+        try {
+            burger.addIngredient(sourCream);
+            fail("Запрещённое сочетание должно отклоняться");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Нарушено правило сборки: " + BurgerRules.Violation.BANNED_PAIR.getDescription(),
+                    e.getMessage());
+        }
+        assertEquals(List.of(hotSauce), burger.ingredients);
+
+        burger.removeIngredient(0);
+        burger.addIngredient(sourCream);
+        burger.setBuns(blackBun);
+        assertNull(burger.checkRules());
+        assertSame(rules, burger.getRules());
+    }
+
+    /**
+     * Проверяет, что отклонённое перемещение слоя не сбивает счётчики правил.
+     */
+    @Test
+    public void rejectedMoveShouldKeepRulesState() {
+        Burger burger = burger(blackBun, hotSauce, cutlet);
+        burger.setRules(rules);
+        try {
+            burger.moveIngredient(0, 2);
+            fail("Индекс за концом списка должен отклоняться");
+        } catch (IndexOutOfBoundsException expected) {
+            assertEquals(List.of(hotSauce, cutlet), burger.ingredients);
+        }
+
+        burger.addIngredient(hotSauce);
+        burger.addIngredient(cutlet);
+        assertNull(burger.checkRules());
+        try {
+            burger.addIngredient(cutlet);
+            fail("Пятый слой должен отклоняться");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(4, burger.ingredients.size());
+        }
+    }
+
+    /**
+     * Проверяет, что обязательную булочку нельзя снять.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void setBunsShouldRejectNullWhenBunRequired() {
+        Burger burger = new Burger();
+        burger.setRules(rules);
+        burger.setBuns(blackBun);
+
+        burger.setBuns(null);
+    }
+
+    /**
+     * Проверяет, что правила нельзя подключить к бургеру, который их уже нарушает.
+     */
+    @Test
+    public void setRulesShouldRejectInvalidBurger() {
+        Burger burger = burger(new Bun("foreign bun", 100));
+        try {
+            burger.setRules(rules);
+            fail("Булочка не из каталога должна отклоняться");
+        } catch (IllegalArgumentException expected) {
+            assertNull(burger.getRules());
+        }
+
+        burger = burger(null, hotSauce, sourCream);
+        try {
+            burger.setRules(rules);
+            fail("Запрещённое сочетание должно отклоняться");
+        } catch (IllegalArgumentException expected) {
+            burger.addIngredient(hotSauce);
+        }
+    }
+
+    /**
+     * Проверяет, что отмена и повтор возвращают состояние правил, а отключение правил снимает проверки.
+     */
+    @Test
+    public void undoShouldRestoreRulesState() {
+        Burger burger = new Burger();
+        burger.setHistoryDepth(5);
+        burger.setBuns(blackBun);
+        burger.setRules(rules);
+        assertFalse(burger.canUndo());
+
+        burger.addIngredient(hotSauce);
+        assertTrue(burger.undo());
+        burger.addIngredient(sourCream);
+        assertTrue(burger.undo());
+        burger.addIngredient(hotSauce);
+        burger.addIngredient(hotSauce);
+        assertFalse(burger.redo());
+        assertTrue(burger.undo());
+        assertTrue(burger.redo());
+        try {
+            burger.addIngredient(hotSauce);
+            fail("Третий соус должен отклоняться");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(2, burger.ingredients.size());
+        }
+
+        burger.setRules(null);
+        burger.addIngredient(hotSauce);
+        assertNull(burger.checkRules());
+        assertNull(burger.getRules());
+    }
+
+    /**
+     * Проверяет, что отмена и повтор удаления слоя и смены булочки возвращают счётчики правил.
+     */
+    @Test
+    public void undoShouldRevertRemovedLayerInRulesState() {
+        Burger burger = new Burger();
+        burger.setHistoryDepth(5);
+        burger.setRules(rules);
+        burger.addIngredient(hotSauce);
+        burger.removeIngredient(0);
+        burger.setBuns(blackBun);
+
+        assertTrue(burger.undo());
+        assertEquals(BurgerRules.Violation.NO_BUN, burger.checkRules());
+        assertTrue(burger.undo());
+        try {
+            burger.addIngredient(sourCream);
+            fail("Сочетание с возвращённым соусом должно отклоняться");
+        } catch (IllegalArgumentException expected) {
+            assertEquals(1, burger.ingredients.size());
+        }
+
+        assertTrue(burger.redo());
+        assertTrue(burger.redo());
+        assertNull(burger.checkRules());
+        burger.addIngredient(sourCream);
+        burger.addIngredient(sourCream);
+        assertEquals(2, burger.ingredients.size());
+    }
+
+    /**
+     * Проверяет генерацию исключения для запрета ингредиента с самим собой.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void banShouldThrowExceptionForSameIngredient() {
+        BurgerRules.none().ban(cutlet, cutlet);
+    }
+
+    /**
+     * Проверяет генерацию исключений для отрицательных лимитов.
+     */
+    @Test
+    public void limitsShouldRejectNegativeValues() {
+        try {
+            BurgerRules.none().maxLayers(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // ожидаемое исключение
+        }
+        try {
+            BurgerRules.none().atMost(IngredientType.FILLING, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // ожидаемое исключение
+        }
+    }
+
+    /**
+     * Проверяет генерацию исключения для записи другого каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void checkShouldThrowExceptionForRecordOfOtherCatalog() {
+        rules.check(BurgerRecord.of(new Database().catalog(), 0));
+    }
+
+    private static Burger burger(Bun bun, Ingredient... ingredients) {
+        Burger burger = new Burger();
+        burger.setBuns(bun);
+        for (Ingredient ingredient : ingredients) {
+            burger.addIngredient(ingredient);
+        }
+        return burger;
+    }
+}
@@ -4,7 +4,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -66,12 +70,12 @@ public class BurgerTest {
     public void setUp() {
         burger = new Burger();
 
-        when(bun.getPrice()).thenReturn(BUN_PRICE);
+        when(bun.getPriceMinor()).thenReturn(Money.fromFloat(BUN_PRICE));
         when(bun.getName()).thenReturn("black bun");
 
         when(chiliSauceIngredient.getType()).thenReturn(IngredientType.SAUCE);
         when(chiliSauceIngredient.getName()).thenReturn("chili sauce");
-        when(chiliSauceIngredient.getPrice()).thenReturn(CHILI_SAUCE_PRICE);
+        when(chiliSauceIngredient.getPriceMinor()).thenReturn(Money.fromFloat(CHILI_SAUCE_PRICE));
     }
 
     /**
@@ -185,45 +189,45 @@ public class BurgerTest {
 
 
     /**
-     * Проверяет, что при расчете цены бургера вызывается метод getPrice() у булки
+     * Проверяет, что при расчете цены бургера вызывается метод getPriceMinor() у булки
      */
     @Test
-    public void getPriceShouldCallBunGetPrice() {
+    public void getPriceShouldCallBunGetPriceMinor() {
         setupSauceIngredient();
         setupFillingIngredient();
         createBurgerWithBunAndTwoIngredients();
 
         burger.getPrice();
 
-        verify(bun).getPrice();
+        verify(bun).getPriceMinor();
     }
 
     /**
-     * Проверяет, что при расчете цены бургера вызывается метод getPrice() у первого ингредиента
+     * Проверяет, что при расчете цены бургера вызывается метод getPriceMinor() у первого ингредиента
      */
     @Test
-    public void getPriceShouldCallFirstIngredientGetPrice() {
+    public void getPriceShouldCallFirstIngredientGetPriceMinor() {
         setupSauceIngredient();
         setupFillingIngredient();
         createBurgerWithBunAndTwoIngredients();
 
         burger.getPrice();
 
-        verify(hotSauceIngredient).getPrice();
+        verify(hotSauceIngredient).getPriceMinor();
     }
 
     /**
-     * Проверяет, что при расчете цены бургера вызывается метод getPrice() у второго ингредиента
+     * Проверяет, что при расчете цены бургера вызывается метод getPriceMinor() у второго ингредиента
      */
     @Test
-    public void getPriceShouldCallSecondIngredientGetPrice() {
+    public void getPriceShouldCallSecondIngredientGetPriceMinor() {
         setupSauceIngredient();
         setupFillingIngredient();
         createBurgerWithBunAndTwoIngredients();
 
         burger.getPrice();
 
-        verify(cutletFillingIngredient).getPrice();
+        verify(cutletFillingIngredient).getPriceMinor();
     }
 
     /**
@@ -344,6 +348,29 @@ public class BurgerTest {
         burger.moveIngredient(5, 0);
     }
 
+    /**
+     * Тестирует, что перемещение на несуществующую позицию не меняет бургер.
+     * Проверяет состав, цену и чек после отклонённого перемещения.
+     */
+    @Test
+    public void moveIngredientShouldKeepBurgerWhenNewIndexInvalid() {
+        setupSauceIngredient();
+        setupFillingIngredient();
+        createBurgerWithBunAndTwoIngredients();
+        String receipt = burger.getReceipt();
+
+        try {
+            burger.moveIngredient(0, 2);
+        } catch (IndexOutOfBoundsException expected) {
+            // ожидаемое исключение
+        }
+
+        assertEquals(2, burger.ingredients.size());
+        assertSame(hotSauceIngredient, burger.ingredients.get(0));
+        assertEquals(TOTAL_BURGER_PRICE, burger.getPrice(), DELTA);
+        assertEquals(receipt, burger.getReceipt());
+    }
+
     /**
      * Тестирует расчет стоимости бургера только с булкой.
      * Проверяет, что стоимость равна удвоенной цене булки.
@@ -357,13 +384,115 @@ public class BurgerTest {
         assertEquals(BUN_ONLY_PRICE, price, DELTA);
     }
 
+    /**
+     * Тестирует пересчёт стоимости после удаления ингредиента.
+     * Проверяет, что цена удалённого ингредиента вычитается из итога.
+     */
+    @Test
+    public void getPriceShouldDecreaseAfterRemoveIngredient() {
+        setupSauceIngredient();
+        setupFillingIngredient();
+        createBurgerWithBunAndTwoIngredients();
+        burger.removeIngredient(0);
+
+        float price = burger.getPrice();
+
+        assertEquals(BUN_ONLY_PRICE + CUTLET_PRICE, price, DELTA);
+    }
+
+    /**
+     * Тестирует, что перемещение ингредиента не меняет стоимость бургера.
+     */
+    @Test
+    public void getPriceShouldNotChangeAfterMoveIngredient() {
+        setupSauceIngredient();
+        setupFillingIngredient();
+        createBurgerWithBunAndTwoIngredients();
+        burger.moveIngredient(0, 1);
+
+        float price = burger.getPrice();
+
+        assertEquals(TOTAL_BURGER_PRICE, price, DELTA);
+    }
+
+    /**
+     * Тестирует, что многократные правки не накапливают ошибку округления.
+     * Проверяет точное значение цены после тысячи добавлений и удалений копеечного ингредиента.
+     */
+    @Test
+    public void getPriceShouldStayExactAfterRepeatedEdits() {
+        when(hotSauceIngredient.getPriceMinor()).thenReturn(10L);
+        burger.setBuns(bun);
+
+        for (int i = 0; i < 1000; i++) {
+            burger.addIngredient(hotSauceIngredient);
+        }
+        for (int i = 0; i < 999; i++) {
+            burger.removeIngredient(0);
+        }
+
+        assertEquals(200.1f, burger.getPrice(), 0f);
+    }
+
+    /**
+     * Тестирует генерацию исключения при расчёте цены бургера без булки.
+     * Ожидает исключение NullPointerException после установки пустой булки.
+     */
+    @Test(expected = NullPointerException.class)
+    public void getPriceShouldThrowExceptionWhenBunNotSet() {
+        burger.setBuns(null);
+        burger.getPrice();
+    }
+
+    /**
+     * Тестирует печать чека в переданный буфер.
+     * Проверяет, что текст совпадает с результатом getReceipt().
+     */
+    @Test
+    public void appendReceiptShouldMatchGetReceipt() throws IOException {
+        setupSauceIngredient();
+        setupFillingIngredient();
+        createBurgerWithBunAndTwoIngredients();
+        CharBuffer receipt = CharBuffer.allocate(256);
+
+        burger.appendReceipt(receipt);
+
+        assertEquals(burger.getReceipt(), receipt.flip().toString());
+    }
+
+    /**
+     * Тестирует, что чек запоминается до изменения бургера.
+     * Проверяет, что повторный вызов не обращается к булочке заново.
+     */
+    @Test
+    public void getReceiptShouldReuseReceiptUntilBurgerChanges() {
+        burger.setBuns(bun);
+        burger.getReceipt();
+        burger.getReceipt();
+
+        verify(bun, times(2)).getName();
+    }
+
+    /**
+     * Тестирует, что изменение бургера сбрасывает запомненный чек.
+     */
+    @Test
+    public void getReceiptShouldRebuildReceiptAfterAddIngredient() {
+        setupSauceIngredient();
+        burger.setBuns(bun);
+        String before = burger.getReceipt();
+        burger.addIngredient(hotSauceIngredient);
+
+        assertNotEquals(before, burger.getReceipt());
+    }
+
     /**
      * Настраивает мок ингредиента с начинкой.
      */
     private void setupFillingIngredient() {
         when(cutletFillingIngredient.getType()).thenReturn(IngredientType.FILLING);
         when(cutletFillingIngredient.getName()).thenReturn("cutlet");
-        when(cutletFillingIngredient.getPrice()).thenReturn(CUTLET_PRICE);
+        when(cutletFillingIngredient.getPriceMinor()).thenReturn(Money.fromFloat(CUTLET_PRICE));
     }
 
     /**
@@ -381,7 +510,7 @@ public class BurgerTest {
     private void setupSauceIngredient() {
         when(hotSauceIngredient.getType()).thenReturn(IngredientType.SAUCE);
         when(hotSauceIngredient.getName()).thenReturn("hot sauce");
-        when(hotSauceIngredient.getPrice()).thenReturn(HOT_SAUCE_PRICE);
+        when(hotSauceIngredient.getPriceMinor()).thenReturn(Money.fromFloat(HOT_SAUCE_PRICE));
     }
 
     /**
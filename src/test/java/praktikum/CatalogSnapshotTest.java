@@ -0,0 +1,137 @@
+package praktikum;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Тестовый класс для проверки двоичного снимка каталога.
+ *
+ * @see CatalogSnapshot
+ * @see Database#writeSnapshot(Path)
+ */
+public class CatalogSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Проверяет, что база из снимка выдаёт те же позиции, цены, индексы и чек, что исходная.
+     */
+    @Test
+    public void snapshotShouldRestoreCatalog() throws IOException {
+        Catalog expected = new Catalog(7, List.of(new Bun("чёрная булка", 100.25f)),
+                List.of(new Ingredient(IngredientType.SAUCE, "соус 🌶", 50),
+                        new Ingredient(IngredientType.FILLING, "cutlet", 75.5f)));
+        Path snapshot = folder.getRoot().toPath().resolve("catalog.snapshot");
+        CatalogSnapshot.write(expected, snapshot);
+
+        Database database = new Database(snapshot);
+        Catalog catalog = database.catalog();
+
+        assertEquals(7, catalog.version());
+        assertEquals(expected.fingerprint(), catalog.fingerprint());
+        assertEquals(1, catalog.buns().size());
+        assertEquals(2, catalog.ingredients().size());
+        assertEquals(10025, catalog.bun(0).getPriceMinor());
+        assertEquals("соус 🌶", catalog.ingredient(0).getName());
+        assertEquals(IngredientType.FILLING, catalog.ingredient(1).getType());
+        assertSame(catalog.ingredient(1), catalog.ingredientByName("cutlet"));
+        assertEquals(1, catalog.ingredientId(catalog.ingredient(1)));
+
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(0));
+        burger.addIngredient(catalog.ingredient(0));
+        Burger original = new Burger();
+        original.setBuns(expected.bun(0));
+        original.addIngredient(expected.ingredient(0));
+        assertEquals(original.getReceipt(), burger.getReceipt());
+    }
+
+    /**
+     * Проверяет, что снимок, сохранённый из базы, перезагружается с растущей версией.
+     */
+    @Test
+    public void reloadShouldReadNewSnapshot() throws IOException {
+        Path snapshot = folder.getRoot().toPath().resolve("catalog.snapshot");
+        new Database().writeSnapshot(snapshot);
+        Database database = new Database(snapshot);
+        Bun bun = database.catalog().bun(0);
+
+        database.reload();
+
+        assertEquals(1, database.catalog().version());
+        assertEquals(bun.getName(), database.catalog().bun(0).getName());
+        assertEquals(6, database.availableIngredients().size());
+    }
+
+    /**
+     * Проверяет, что CSV меню не принимается за снимок, а повреждённые снимки отклоняются.
+     */
+    @Test
+    public void readShouldRejectDamagedSnapshot() throws IOException {
+        Path file = folder.newFile("menu.csv").toPath();
+        Files.write(file, "bun,black bun,100\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, new Database(file).availableBuns().size());
+        Files.write(file, new byte[]{(byte) 0xCA});
+        assertReadFails(file);
+
+        ByteBuffer header = ByteBuffer.allocate(28).putInt(CatalogSnapshot.MAGIC).putInt(99);
+        Files.write(file, header.array());
+        assertReadFails(file);
+
+        header.putInt(4, CatalogSnapshot.FORMAT_VERSION).putInt(20, 1000);
+        Files.write(file, header.array());
+        assertReadFails(file);
+
+        ByteBuffer table = ByteBuffer.allocate(36).put(header.array()).putInt(20, 1).putInt(28, 36).putInt(32, 37);
+        Files.write(file, table.array());
+        assertReadFails(file);
+
+        table.putInt(32, 44);
+        Files.write(file, table.array());
+        assertReadFails(file);
+    }
+
+    /**
+     * Проверяет ошибку для записи с неизвестным типом ингредиента, обнаруженную при первом обращении.
+     */
+    @Test
+    public void entryWithUnknownTypeShouldFailOnFirstAccess() throws IOException {
+        Path snapshot = folder.getRoot().toPath().resolve("catalog.snapshot");
+        CatalogSnapshot.write(new Catalog(List.of(), List.of(new Ingredient(IngredientType.SAUCE, "x", 1))),
+                snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[36] = 9;
+        Files.write(snapshot, bytes);
+
+        Catalog catalog = CatalogSnapshot.read(snapshot, 0);
+        try {
+            catalog.ingredient(0);
+            fail("Неизвестный тип должен отклоняться");
+        } catch (IllegalStateException expected) {
+            assertTrue(expected.getMessage().contains("9"));
+        }
+    }
+
+    private static void assertReadFails(Path file) {
+        try {
+            CatalogSnapshot.read(file, 0);
+            fail("Файл не должен читаться как снимок");
+        } catch (IOException expected) {
+            // ожидаемая ошибка формата
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Тестовый класс для проверки индексов каталога меню.
+ *
+ * @see Catalog
+ */
+public class CatalogTest {
+
+    private final Catalog catalog = new Database().catalog();
+
+    /**
+     * Проверяет поиск ингредиента по названию.
+     */
+    @Test
+    public void ingredientByNameShouldFindIngredient() {
+        assertSame(catalog.ingredient(5), catalog.ingredientByName("sausage"));
+    }
+
+    /**
+     * Проверяет, что поиск отсутствующей булочки возвращает null.
+     */
+    @Test
+    public void bunByNameShouldReturnNullForUnknownName() {
+        assertNull(catalog.bunByName("green bun"));
+    }
+
+    /**
+     * Проверяет выборку ингредиентов по типу.
+     */
+    @Test
+    public void ingredientsOfTypeShouldReturnOnlySauces() {
+        assertEquals(catalog.ingredients().subList(0, 3), catalog.ingredientsOfType(IngredientType.SAUCE));
+    }
+
+    /**
+     * Проверяет выборку ингредиентов по диапазону цен с включёнными границами.
+     */
+    @Test
+    public void ingredientsInPriceRangeShouldIncludeBounds() {
+        List<Ingredient> found = catalog.ingredientsInPriceRange(200, 300);
+
+        assertEquals(4, found.size());
+    }
+
+    /**
+     * Проверяет, что пустой диапазон цен не ломает поиск.
+     */
+    @Test
+    public void bunsInPriceRangeShouldReturnEmptyListForInvertedRange() {
+        assertEquals(0, catalog.bunsInPriceRange(300, 100).size());
+    }
+
+    /**
+     * Проверяет, что каталог нельзя изменить снаружи.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void bunsShouldBeUnmodifiable() {
+        catalog.buns().clear();
+    }
+
+    /**
+     * Проверяет запрет повторяющихся названий.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorShouldRejectDuplicateNames() {
+        Bun bun = new Bun("black bun", 100);
+        new Catalog(Arrays.asList(bun, bun), catalog.ingredients());
+    }
+
+    /**
+     * Проверяет, что отпечаток зависит только от содержимого: не от версии, а от цен, названий и порядка позиций.
+     */
+    @Test
+    public void fingerprintShouldDependOnContentOnly() {
+        List<Bun> buns = catalog.buns();
+        Bun cheaper = Bun.ofMinor(buns.get(0).getName(), buns.get(0).getPriceMinor() - 1);
+
+        assertEquals(catalog.fingerprint(), new Database().catalog().fingerprint());
+        assertEquals(catalog.fingerprint(), new Catalog(5, buns, catalog.ingredients()).fingerprint());
+        assertNotEquals(catalog.fingerprint(),
+                new Catalog(List.of(cheaper, buns.get(1), buns.get(2)), catalog.ingredients()).fingerprint());
+        assertNotEquals(catalog.fingerprint(),
+                new Catalog(List.of(buns.get(1), buns.get(0), buns.get(2)), catalog.ingredients()).fingerprint());
+        assertNotEquals(catalog.fingerprint(),
+                new Catalog(List.of(new Bun("black bum", 100), buns.get(1), buns.get(2)), catalog.ingredients())
+                        .fingerprint());
+    }
+}
@@ -0,0 +1,139 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Тестовый класс для проверки хранилища составов без повторов.
+ *
+ * @see CompositionStore
+ */
+public class CompositionStoreTest {
+
+    private final Catalog catalog = new Database().catalog();
+    private final CompositionStore store = new CompositionStore(catalog);
+
+    /**
+     * Проверяет, что одинаковые бургеры получают один и тот же экземпляр состава.
+     */
+    @Test
+    public void addShouldReturnSameInstanceForSameComposition() {
+        CompositionStore.Composition first = store.add(burger(0, 1, 3));
+        CompositionStore.Composition second = store.add(BurgerRecord.of(catalog, 0, 1, 3));
+
+        assertSame(first, second);
+        assertEquals(2, first.getOrders());
+        assertEquals(1, store.size());
+    }
+
+    /**
+     * Проверяет, что цена состава, не помещающаяся в long, даёт исключение, а не отрицательную сумму.
+     */
+    @Test(expected = ArithmeticException.class)
+    public void addShouldThrowExceptionOnPriceOverflow() {
+        Catalog expensive = new Catalog(List.of(Bun.ofMinor("golden bun", Long.MAX_VALUE / 2)),
+                List.of(Ingredient.ofMinor(IngredientType.SAUCE, "truffle sauce", 2)));
+
+        new CompositionStore(expensive).add(BurgerRecord.of(expensive, 0, 0));
+    }
+
+    /**
+     * Проверяет, что порядок слоёв и булочка различают составы.
+     */
+    @Test
+    public void addShouldDistinguishLayerOrderAndBun() {
+        CompositionStore.Composition composition = store.add(burger(0, 1, 3));
+
+        assertNotSame(composition, store.add(burger(0, 3, 1)));
+        assertNotSame(composition, store.add(burger(1, 1, 3)));
+        assertEquals(3, store.size());
+    }
+
+    /**
+     * Проверяет цену и состав, сохранённые в составе.
+     */
+    @Test
+    public void compositionShouldKeepPriceAndLayers() {
+        Burger burger = burger(2, 0, 5, 5);
+        CompositionStore.Composition composition = store.add(burger);
+
+        assertEquals(burger.getPriceMinor(), composition.getPriceMinor());
+        assertEquals(burger.ingredients, composition.ingredients());
+        assertSame(burger.bun, composition.bun());
+        assertEquals(burger.getReceipt(), composition.toBurger().getReceipt());
+    }
+
+    /**
+     * Проверяет учёт заказов из нескольких потоков.
+     */
+    @Test
+    public void addShouldCountOrdersFromManyThreads() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    store.add(BurgerRecord.of(catalog, i % 3, i % 6));
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        long counted = 0;
+        List<CompositionStore.Composition> compositions = store.compositions();
+        for (CompositionStore.Composition composition : compositions) {
+            counted += composition.getOrders();
+        }
+        assertEquals(6, compositions.size());
+        assertEquals(40_000, counted);
+        assertEquals(40_000, store.orders());
+    }
+
+    /**
+     * Проверяет порядок составов по убыванию числа заказов.
+     */
+    @Test
+    public void compositionsShouldBeSortedByOrders() {
+        store.add(burger(0));
+        for (int i = 0; i < 3; i++) {
+            store.add(burger(1, 2));
+        }
+
+        List<CompositionStore.Composition> expected = new ArrayList<>();
+        expected.add(store.add(burger(1, 2)));
+        expected.add(store.add(burger(0)));
+        assertEquals(expected, store.compositions());
+    }
+
+    /**
+     * Проверяет генерацию исключения для позиции не из каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void addShouldThrowExceptionForForeignIngredient() {
+        Burger burger = burger(0);
+        burger.addIngredient(new Ingredient(IngredientType.SAUCE, "hot sauce", 100));
+
+        store.add(burger);
+    }
+
+    /**
+     * Проверяет генерацию исключения для записи другого каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void addShouldThrowExceptionForRecordOfOtherCatalog() {
+        store.add(BurgerRecord.of(new Database().catalog(), 0));
+    }
+
+    private Burger burger(int bunId, int... ingredientIds) {
+        return BurgerRecord.of(catalog, bunId, ingredientIds).toBurger();
+    }
+}
@@ -0,0 +1,137 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Тестовый класс для проверки потокобезопасного бургера.
+ * Содержит обычные тесты и нагрузочный тест с одновременными изменениями из многих потоков.
+ *
+ * @see ConcurrentBurger
+ */
+public class ConcurrentBurgerTest {
+
+    private static final float DELTA = 0.001f;
+    private static final float BUN_ONLY_PRICE = 200f;
+    private static final int THREADS = 8;
+    private static final int EDITS_PER_THREAD = 20_000;
+
+    private final Database database = new Database();
+    private ConcurrentBurger burger;
+
+    @Before
+    public void setUp() {
+        burger = new ConcurrentBurger();
+        burger.setBuns(database.availableBuns().get(0));
+    }
+
+    /**
+     * Проверяет, что перемещение слоя работает так же, как в Burger.
+     */
+    @Test
+    public void moveIngredientShouldMatchBurger() {
+        Burger expected = new Burger();
+        expected.setBuns(database.availableBuns().get(0));
+        for (Ingredient ingredient : database.availableIngredients()) {
+            burger.addIngredient(ingredient);
+            expected.addIngredient(ingredient);
+        }
+
+        burger.moveIngredient(0, 5);
+        expected.moveIngredient(0, 5);
+
+        assertEquals(expected.getReceipt(), burger.getReceipt());
+    }
+
+    /**
+     * Проверяет генерацию исключения при удалении по неверному индексу.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeIngredientShouldThrowExceptionWhenIndexInvalid() {
+        burger.removeIngredient(0);
+    }
+
+    /**
+     * Проверяет генерацию исключения при перемещении на неверную позицию.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void moveIngredientShouldThrowExceptionWhenNewIndexInvalid() {
+        burger.addIngredient(database.availableIngredients().get(0));
+        burger.moveIngredient(0, 1);
+    }
+
+    /**
+     * Проверяет, что копия в обычный бургер сохраняет цену.
+     */
+    @Test
+    public void toBurgerShouldKeepPrice() {
+        burger.addIngredient(database.availableIngredients().get(3));
+
+        assertEquals(burger.getPrice(), burger.toBurger().getPrice(), DELTA);
+    }
+
+    /**
+     * Проверяет генерацию исключения при расчёте цены без булки.
+     */
+    @Test(expected = NullPointerException.class)
+    public void getPriceShouldThrowExceptionWhenBunNotSet() {
+        burger.setBuns(null);
+        burger.getPrice();
+    }
+
+    /**
+     * Нагрузочный тест: потоки одновременно добавляют, перемещают и удаляют слои, а читатели считают цену.
+     * Каждый поток удаляет столько же слоёв, сколько добавил, поэтому в конце остаётся только булочка.
+     * Потоки удаляют и чужие слои, значит цена сойдётся, только если каждое изменение применилось ровно один раз.
+     */
+    @Test
+    public void concurrentEditsShouldKeepPriceConsistent() throws Exception {
+        List<Ingredient> ingredients = database.availableIngredients();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                    burger.addIngredient(ingredients.get(random.nextInt(ingredients.size())));
+                    burger.addIngredient(ingredients.get(random.nextInt(ingredients.size())));
+                    // Каждый поток сначала добавляет два слоя, поэтому в бургере всегда есть хотя бы два слоя
+                    burger.moveIngredient(0, 1);
+                    burger.removeIngredient(0);
+                    burger.removeIngredient(0);
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < EDITS_PER_THREAD; i++) {
+                burger.getPrice();
+                burger.getReceipt();
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(0, burger.ingredients().size());
+        assertEquals(BUN_ONLY_PRICE, burger.getPrice(), DELTA);
+    }
+}
@@ -0,0 +1,196 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки загрузки и перезагрузки меню из файла.
+ *
+ * @see Database
+ */
+public class DatabaseTest {
+
+    private static final float DELTA = 0.001f;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path menu;
+
+    @Before
+    public void setUp() throws IOException {
+        menu = folder.newFile("menu.csv").toPath();
+        writeMenu("# тип,название,цена\nbun,black bun,100\nsauce,hot sauce,50\nfilling,cutlet,75\n", 1);
+    }
+
+    /**
+     * Проверяет загрузку ингредиентов из файла.
+     */
+    @Test
+    public void constructorShouldLoadIngredientsFromFile() throws IOException {
+        Database database = new Database(menu);
+
+        assertEquals(2, database.availableIngredients().size());
+    }
+
+    /**
+     * Проверяет, что без изменений файла каталог не перезагружается.
+     */
+    @Test
+    public void reloadIfChangedShouldSkipUnchangedFile() throws IOException {
+        Database database = new Database(menu);
+
+        assertFalse(database.reloadIfChanged());
+    }
+
+    /**
+     * Проверяет, что после изменения файла появляется новая версия каталога.
+     */
+    @Test
+    public void reloadIfChangedShouldSwapCatalogWhenFileChanged() throws IOException {
+        Database database = new Database(menu);
+        writeMenu("bun,black bun,120\nsauce,hot sauce,50\n", 2);
+
+        assertTrue(database.reloadIfChanged());
+        assertEquals(1, database.catalog().version());
+    }
+
+    /**
+     * Проверяет, что бургер, собранный до перезагрузки, сохраняет старую цену.
+     */
+    @Test
+    public void burgerBuiltBeforeReloadShouldKeepOldPrice() throws IOException {
+        Database database = new Database(menu);
+        Burger burger = new Burger();
+        burger.setBuns(database.availableBuns().get(0));
+        burger.addIngredient(database.catalog().ingredientByName("cutlet"));
+
+        writeMenu("bun,black bun,120\nfilling,cutlet,80\n", 2);
+        database.reloadIfChanged();
+
+        assertEquals(275f, burger.getPrice(), DELTA);
+    }
+
+    /**
+     * Проверяет, что неизменившаяся позиция после перезагрузки остаётся тем же объектом.
+     */
+    @Test
+    public void reloadShouldReuseUnchangedEntries() throws IOException {
+        Database database = new Database(menu);
+        Ingredient cutlet = database.catalog().ingredientByName("cutlet");
+        writeMenu("bun,black bun,120\nfilling,cutlet,75\n", 2);
+
+        database.reload();
+
+        assertSame(cutlet, database.catalog().ingredientByName("cutlet"));
+    }
+
+    /**
+     * Проверяет, что ошибка в файле не заменяет рабочую версию каталога.
+     */
+    @Test
+    public void reloadShouldKeepPreviousCatalogOnError() throws IOException {
+        Database database = new Database(menu);
+        Catalog before = database.catalog();
+        writeMenu("bun,black bun,дорого\n", 2);
+
+        try {
+            database.reload();
+        } catch (IOException expected) {
+            // ожидаемая ошибка формата
+        }
+
+        assertEquals(before, database.catalog());
+    }
+
+    /**
+     * Проверяет отказ от неизвестного типа ингредиента.
+     */
+    @Test(expected = IOException.class)
+    public void constructorShouldRejectUnknownType() throws IOException {
+        writeMenu("bun,black bun,100\ntopping,cheese,10\n", 2);
+        new Database(menu);
+    }
+
+    /**
+     * Проверяет, что ошибка фоновой перезагрузки передаётся получателю, а каталог остаётся прежним.
+     */
+    @Test
+    public void watchShouldReportReloadErrorToCallback() throws Exception {
+        Database database = new Database(menu);
+        Catalog before = database.catalog();
+        writeMenu("bun,black bun,дорого\n", 2);
+        CompletableFuture<Exception> error = new CompletableFuture<>();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            database.watch(executor, 10, TimeUnit.MILLISECONDS, error::complete);
+
+            assertTrue(error.get(5, TimeUnit.SECONDS).getMessage().contains("неверная цена"));
+            assertSame(before, database.catalog());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Проверяет, что исключение слушателя передаётся получателю ошибок, а проверка файла продолжается.
+     */
+    @Test
+    public void watchShouldKeepPollingAfterListenerFailure() throws Exception {
+        Database database = new Database(menu);
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Catalog> reloaded = new CompletableFuture<>();
+        database.addCatalogListener(catalog -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("слушатель сломался");
+            }
+            reloaded.complete(catalog);
+        });
+        CompletableFuture<Exception> error = new CompletableFuture<>();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        writeMenu("bun,black bun,200\n", 2);
+
+        try {
+            database.watch(executor, 10, TimeUnit.MILLISECONDS, error::complete);
+            assertTrue(error.get(5, TimeUnit.SECONDS) instanceof IllegalStateException);
+
+            writeMenu("bun,black bun,300\n", 3);
+            assertEquals(300f, reloaded.get(5, TimeUnit.SECONDS).bun(0).getPrice(), DELTA);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Проверяет, что встроенное меню нельзя перезагрузить.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void reloadShouldFailForBuiltInMenu() throws IOException {
+        new Database().reload();
+    }
+
+    private void writeMenu(String content, int modifiedSeconds) throws IOException {
+        Files.write(menu, content.getBytes(StandardCharsets.UTF_8));
+        // Время изменения задаётся явно, чтобы тест не зависел от точности часов файловой системы
+        Files.setLastModifiedTime(menu, FileTime.fromMillis(modifiedSeconds * 1000L));
+    }
+}
@@ -0,0 +1,211 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки планировщика кухни.
+ *
+ * @see KitchenScheduler
+ */
+public class KitchenSchedulerTest {
+
+    private final Catalog catalog = new Database().catalog();
+    private final Ingredient sauce = catalog.ingredientByName("hot sauce");
+    private final Ingredient cutlet = catalog.ingredientByName("cutlet");
+    private final Ingredient sausage = catalog.ingredientByName("sausage");
+
+    /**
+     * Проверяет, что одинаковые слои ожидающих заказов готовятся одной партией.
+     */
+    @Test
+    public void sameLayersShouldBeCookedInOneBatch() throws Exception {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        KitchenScheduler kitchen = new KitchenScheduler(1, 4, (ingredient, portions) -> {
+            await(firstBatch);
+            batches.add(portions);
+        });
+
+        for (int i = 0; i < 4; i++) {
+            kitchen.submit(burger(cutlet, sauce));
+        }
+        firstBatch.countDown();
+        kitchen.close();
+
+        // Первая котлета ушла на гриль сразу, остальные три котлеты и четыре соуса – двумя партиями
+        assertEquals(List.of(1, 3, 4), batches);
+        assertEquals(8, kitchen.getPortionCount());
+    }
+
+    /**
+     * Проверяет, что слои одного заказа готовятся в порядке бургера даже на нескольких грилях.
+     */
+    @Test
+    public void layersShouldBeCookedInBurgerOrder() throws Exception {
+        List<Ingredient> cooked = Collections.synchronizedList(new ArrayList<>());
+        KitchenScheduler kitchen = new KitchenScheduler(3, 8, (ingredient, portions) -> cooked.add(ingredient));
+
+        Burger burger = burger(sausage, sauce, cutlet, sauce, sausage);
+        assertSame(burger, kitchen.submit(burger).get(5, TimeUnit.SECONDS));
+        kitchen.close();
+
+        assertEquals(burger.ingredients, cooked);
+    }
+
+    /**
+     * Проверяет, что в партию попадает не больше заказов, чем помещается в окно.
+     */
+    @Test
+    public void batchShouldNotExceedWindow() throws Exception {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        AtomicInteger largest = new AtomicInteger();
+        KitchenScheduler kitchen = new KitchenScheduler(1, 3, (ingredient, portions) -> {
+            await(firstBatch);
+            largest.accumulateAndGet(portions, Math::max);
+        });
+
+        List<CompletableFuture<Burger>> orders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            orders.add(kitchen.submit(burger(cutlet, cutlet)));
+        }
+        firstBatch.countDown();
+        kitchen.close();
+
+        assertEquals(3, largest.get());
+        assertTrue(orders.stream().allMatch(order -> order.isDone() && !order.isCompletedExceptionally()));
+        assertEquals(40, kitchen.getPortionCount());
+    }
+
+    /**
+     * Проверяет, что редкий ингредиент не ждёт бесконечно за длинными очередями.
+     */
+    @Test
+    public void rareLayerShouldNotStarve() throws Exception {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        List<Ingredient> cooked = Collections.synchronizedList(new ArrayList<>());
+        KitchenScheduler kitchen = new KitchenScheduler(1, 4, (ingredient, portions) -> {
+            await(firstBatch);
+            cooked.add(ingredient);
+        });
+
+        for (int i = 0; i < 3; i++) {
+            kitchen.submit(burger(cutlet, cutlet, cutlet, cutlet, cutlet, cutlet));
+        }
+        CompletableFuture<Burger> rare = kitchen.submit(burger(sausage));
+        firstBatch.countDown();
+        rare.get(5, TimeUnit.SECONDS);
+        kitchen.close();
+
+        // Очередь котлет всегда длиннее, но сосиску обходят не больше window раз
+        assertEquals(5, cooked.indexOf(sausage));
+    }
+
+    /**
+     * Проверяет, что бургер без ингредиентов готов сразу.
+     */
+    @Test
+    public void burgerWithoutLayersShouldBeDoneImmediately() throws Exception {
+        KitchenScheduler kitchen = new KitchenScheduler(1, 1, (ingredient, portions) -> {
+        });
+
+        assertTrue(kitchen.submit(burger()).isDone());
+        kitchen.close();
+    }
+
+    /**
+     * Проверяет, что ошибка гриля завершает заказы партии, а кухня продолжает работать.
+     */
+    @Test
+    public void grillFailureShouldFailOnlyItsOrders() throws Exception {
+        KitchenScheduler kitchen = new KitchenScheduler(1, 4, (ingredient, portions) -> {
+            if (ingredient == sausage) {
+                throw new IllegalStateException("гриль сломался");
+            }
+        });
+
+        CompletableFuture<Burger> failed = kitchen.submit(burger(cutlet, sausage));
+        try {
+            failed.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Burger cooked = burger(cutlet, sauce);
+        assertSame(cooked, kitchen.submit(cooked).get(5, TimeUnit.SECONDS));
+        kitchen.close();
+
+        assertTrue(failed.isCompletedExceptionally());
+    }
+
+    /**
+     * Проверяет, что прерванное закрытие отменяет заказы, которые ещё не готовятся, и сохраняет флаг прерывания.
+     */
+    @Test
+    public void interruptedCloseShouldCancelWaitingOrders() throws Exception {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        KitchenScheduler kitchen = new KitchenScheduler(1, 1, (ingredient, portions) -> await(firstBatch));
+        CompletableFuture<Burger> cooking = kitchen.submit(burger(cutlet, sauce));
+        CompletableFuture<Burger> waiting = kitchen.submit(burger(cutlet));
+
+        Thread.currentThread().interrupt();
+        kitchen.close();
+
+        assertTrue(Thread.interrupted());
+        assertTrue(waiting.handle((burger, error) -> error).get() instanceof CancellationException);
+        firstBatch.countDown();
+        // Котлета доготовлена, но до соуса заказ не дошёл
+        assertTrue(cooking.handle((burger, error) -> error).get(5, TimeUnit.SECONDS) instanceof CancellationException);
+        assertEquals(1, kitchen.getPortionCount());
+    }
+
+    /**
+     * Проверяет генерацию исключения при заказе на закрытую кухню.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void submitShouldThrowExceptionWhenClosed() throws Exception {
+        KitchenScheduler kitchen = new KitchenScheduler(1, 1, (ingredient, portions) -> {
+        });
+        kitchen.close();
+
+        kitchen.submit(burger(cutlet));
+    }
+
+    /**
+     * Проверяет генерацию исключения без грилей.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorShouldThrowExceptionWithoutStations() {
+        new KitchenScheduler(0, 1, (ingredient, portions) -> {
+        });
+    }
+
+    private Burger burger(Ingredient... layers) {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(0));
+        for (Ingredient layer : layers) {
+            burger.addIngredient(layer);
+        }
+        return burger;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
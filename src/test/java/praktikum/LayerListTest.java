@@ -0,0 +1,148 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Тестовый класс для проверки списка слоёв на декартовом дереве.
+ * Результаты случайных операций сравниваются с {@link ArrayList}.
+ *
+ * @see LayerList
+ */
+public class LayerListTest {
+
+    private static final int OPERATIONS = 50_000;
+
+    private final Ingredient[] ingredients = new Database().availableIngredients().toArray(new Ingredient[0]);
+
+    /**
+     * Проверяет, что случайные вставки, удаления и перемещения дают тот же порядок, что и ArrayList.
+     */
+    @Test
+    public void randomOperationsShouldMatchArrayList() {
+        Random random = new Random(3);
+        List<Ingredient> expected = new ArrayList<>();
+        List<Ingredient> actual = new LayerList();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                Ingredient ingredient = ingredients[random.nextInt(ingredients.length)];
+                expected.add(index, ingredient);
+                actual.add(index, ingredient);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                int newIndex = random.nextInt(expected.size());
+                expected.add(newIndex, expected.remove(index));
+                actual.add(newIndex, actual.remove(index));
+            }
+        }
+
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Проверяет удаление через итератор.
+     */
+    @Test
+    public void iteratorRemoveShouldDeleteReturnedElement() {
+        List<Ingredient> list = new LayerList();
+        for (Ingredient ingredient : ingredients) {
+            list.add(ingredient);
+        }
+
+        Iterator<Ingredient> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getType() == IngredientType.SAUCE) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(3, list.size());
+    }
+
+    /**
+     * Проверяет генерацию исключения при вставке за концом списка.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addShouldThrowExceptionWhenIndexAfterEnd() {
+        new LayerList().add(1, ingredients[0]);
+    }
+
+    /**
+     * Проверяет генерацию исключения при чтении с отрицательным индексом.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getShouldThrowExceptionWhenIndexNegative() {
+        new LayerList().get(-1);
+    }
+
+    /**
+     * Проверяет повторное удаление через итератор без вызова next().
+     */
+    @Test(expected = IllegalStateException.class)
+    public void iteratorRemoveShouldThrowExceptionWithoutNext() {
+        List<Ingredient> list = new LayerList();
+        list.add(ingredients[0]);
+        Iterator<Ingredient> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        iterator.remove();
+    }
+
+    /**
+     * Проверяет, что снимки списка не меняются при последующих изменениях и восстанавливаются как были.
+     */
+    @Test
+    public void restoreShouldReturnSnapshotContents() {
+        Random random = new Random(5);
+        LayerList list = new LayerList();
+        List<List<Ingredient>> expected = new ArrayList<>();
+        List<LayerList.Node> snapshots = new ArrayList<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            int index = random.nextInt(list.size() + 1);
+            if (random.nextInt(3) == 0 && !list.isEmpty()) {
+                list.remove(Math.min(index, list.size() - 1));
+            } else if (random.nextInt(3) == 0 && !list.isEmpty()) {
+                list.set(Math.min(index, list.size() - 1), ingredients[random.nextInt(ingredients.length)]);
+            } else {
+                list.add(index, ingredients[random.nextInt(ingredients.length)]);
+            }
+            expected.add(new ArrayList<>(list));
+            snapshots.add(list.snapshot());
+        }
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            list.restore(snapshots.get(i));
+            assertEquals(expected.get(i), list);
+        }
+    }
+
+    /**
+     * Проверяет, что итератор видит замену элемента через set во время обхода.
+     */
+    @Test
+    public void iteratorShouldSeeSetDuringIteration() {
+        List<Ingredient> list = new LayerList();
+        for (Ingredient ingredient : ingredients) {
+            list.add(ingredient);
+        }
+
+        Iterator<Ingredient> iterator = list.iterator();
+        iterator.next();
+        list.set(1, ingredients[0]);
+
+        assertEquals(ingredients[0], iterator.next());
+    }
+}
@@ -0,0 +1,125 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Тестовый класс для проверки денежных сумм в копейках.
+ *
+ * @see Money
+ */
+public class MoneyTest {
+
+    private static final int ADDITIONS = 10_000_000;
+
+    /**
+     * Проверяет, что десять миллионов сложений по 10 копеек дают ровно миллион рублей,
+     * тогда как сумма во {@code float} уходит.
+     */
+    @Test
+    public void sumShouldStayExactOverMillionsOfAdditions() {
+        long dime = Money.fromFloat(0.1f);
+        long total = 0;
+        float floatTotal = 0;
+        for (int i = 0; i < ADDITIONS; i++) {
+            total = Money.add(total, dime);
+            floatTotal += 0.1f;
+        }
+
+        assertEquals(Money.ofMajor(1_000_000), total);
+        assertEquals(Money.multiply(dime, ADDITIONS), total);
+        assertNotEquals(1_000_000f, floatTotal, 1f);
+    }
+
+    /**
+     * Проверяет, что цена бургера из миллиона слоёв по копейке точная вплоть до чека.
+     */
+    @Test
+    public void burgerPriceShouldStayExactOverMillionLayers() {
+        Burger burger = new Burger();
+        burger.setBuns(Bun.ofMinor("black bun", 5));
+        Ingredient sauce = Ingredient.ofMinor(IngredientType.SAUCE, "hot sauce", 1);
+        for (int i = 0; i < 1_000_000; i++) {
+            burger.addIngredient(sauce);
+        }
+
+        assertEquals(1_000_010, burger.getPriceMinor());
+        assertEquals("10000.10", Money.toString(burger.getPriceMinor()));
+    }
+
+    /**
+     * Проверяет, что сумма массива совпадает с точной суммой.
+     */
+    @Test
+    public void sumShouldAddAllAmounts() {
+        assertEquals(-55, Money.sum(new long[]{10, -20, 30, -75}));
+    }
+
+    /**
+     * Проверяет генерацию исключения при переполнении вместо переноса знака.
+     */
+    @Test(expected = ArithmeticException.class)
+    public void addShouldThrowExceptionOnOverflow() {
+        Money.sum(new long[]{Long.MAX_VALUE, 1});
+    }
+
+    /**
+     * Проверяет точный разбор сумм.
+     */
+    @Test
+    public void parseShouldReadExactAmounts() {
+        assertEquals(1250, Money.parse("12.5"));
+        assertEquals(-5, Money.parse("-0.05"));
+        assertEquals(10000, Money.parse("100"));
+        assertEquals(29, Money.parse(".29"));
+        assertEquals(700, Money.parse("7."));
+    }
+
+    /**
+     * Проверяет генерацию исключения при трёх знаках после точки.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void parseShouldThrowExceptionWhenTooManyFractionDigits() {
+        Money.parse("0.125");
+    }
+
+    /**
+     * Проверяет генерацию исключения при строке без цифр.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void parseShouldThrowExceptionWithoutDigits() {
+        Money.parse("-.");
+    }
+
+    /**
+     * Проверяет генерацию исключения при посторонних символах.
+     */
+    @Test(expected = NumberFormatException.class)
+    public void parseShouldThrowExceptionOnLetters() {
+        Money.parse("1e2");
+    }
+
+    /**
+     * Проверяет печать сумм, в том числе крайних значений long.
+     */
+    @Test
+    public void toStringShouldPrintTwoFractionDigits() {
+        assertEquals("-12.05", Money.toString(-1205));
+        assertEquals("0.00", Money.toString(0));
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE, 2).toPlainString(), Money.toString(Long.MIN_VALUE));
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).toPlainString(), Money.toString(Long.MAX_VALUE));
+    }
+
+    /**
+     * Проверяет, что float-цена позиции и цена в копейках согласованы.
+     */
+    @Test
+    public void priceMinorShouldMatchFloatPrice() {
+        assertEquals(1999, new Bun("black bun", 19.99f).getPriceMinor());
+        assertEquals(19.99f, Ingredient.ofMinor(IngredientType.FILLING, "cutlet", 1999).getPrice(), 0);
+    }
+}
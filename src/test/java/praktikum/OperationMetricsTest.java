@@ -0,0 +1,101 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки счётчиков и гистограммы метрик.
+ *
+ * @see OperationMetrics
+ * @see Metrics
+ */
+public class OperationMetricsTest {
+
+    private OperationMetrics metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new OperationMetrics(Metrics.Operation.GET_PRICE);
+    }
+
+    /**
+     * Проверяет подсчёт количества вызовов.
+     */
+    @Test
+    public void recordShouldCountCalls() {
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(i * 1000L);
+        }
+
+        assertEquals(100, metrics.getCount());
+    }
+
+    /**
+     * Проверяет, что перцентиль попадает в интервал гистограммы с точностью 1/32.
+     */
+    @Test
+    public void percentileShouldStayWithinHistogramPrecision() {
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(i * 1000L);
+        }
+
+        long p99 = metrics.getP99Nanos();
+
+        assertTrue(p99 >= 99_000 && p99 <= 99_000 + 99_000 / 32);
+    }
+
+    /**
+     * Проверяет, что интервалы гистограммы идут подряд без пропусков.
+     */
+    @Test
+    public void indexOfShouldMatchHighestValueOfPreviousBucket() {
+        for (int index = 1; index < 1000; index++) {
+            long lowest = OperationMetrics.highestValueAt(index - 1) + 1;
+            assertEquals(index, OperationMetrics.indexOf(lowest));
+        }
+    }
+
+    /**
+     * Проверяет сброс метрик.
+     */
+    @Test
+    public void resetShouldClearCounters() {
+        metrics.record(500);
+        metrics.reset();
+
+        assertEquals(0, metrics.getP50Nanos());
+    }
+
+    /**
+     * Проверяет, что получатель отчёта видит все операции.
+     */
+    @Test
+    public void reportShouldPassAllOperations() {
+        List<OperationSnapshot> received = new ArrayList<>();
+
+        Metrics.report(received::addAll);
+
+        assertEquals(Metrics.Operation.values().length, received.size());
+    }
+
+    /**
+     * Проверяет регистрацию метрик в MBean-сервере.
+     */
+    @Test
+    public void registerMBeansShouldExposeOperations() throws JMException {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+
+        Metrics.registerMBeans(server);
+
+        assertEquals(0L, server.getAttribute(Metrics.objectName(Metrics.Operation.SET_BUNS), "Count"));
+    }
+}
@@ -0,0 +1,257 @@
+package praktikum;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Тестовый класс для проверки журнала заказов.
+ *
+ * @see OrderJournal
+ */
+public class OrderJournalTest {
+
+    private static final int SMALL_SEGMENT = 128;
+    private static final String MENU = "bun,black bun,1\nsauce,ketchup,1.50\nfilling,cutlet,0.70\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Catalog catalog = new Database().catalog();
+
+    /**
+     * Проверяет, что после повторного открытия агрегаты восстанавливаются по записям.
+     */
+    @Test
+    public void openShouldReplayAggregates() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            journal.append(burger(0, 0, 3));
+            journal.append(burger(0, 4));
+            journal.append(BurgerRecord.of(catalog, 2, 1, 1));
+        }
+
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            OrderJournal.Aggregates aggregates = journal.aggregates();
+
+            assertEquals(3, aggregates.getOrders());
+            assertEquals(2, aggregates.getOrdersOfBun(0));
+            assertEquals(1, aggregates.getOrdersOfBun(2));
+            assertEquals(revenue(IngredientType.SAUCE, 0, 1, 1), aggregates.getRevenueCents(IngredientType.SAUCE));
+            assertEquals(revenue(IngredientType.FILLING, 3, 4), aggregates.getRevenueCents(IngredientType.FILLING));
+            assertEquals(burger(0, 0, 3).getPriceMinor() + burger(0, 4).getPriceMinor()
+                    + burger(2, 1, 1).getPriceMinor(), aggregates.getRevenueCents());
+        }
+    }
+
+    /**
+     * Проверяет переход на новый сегмент и чтение всех сегментов при открытии.
+     */
+    @Test
+    public void appendShouldRollOverSegments() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog, SMALL_SEGMENT)) {
+            for (int i = 0; i < 50; i++) {
+                journal.append(burger(i % 3, i % 6));
+            }
+        }
+
+        assertTrue(OrderJournal.segmentIndexes(directory).size() > 1);
+        try (OrderJournal journal = OrderJournal.open(directory, catalog, SMALL_SEGMENT)) {
+            assertEquals(50, journal.size());
+            assertEquals(51, journal.append(burger(0)));
+        }
+    }
+
+    /**
+     * Проверяет, что оборванная последняя запись отбрасывается, а дозапись продолжается с её места.
+     */
+    @Test
+    public void openShouldDropTornTail() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            journal.append(burger(1, 2));
+        }
+        corrupt(directory, 0, endOfFirstRecord(directory));
+
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            assertEquals(1, journal.size());
+            journal.append(burger(1, 5));
+        }
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            assertEquals(2, journal.aggregates().getOrdersOfBun(1));
+        }
+    }
+
+    /**
+     * Проверяет ошибку на повреждённой записи не в последнем сегменте.
+     */
+    @Test(expected = IOException.class)
+    public void openShouldRejectCorruptedSegment() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog, SMALL_SEGMENT)) {
+            for (int i = 0; i < 30; i++) {
+                journal.append(burger(0, 1));
+            }
+        }
+        corrupt(directory, 0, OrderJournal.SEGMENT_HEADER_BYTES);
+
+        OrderJournal.open(directory, catalog, SMALL_SEGMENT);
+    }
+
+    /**
+     * Проверяет, что журнал открывается после перезапуска с тем же меню, хотя версия каталога начинается заново,
+     * а выручка восстанавливается по записанным суммам.
+     */
+    @Test
+    public void openShouldReplayAfterRestartWithSameMenu() throws IOException {
+        Path menu = folder.newFile("menu.csv").toPath();
+        Files.write(menu, MENU.getBytes(StandardCharsets.UTF_8));
+        Database before = new Database(menu);
+        before.reload();
+        Path directory = folder.newFolder("journal").toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, before.catalog())) {
+            journal.append(BurgerRecord.of(before.catalog(), 0, 0, 1, 1));
+        }
+
+        try (OrderJournal journal = OrderJournal.open(directory, new Database(menu).catalog())) {
+            OrderJournal.Aggregates aggregates = journal.aggregates();
+
+            assertEquals(1, aggregates.getOrders());
+            assertEquals(100 * 2 + 150 + 2 * 70, aggregates.getRevenueCents());
+            assertEquals(150, aggregates.getRevenueCents(IngredientType.SAUCE));
+            assertEquals(2 * 70, aggregates.getRevenueCents(IngredientType.FILLING));
+        }
+    }
+
+    /**
+     * Проверяет, что журнал не читается с изменённым меню: идентификаторы в нём относятся к прежнему.
+     */
+    @Test
+    public void openShouldRejectJournalOfChangedMenu() throws IOException {
+        Path menu = folder.newFile("menu.csv").toPath();
+        Files.write(menu, MENU.getBytes(StandardCharsets.UTF_8));
+        Catalog written = new Database(menu).catalog();
+        Path directory = folder.newFolder("journal").toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, written)) {
+            journal.append(BurgerRecord.of(written, 0, 1));
+        }
+        Files.write(menu, MENU.replace("cutlet,0.70", "cutlet,0.90").getBytes(StandardCharsets.UTF_8));
+
+        try {
+            OrderJournal.open(directory, new Database(menu).catalog()).close();
+            fail("Журнал другого меню должен отклоняться");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains(Integer.toHexString(written.fingerprint())));
+        }
+    }
+
+    /**
+     * Проверяет, что заказ не из каталога не попадает в журнал и не мешает следующим.
+     */
+    @Test
+    public void appendShouldRejectForeignIngredient() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            Burger burger = burger(0, 1);
+            burger.addIngredient(new Ingredient(IngredientType.SAUCE, "ketchup", 10));
+            try {
+                journal.append(burger);
+                fail("Ожидалось IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                journal.append(burger(0));
+            }
+        }
+
+        try (OrderJournal journal = OrderJournal.open(directory, catalog)) {
+            assertEquals(1, journal.size());
+        }
+    }
+
+    /**
+     * Проверяет дозапись и групповой сброс из нескольких потоков.
+     */
+    @Test
+    public void commitShouldCoverConcurrentAppends() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (OrderJournal journal = OrderJournal.open(directory, catalog, 4096)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < 500; i++) {
+                            journal.commit(journal.append(burger(i % 3, i % 6)));
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        try (OrderJournal journal = OrderJournal.open(directory, catalog, 4096)) {
+            assertEquals(2000, journal.size());
+        }
+    }
+
+    private Burger burger(int bunId, int... ingredientIds) {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(bunId));
+        for (int id : ingredientIds) {
+            burger.addIngredient(catalog.ingredient(id));
+        }
+        return burger;
+    }
+
+    private long revenue(IngredientType type, int... ingredientIds) {
+        long cents = 0;
+        for (int id : ingredientIds) {
+            if (catalog.ingredient(id).getType() == type) {
+                cents += catalog.ingredient(id).getPriceMinor();
+            }
+        }
+        return cents;
+    }
+
+    /**
+     * Позиция сразу за первой записью первого сегмента.
+     */
+    private int endOfFirstRecord(Path directory) throws IOException {
+        long index = OrderJournal.segmentIndexes(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve(OrderJournal.segmentName(index)).toFile(), "r")) {
+            file.seek(OrderJournal.SEGMENT_HEADER_BYTES);
+            return OrderJournal.SEGMENT_HEADER_BYTES + 2 * Integer.BYTES + file.readInt();
+        }
+    }
+
+    /**
+     * Портит байты сегмента: длину записи или её содержимое.
+     */
+    private void corrupt(Path directory, int segment, int offset) throws IOException {
+        long index = OrderJournal.segmentIndexes(directory).get(segment);
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve(OrderJournal.segmentName(index)).toFile(), "rw")) {
+            file.seek(offset);
+            file.writeInt(0x7F7F7F7F);
+        }
+    }
+
+}
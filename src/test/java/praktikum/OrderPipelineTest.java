@@ -0,0 +1,115 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки потоковой обработки файла заказов.
+ *
+ * @see OrderPipeline
+ */
+public class OrderPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Database database;
+    private Path input;
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        Path menu = folder.newFile("menu.csv").toPath();
+        Files.write(menu, "bun,black bun,100\nsauce,hot sauce,50\nfilling,cutlet,75\n"
+                .getBytes(StandardCharsets.UTF_8));
+        database = new Database(menu);
+        input = folder.newFile("orders.txt").toPath();
+        output = folder.newFile("receipts.txt").toPath();
+    }
+
+    /**
+     * Проверяет подсчёт заказов и общей суммы.
+     */
+    @Test
+    public void runShouldPriceAllOrders() throws Exception {
+        write("black bun, hot sauce, cutlet\nblack bun\n\nblack bun,cutlet,cutlet\r\n");
+
+        OrderPipeline.Summary summary = new OrderPipeline(database, 2).run(input, output);
+
+        assertEquals(3, summary.getOrders());
+        assertEquals(0, summary.getRejected());
+        assertEquals(32500 + 20000 + 35000, summary.getTotalCents());
+    }
+
+    /**
+     * Проверяет, что строки с неизвестными позициями отклоняются, а остальные обрабатываются.
+     */
+    @Test
+    public void runShouldRejectUnknownNames() throws Exception {
+        write("black bun,ketchup\nwhite bun\nblack bun,hot sauce");
+
+        OrderPipeline.Summary summary = new OrderPipeline(database, 2).run(input, output);
+        String text = read();
+
+        assertEquals(1, summary.getOrders());
+        assertEquals(2, summary.getRejected());
+        assertTrue(text.contains("! Строка 1: неизвестный ингредиент: ketchup"));
+        assertTrue(text.contains("! Строка 2: неизвестная булочка: white bun"));
+    }
+
+    /**
+     * Проверяет, что чеки идут в порядке строк, даже если пакеты и окна чтения маленькие.
+     */
+    @Test
+    public void runShouldKeepOrderAcrossBatchesAndWindows() throws Exception {
+        StringBuilder orders = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            Burger burger = new Burger();
+            burger.setBuns(database.catalog().bunByName("black bun"));
+            orders.append("black bun");
+            for (int j = 0; j < i % 4; j++) {
+                String name = j % 2 == 0 ? "cutlet" : "hot sauce";
+                orders.append(',').append(name);
+                burger.addIngredient(database.catalog().ingredientByName(name));
+            }
+            orders.append('\n');
+            expected.append(burger.getReceipt()).append(System.lineSeparator());
+        }
+        write(orders.toString());
+
+        OrderPipeline.Summary summary = new OrderPipeline(database, 3, 7, 64).run(input, output);
+
+        assertEquals(500, summary.getOrders());
+        assertEquals(expected + summary.toString() + System.lineSeparator(), read());
+    }
+
+    /**
+     * Проверяет ошибку для строки длиннее окна чтения.
+     */
+    @Test(expected = IOException.class)
+    public void runShouldFailOnLineLongerThanWindow() throws Exception {
+        write("black bun,cutlet,cutlet,cutlet,cutlet\nblack bun\n");
+
+        new OrderPipeline(database, 1, 4, 16).run(input, output);
+    }
+
+    private void write(String text) throws IOException {
+        Files.write(input, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read() throws IOException {
+        return new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,98 @@
+package praktikum;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки HTTP-сервера заказов.
+ *
+ * @see OrderServer
+ */
+public class OrderServerTest {
+
+    private OrderServer server;
+    private HttpClient client;
+    private URI uri;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new OrderServer(new Database(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                OrderServer.fixedThreadExecutor());
+        server.start();
+        client = HttpClient.newHttpClient();
+        uri = URI.create("http://127.0.0.1:" + server.getPort() + OrderServer.PATH);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        server.stop(0);
+    }
+
+    /**
+     * Проверяет, что на заказ возвращается чек и цена.
+     */
+    @Test
+    public void postShouldReturnReceipt() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofString("black bun,hot sauce")));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("300.00", response.headers().firstValue("X-Price").orElse(null));
+        assertTrue(response.body().contains("(==== black bun ====)"));
+    }
+
+    /**
+     * Проверяет ответ 400 на неизвестную позицию.
+     */
+    @Test
+    public void postShouldRejectUnknownName() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofString("black bun,ketchup")));
+
+        assertEquals(400, response.statusCode());
+        assertEquals("неизвестный ингредиент: ketchup", response.body());
+    }
+
+    /**
+     * Проверяет ответ 405 на запрос не методом POST.
+     */
+    @Test
+    public void getShouldNotBeAllowed() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri).GET());
+
+        assertEquals(405, response.statusCode());
+    }
+
+    /**
+     * Проверяет, что виртуальные потоки доступны на Java 21 и сообщают об отсутствии на более старых версиях.
+     */
+    @Test
+    public void virtualThreadExecutorShouldDependOnRuntime() {
+        boolean supported;
+        try {
+            OrderServer.virtualThreadExecutor().shutdown();
+            supported = true;
+        } catch (UnsupportedOperationException e) {
+            supported = false;
+        }
+
+        assertEquals(Runtime.version().feature() >= 21, supported);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+}
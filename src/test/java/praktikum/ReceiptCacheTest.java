@@ -0,0 +1,134 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки кеша чеков по составу бургера.
+ *
+ * @see ReceiptCache
+ */
+public class ReceiptCacheTest {
+
+    private static final float DELTA = 0.001f;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path menu;
+    private Database database;
+    private ReceiptCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        menu = folder.newFile("menu.csv").toPath();
+        Files.write(menu, "bun,black bun,100\nsauce,hot sauce,50\nfilling,cutlet,75\n"
+                .getBytes(StandardCharsets.UTF_8));
+        database = new Database(menu);
+        cache = new ReceiptCache(database, 64);
+    }
+
+    /**
+     * Проверяет, что бургер того же состава берётся из кеша.
+     */
+    @Test
+    public void getReceiptShouldHitForSameComposition() {
+        cache.getReceipt(burgerOf("black bun", "hot sauce", "cutlet"));
+        cache.getReceipt(burgerOf("black bun", "hot sauce", "cutlet"));
+
+        assertEquals(1, cache.hitCount());
+    }
+
+    /**
+     * Проверяет, что порядок слоёв входит в ключ кеша.
+     */
+    @Test
+    public void getReceiptShouldMissForDifferentLayerOrder() {
+        cache.getReceipt(burgerOf("black bun", "hot sauce", "cutlet"));
+        cache.getReceipt(burgerOf("black bun", "cutlet", "hot sauce"));
+
+        assertEquals(2, cache.missCount());
+    }
+
+    /**
+     * Проверяет, что после изменения цен кеш отдаёт новую цену.
+     */
+    @Test
+    public void getPriceShouldReflectReloadedPrices() throws IOException {
+        cache.getPrice(burgerOf("black bun", "cutlet"));
+        Files.write(menu, "bun,black bun,100\nfilling,cutlet,80\n".getBytes(StandardCharsets.UTF_8));
+        database.reload();
+
+        assertEquals(280f, cache.getPrice(burgerOf("black bun", "cutlet")), DELTA);
+    }
+
+    /**
+     * Проверяет, что из кеша цена приходит в копейках без округления {@code float}.
+     */
+    @Test
+    public void getPriceMinorShouldMatchBurgerFromCache() throws IOException {
+        Files.write(menu, "bun,black bun,0.1\nfilling,cutlet,0.2\n".getBytes(StandardCharsets.UTF_8));
+        database.reload();
+        Burger burger = burgerOf("black bun", "cutlet", "cutlet", "cutlet");
+        cache.getPriceMinor(burger);
+
+        assertEquals(80, cache.getPriceMinor(burger));
+        assertEquals(1, cache.hitCount());
+    }
+
+    /**
+     * Проверяет, что размер кеша ограничен.
+     */
+    @Test
+    public void cacheShouldEvictWhenFull() {
+        Burger burger = burgerOf("black bun");
+        for (int i = 0; i < 200; i++) {
+            burger.addIngredient(database.catalog().ingredientByName("cutlet"));
+            cache.getReceipt(burger);
+        }
+
+        assertTrue(cache.size() <= 64);
+    }
+
+    /**
+     * Проверяет, что бургер с позицией не из каталога считается без кеша.
+     */
+    @Test
+    public void getReceiptShouldBypassForeignIngredients() {
+        Burger burger = burgerOf("black bun");
+        burger.addIngredient(new Ingredient(IngredientType.SAUCE, "hot sauce", 50));
+
+        assertEquals(burger.getReceipt(), cache.getReceipt(burger));
+    }
+
+    /**
+     * Проверяет долю попаданий.
+     */
+    @Test
+    public void hitRateShouldCountHitsAndMisses() {
+        Burger burger = burgerOf("black bun", "cutlet");
+        cache.getReceipt(burger);
+        cache.getReceipt(burger);
+
+        assertEquals(0.5, cache.hitRate(), 0);
+    }
+
+    private Burger burgerOf(String bun, String... ingredients) {
+        Burger burger = new Burger();
+        burger.setBuns(database.catalog().bunByName(bun));
+        for (String ingredient : ingredients) {
+            burger.addIngredient(database.catalog().ingredientByName(ingredient));
+        }
+        return burger;
+    }
+}
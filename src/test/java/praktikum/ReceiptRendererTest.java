@@ -0,0 +1,86 @@
+package praktikum;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Тестовый класс для проверки печати цены в чеке.
+ * Результат сравнивается с {@code String.format("%f")} от точной суммы в {@link BigDecimal}.
+ *
+ * @see ReceiptRenderer
+ */
+public class ReceiptRendererTest {
+
+    private static final Locale DEFAULT_LOCALE = Locale.getDefault(Locale.Category.FORMAT);
+
+    private static final long[] EDGE_PRICES = {
+            0, 1, 5, 10, 50, 99, 100, 32500, 1234, -1550, -1, 99999999, 1677721600, 99900000000000L,
+            Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    @After
+    public void restoreLocale() {
+        Locale.setDefault(Locale.Category.FORMAT, DEFAULT_LOCALE);
+    }
+
+    /**
+     * Проверяет совпадение с Formatter на граничных значениях цены.
+     */
+    @Test
+    public void appendPriceShouldMatchFormatterOnEdgeValues() throws IOException {
+        assertMatchesFormatter(EDGE_PRICES);
+    }
+
+    /**
+     * Проверяет совпадение с Formatter на случайных ценах.
+     */
+    @Test
+    public void appendPriceShouldMatchFormatterOnRandomValues() throws IOException {
+        Random random = new Random(42);
+        long[] prices = new long[100_000];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = random.nextLong() % (long) Math.pow(10, random.nextInt(19));
+        }
+
+        assertMatchesFormatter(prices);
+    }
+
+    /**
+     * Проверяет, что разделитель дробной части берётся из текущей локали.
+     */
+    @Test
+    public void appendPriceShouldUseLocaleDecimalSeparator() throws IOException {
+        Locale.setDefault(Locale.Category.FORMAT, new Locale("ru", "RU"));
+
+        assertEquals("325,000000", render(32500));
+    }
+
+    /**
+     * Проверяет печать цифр локали с собственным нулём.
+     */
+    @Test
+    public void appendPriceShouldUseLocaleZeroDigit() throws IOException {
+        Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("ar-EG-u-nu-arab"));
+
+        assertEquals(String.format("%f", BigDecimal.valueOf(1250, 2)), render(1250));
+    }
+
+    private static void assertMatchesFormatter(long[] prices) throws IOException {
+        for (long price : prices) {
+            assertEquals(String.format("%f", BigDecimal.valueOf(price, 2)), render(price));
+        }
+    }
+
+    private static String render(long price) throws IOException {
+        StringBuilder out = new StringBuilder();
+        ReceiptRenderer.appendPrice(out, price);
+        return out.toString();
+    }
+}
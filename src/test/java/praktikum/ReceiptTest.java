@@ -0,0 +1,209 @@
+package praktikum;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Тестовый класс для проверки ленивого представления чека.
+ *
+ * @see Receipt
+ */
+public class ReceiptTest {
+
+    private Burger burger;
+
+    @Before
+    public void setUp() {
+        burger = new Burger();
+        burger.setBuns(new Bun("чёрная булка", 100));
+        burger.addIngredient(new Ingredient(IngredientType.SAUCE, "hot sauce", 100));
+        burger.addIngredient(new Ingredient(IngredientType.FILLING, "котлета 🍔", 250.5f));
+    }
+
+    /**
+     * Проверяет, что строки представления совпадают со строками полного чека.
+     */
+    @Test
+    public void linesShouldMatchReceipt() {
+        List<String> expected = Arrays.asList(burger.getReceipt().split(System.lineSeparator(), -1));
+        List<String> actual = new ArrayList<>();
+        for (CharSequence line : burger.receipt()) {
+            actual.add(line.toString());
+        }
+        actual.add("");
+
+        assertEquals(expected, actual);
+        assertEquals(burger.receipt().lineCount(), expected.size() - 1);
+        assertEquals(expected.get(2), burger.receipt().line(2).toString());
+    }
+
+    /**
+     * Проверяет, что представление отражает изменения бургера после создания.
+     */
+    @Test
+    public void receiptShouldReflectLaterChanges() {
+        Receipt receipt = burger.receipt();
+
+        burger.setBuns(new Bun("white bun", 200));
+        burger.removeIngredient(0);
+
+        assertEquals("(==== white bun ====)", receipt.header().toString());
+        assertEquals(5, receipt.lineCount());
+        assertEquals(burger.getReceipt(), receipt.toString());
+    }
+
+    /**
+     * Проверяет запись в канал в UTF-8, в том числе через буфер меньше длины строки.
+     */
+    @Test
+    public void writeToShouldWriteUtf8Receipt() throws IOException {
+        byte[] expected = burger.getReceipt().getBytes(StandardCharsets.UTF_8);
+
+        for (int size : new int[]{4, 7, 8192}) {
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(size), ByteBuffer.allocateDirect(size)}) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                long written = burger.receipt().writeTo(Channels.newChannel(bytes), buffer);
+
+                assertArrayEquals(expected, bytes.toByteArray());
+                assertEquals(expected.length, written);
+            }
+        }
+    }
+
+    /**
+     * Проверяет запись со сбором из строк каталога, в том числе когда канал принимает по несколько байт
+     * и в бургере есть позиция не из каталога.
+     */
+    @Test
+    public void gatheringWriteShouldMatchReceipt() throws IOException {
+        Catalog catalog = new Catalog(List.of(burger.bun), burger.ingredients);
+        burger.addIngredient(new Ingredient(IngredientType.FILLING, "не из каталога", 10));
+        byte[] expected = burger.getReceipt().getBytes(StandardCharsets.UTF_8);
+
+        ChunkedChannel channel = new ChunkedChannel(5);
+        long written = burger.receipt().writeTo(channel, catalog);
+
+        assertArrayEquals(expected, channel.bytes.toByteArray());
+        assertEquals(expected.length, written);
+
+        burger.setBuns(new Bun("белая булка", 200));
+        channel = new ChunkedChannel(Integer.MAX_VALUE);
+        burger.receipt().writeTo(channel, catalog);
+        assertArrayEquals(burger.getReceipt().getBytes(StandardCharsets.UTF_8), channel.bytes.toByteArray());
+    }
+
+    /**
+     * Проверяет, что неблокирующий канал отклоняется до записи, а не крутит цикл дозаписи.
+     */
+    @Test
+    public void writeToShouldRejectNonBlockingChannel() throws IOException {
+        Catalog catalog = new Catalog(List.of(burger.bun), burger.ingredients);
+        Pipe pipe = Pipe.open();
+        try (Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel source = pipe.source()) {
+            sink.configureBlocking(false);
+            source.configureBlocking(false);
+            try {
+                burger.receipt().writeTo(sink, catalog);
+                fail("Неблокирующий канал должен отклоняться");
+            } catch (IllegalBlockingModeException expected) {
+                // ожидаемое исключение
+            }
+            try {
+                burger.receipt().writeTo((WritableByteChannel) sink);
+                fail("Неблокирующий канал должен отклоняться");
+            } catch (IllegalBlockingModeException expected) {
+                assertEquals(0, source.read(ByteBuffer.allocate(1)));
+            }
+        }
+    }
+
+    /**
+     * Проверяет замену одиночного суррогата так же, как при кодировании строки.
+     */
+    @Test
+    public void writeToShouldReplaceUnpairedSurrogate() throws IOException {
+        burger.addIngredient(new Ingredient(IngredientType.SAUCE, "x\uD83Cy\uDF54", 1));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        burger.receipt().writeTo(Channels.newChannel(bytes));
+
+        assertArrayEquals(burger.getReceipt().getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+    }
+
+    /**
+     * Проверяет ошибку для номера строки за пределами чека.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void lineShouldRejectIndexOutOfRange() {
+        burger.receipt().line(6);
+    }
+
+    /**
+     * Проверяет, что без булочки чек не печатается.
+     */
+    @Test(expected = NullPointerException.class)
+    public void headerShouldRequireBun() {
+        new Burger().receipt().header();
+    }
+
+    /**
+     * Канал, который за один вызов принимает не больше заданного числа байт.
+     */
+    private static final class ChunkedChannel implements GatheringByteChannel {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int chunk;
+
+        private ChunkedChannel(int chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long written = 0;
+            for (int i = offset; i < offset + length && written < chunk; i++) {
+                while (sources[i].hasRemaining() && written < chunk) {
+                    bytes.write(sources[i].get());
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            return (int) write(new ByteBuffer[]{source});
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
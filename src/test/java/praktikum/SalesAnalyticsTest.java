@@ -0,0 +1,125 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки аналитики продаж.
+ *
+ * @see SalesAnalytics
+ */
+public class SalesAnalyticsTest {
+
+    private final Catalog catalog = new Database().catalog();
+
+    /**
+     * Проверяет счётчики по булочкам, ингредиентам и выручку по типам.
+     */
+    @Test
+    public void recordShouldUpdateCounters() {
+        SalesAnalytics analytics = new SalesAnalytics(catalog);
+        Burger burger = burger(1, 0, 3, 3);
+
+        analytics.record(burger);
+        analytics.record(BurgerRecord.of(catalog, 1, 4));
+        analytics.record(BurgerRecord.of(catalog, 2));
+
+        assertEquals(3, analytics.orders());
+        assertSame(catalog.bun(1), analytics.mostPopularBun());
+        assertEquals(Arrays.asList(catalog.ingredient(3), catalog.ingredient(0), catalog.ingredient(4)),
+                analytics.topIngredients(5));
+        assertEquals(catalog.ingredient(0).getPriceMinor(),
+                analytics.revenueCents(IngredientType.SAUCE));
+        assertEquals(burger.getPriceMinor() + burger(1, 4).getPriceMinor() + burger(2).getPriceMinor(),
+                analytics.revenueCents());
+    }
+
+    /**
+     * Проверяет пустую аналитику.
+     */
+    @Test
+    public void mostPopularBunShouldBeNullWithoutOrders() {
+        SalesAnalytics analytics = new SalesAnalytics(catalog);
+
+        assertNull(analytics.mostPopularBun());
+        assertTrue(analytics.topIngredients(3).isEmpty());
+        assertTrue(analytics.topCompositions(3).isEmpty());
+    }
+
+    /**
+     * Проверяет, что счётчики не теряют заказы при записи из нескольких потоков.
+     */
+    @Test
+    public void recordShouldCountConcurrentOrders() throws InterruptedException {
+        SalesAnalytics analytics = new SalesAnalytics(catalog);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    analytics.record(BurgerRecord.of(catalog, 0, 5));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, analytics.bunOrders(0));
+        assertEquals(40_000, analytics.ingredientLayers(5));
+        assertEquals(40_000 * catalog.ingredient(5).getPriceMinor(),
+                analytics.revenueCents(IngredientType.FILLING));
+    }
+
+    /**
+     * Проверяет, что частый состав находится среди множества редких, а оценка не меньше истинной.
+     */
+    @Test
+    public void topCompositionsShouldFindHeavyHitter() {
+        SalesAnalytics analytics = new SalesAnalytics(catalog, 8);
+        int heavy = 0;
+        for (int i = 0; i < 3000; i++) {
+            if (i % 3 == 0) {
+                analytics.record(BurgerRecord.of(catalog, 2, 1, 5));
+                heavy++;
+            } else {
+                analytics.record(BurgerRecord.of(catalog, i % 3, i % 6, (i / 6) % 6, (i / 36) % 6));
+            }
+        }
+
+        SalesAnalytics.Popular top = analytics.topCompositions(1).get(0);
+
+        assertEquals(burger(2, 1, 5).getReceipt(), top.getRecord().toBurger().getReceipt());
+        assertTrue(top.getCount() >= heavy);
+        assertTrue(top.getCount() - top.getError() <= heavy);
+    }
+
+    /**
+     * Проверяет отказ от записи из другого каталога.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void recordShouldRejectOtherCatalog() {
+        Catalog other = new Catalog(1, catalog.buns(), catalog.ingredients());
+
+        new SalesAnalytics(catalog).record(BurgerRecord.of(other, 0));
+    }
+
+    private Burger burger(int bunId, int... ingredientIds) {
+        Burger burger = new Burger();
+        burger.setBuns(catalog.bun(bunId));
+        for (int id : ingredientIds) {
+            burger.addIngredient(catalog.ingredient(id));
+        }
+        return burger;
+    }
+
+}
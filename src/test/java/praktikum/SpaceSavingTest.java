@@ -0,0 +1,70 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки потока наиболее частых элементов.
+ *
+ * @see SpaceSaving
+ */
+public class SpaceSavingTest {
+
+    /**
+     * Проверяет точный подсчёт, пока элементов не больше ёмкости.
+     */
+    @Test
+    public void countersShouldBeExactWithinCapacity() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(4);
+        sketch.offer("a");
+        sketch.offer("b", 5);
+        sketch.offer("a");
+
+        List<SpaceSaving.Counter<String>> counters = sketch.counters();
+
+        assertEquals("b", counters.get(0).getKey());
+        assertEquals(2, counters.get(1).getCount());
+        assertEquals(0, counters.get(1).getError());
+        assertEquals(0, sketch.floor());
+    }
+
+    /**
+     * Проверяет, что новый элемент вытесняет наименьший счётчик и наследует его как погрешность.
+     */
+    @Test
+    public void offerShouldEvictSmallestCounter() {
+        SpaceSaving<String> sketch = new SpaceSaving<>(2);
+        sketch.offer("a", 3);
+        sketch.offer("b", 1);
+        sketch.offer("c");
+
+        List<SpaceSaving.Counter<String>> counters = sketch.counters();
+
+        assertEquals("a", counters.get(0).getKey());
+        assertEquals("c", counters.get(1).getKey());
+        assertEquals(2, counters.get(1).getCount());
+        assertEquals(1, counters.get(1).getError());
+        assertEquals(2, sketch.floor());
+    }
+
+    /**
+     * Проверяет гарантию: элемент чаще n / capacity всегда остаётся в наборе.
+     */
+    @Test
+    public void frequentElementShouldSurvive() {
+        SpaceSaving<Integer> sketch = new SpaceSaving<>(10);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer(i % 5 == 0 ? -1 : i);
+        }
+
+        SpaceSaving.Counter<Integer> top = sketch.counters().get(0);
+
+        assertEquals(Integer.valueOf(-1), top.getKey());
+        assertTrue(top.getCount() >= 2000);
+    }
+
+}
@@ -0,0 +1,62 @@
+package praktikum;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Тестовый класс для проверки сервера заказов на виртуальных потоках.
+ * Собирается и запускается только в профиле {@code java21} на JDK 21 и новее.
+ *
+ * @see VirtualThreads
+ * @see OrderServer#virtualThreadExecutor()
+ */
+public class VirtualThreadsTest {
+
+    /**
+     * Проверяет, что каждая задача исполнителя идёт в виртуальном потоке.
+     */
+    @Test
+    public void executorShouldRunTasksOnVirtualThreads() throws Exception {
+        ExecutorService executor = OrderServer.virtualThreadExecutor();
+        try {
+            assertTrue(VirtualThreads.isSupported());
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Проверяет, что сервер на виртуальных потоках возвращает чек и цену.
+     */
+    @Test
+    public void serverShouldAnswerOnVirtualThreads() throws Exception {
+        OrderServer server = new OrderServer(new Database(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), OrderServer.virtualThreadExecutor());
+        server.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://127.0.0.1:" + server.getPort() + OrderServer.PATH))
+                    .POST(HttpRequest.BodyPublishers.ofString("black bun,hot sauce"))
+                    .build();
+            HttpResponse<String> response = HttpClient.newHttpClient()
+                    .send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals("300.00", response.headers().firstValue("X-Price").orElse(null));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+}